@@ -0,0 +1,22 @@
+package game.benchmarks;
+
+import org.openjdk.jmh.profile.GCProfiler;
+import org.openjdk.jmh.runner.*;
+import org.openjdk.jmh.runner.options.*;
+
+/**
+ * Runs the benchmark suites with the GC profiler attached, so every result
+ * comes with its allocation rate (gc.alloc.rate.norm is bytes per call).
+ *
+ * Usage: {@code java -cp benchmarks/target/benchmarks.jar game.benchmarks.BenchmarkRunner [regex]}
+ */
+public class BenchmarkRunner {
+
+    public static void main(String[] args) throws RunnerException {
+        Options options = new OptionsBuilder()
+                .include(args.length > 0 ? args[0] : "game.benchmarks.*")
+                .addProfiler(GCProfiler.class)
+                .build();
+        new Runner(options).run();
+    }
+}
@@ -0,0 +1,75 @@
+package game.benchmarks;
+
+import game.core.*;
+import game.utils.Constants;
+import java.util.*;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+
+/**
+ * Benchmarks building, shuffling and dealing the deck.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class DeckBenchmark {
+
+    /**
+     * The table dealt to, which only the deal depends on.
+     */
+    @State(Scope.Thread)
+    public static class Table {
+
+        @Param({"2", "4", "6"})
+        int players;
+
+        @Param({"6", "12", "24"})
+        int paradeLength;
+    }
+
+    private Deck deck;
+    private Random random;
+
+    @Setup(Level.Trial)
+    public void setUpTrial() {
+        deck = new Deck();
+        random = new Random(TableFixture.SEED);
+    }
+
+    @Benchmark
+    public Deck construct() {
+        return new Deck();
+    }
+
+    @Benchmark
+    public Deck shuffle() {
+        deck.shuffle(random);
+        return deck;
+    }
+
+    /**
+     * A new deck, shuffled and dealt to the players and the parade, as at
+     * the start of every game.
+     */
+    @Benchmark
+    public void constructShuffleAndDeal(Table table, Blackhole blackhole) {
+        Deck fresh = new Deck();
+        fresh.shuffle(random);
+        for (int p = 0; p < table.players; p++) {
+            Player player = new Computer("Bot");
+            for (int i = 0; i < Constants.CARDS_TO_DEAL; i++) {
+                player.drawCardFromDeck(fresh);
+            }
+            blackhole.consume(player);
+        }
+        Parade parade = new Parade(fresh);
+        for (int i = 0; i < table.paradeLength; i++) {
+            parade.addCard(fresh.removeCardFromDeck());
+        }
+        blackhole.consume(parade);
+    }
+}
@@ -0,0 +1,45 @@
+package game.benchmarks;
+
+import game.core.*;
+import game.gameplay.GameStateMachine;
+import java.util.*;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.*;
+
+/**
+ * Benchmarks a complete headless game between computer players, from
+ * dealing to the winner, through the same state machine the server uses.
+ * The parade always starts with the rule's six cards, so this suite is
+ * parameterized by player count only.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class GameBenchmark {
+
+    @Param({"2", "4", "6"})
+    int players;
+
+    private Random random;
+
+    @Setup(Level.Trial)
+    public void setUpTrial() {
+        random = new Random(TableFixture.SEED);
+    }
+
+    @Benchmark
+    public Player fullGame() {
+        List<Player> seats = new ArrayList<>(players);
+        for (int p = 1; p <= players; p++) {
+            seats.add(new Computer("Bot " + p));
+        }
+        GameStateMachine game = new GameStateMachine(seats, random);
+        while (game.step()) {
+            // Every seat is a computer, so the game runs to the end
+        }
+        return game.getWinner();
+    }
+}
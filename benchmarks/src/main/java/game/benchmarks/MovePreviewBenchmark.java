@@ -0,0 +1,56 @@
+package game.benchmarks;
+
+import game.core.*;
+import java.util.ArrayList;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+
+/**
+ * Benchmarks previewing every card of a hand: the single pass of
+ * {@link MovePreview} against asking the parade card by card, which has to
+ * play each card into a copy of the parade first.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class MovePreviewBenchmark {
+
+    @Param({"2", "4", "6"})
+    int players;
+
+    @Param({"6", "12", "24"})
+    int paradeLength;
+
+    private TableFixture fixture;
+    private Player self;
+    private MovePreview preview;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        fixture = new TableFixture(players, paradeLength, 3);
+        self = fixture.players.get(0);
+        preview = new MovePreview(self.getRules());
+    }
+
+    @Benchmark
+    public MovePreview preview() {
+        preview.preview(fixture.parade, self, fixture.players);
+        return preview;
+    }
+
+    @Benchmark
+    public void cardByCard(Blackhole blackhole) {
+        for (Card card : self.getClosedCards()) {
+            Parade copy = new Parade(null);
+            for (Card parade : fixture.parade.getCards()) {
+                copy.addCard(parade);
+            }
+            copy.addCard(card);
+            blackhole.consume(new ArrayList<>(copy.getEligibleCards(card)));
+        }
+    }
+}
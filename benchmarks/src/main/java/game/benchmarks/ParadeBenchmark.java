@@ -0,0 +1,96 @@
+package game.benchmarks;
+
+import game.core.*;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.*;
+
+/**
+ * Benchmarks the parade rules: finding the cards a played card takes and
+ * removing them from the parade.
+ *
+ * Removing consumes the parade, so it runs in batches of
+ * {@value TableFixture#BATCH} calls, one per copy of the parade, and the
+ * copies are restored in place between batches without allocating. Its
+ * score is the time of a batch and its allocation per operation is per
+ * batch.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ParadeBenchmark {
+
+    /**
+     * The parade with the played card on top, and the cards it takes.
+     */
+    @State(Scope.Thread)
+    public static class Position {
+
+        @Param({"2", "4", "6"})
+        int players;
+
+        @Param({"6", "12", "24"})
+        int paradeLength;
+
+        Parade parade;
+        Card playedCard;
+        List<Card> taken;
+
+        @Setup(Level.Trial)
+        public void setUp() {
+            TableFixture fixture = new TableFixture(players, paradeLength, 0);
+            parade = fixture.parade;
+            // The hand card of the first player is played on top of the parade
+            playedCard = fixture.players.get(0).getClosedCards().get(0);
+            parade.addCard(playedCard);
+            taken = parade.getEligibleCards(playedCard);
+        }
+    }
+
+    /**
+     * One copy of the parade per call of a batch.
+     */
+    @State(Scope.Thread)
+    public static class Copies {
+
+        final Parade[] parades = new Parade[TableFixture.BATCH];
+        int next;
+
+        @Setup(Level.Trial)
+        public void setUp(Position position) {
+            for (int i = 0; i < parades.length; i++) {
+                parades[i] = new Parade(null);
+            }
+        }
+
+        @Setup(Level.Iteration)
+        public void restore(Position position) {
+            List<Card> cards = position.parade.getCards();
+            for (Parade parade : parades) {
+                parade.removeCards(cards);
+                for (int i = 0; i < cards.size(); i++) {
+                    parade.addCard(cards.get(i));
+                }
+            }
+            next = 0;
+        }
+    }
+
+    @Benchmark
+    public List<Card> getEligibleCards(Position position) {
+        return position.parade.getEligibleCards(position.playedCard);
+    }
+
+    @Benchmark
+    @BenchmarkMode(Mode.SingleShotTime)
+    @OutputTimeUnit(TimeUnit.MICROSECONDS)
+    @Warmup(iterations = 100, batchSize = TableFixture.BATCH)
+    @Measurement(iterations = 50, batchSize = TableFixture.BATCH)
+    public Parade removeCards(Position position, Copies copies) {
+        Parade parade = copies.parades[copies.next++];
+        parade.removeCards(position.taken);
+        return parade;
+    }
+}
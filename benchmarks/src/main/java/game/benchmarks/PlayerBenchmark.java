@@ -0,0 +1,71 @@
+package game.benchmarks;
+
+import game.core.*;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.*;
+
+/**
+ * Benchmarks a player taking cards from the parade after playing a card,
+ * which is the rules part of every turn.
+ *
+ * Taking cards changes both the parade and the player, so it runs in
+ * batches of {@value TableFixture#BATCH} calls, one per copy of the
+ * position, and the copies are restored in place between batches without
+ * allocating. The score is the time of a batch and the allocation per
+ * operation is per batch.
+ */
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 100, batchSize = TableFixture.BATCH)
+@Measurement(iterations = 50, batchSize = TableFixture.BATCH)
+@Fork(1)
+@State(Scope.Thread)
+public class PlayerBenchmark {
+
+    @Param({"2", "4", "6"})
+    int players;
+
+    @Param({"6", "12", "24"})
+    int paradeLength;
+
+    /**
+     * The parade with the played card on top.
+     */
+    private List<Card> position;
+    private final Player[] takers = new Player[TableFixture.BATCH];
+    private final Parade[] parades = new Parade[TableFixture.BATCH];
+    private int next;
+
+    @Setup(Level.Trial)
+    public void setUpTrial() {
+        // No open cards, so a taker is restored by emptying its open cards
+        TableFixture fixture = new TableFixture(players, paradeLength, 0);
+        Parade parade = fixture.copyParade();
+        parade.addCard(fixture.players.get(0).getClosedCards().get(0));
+        position = parade.getCards();
+        for (int i = 0; i < TableFixture.BATCH; i++) {
+            takers[i] = new Computer("Bot 1");
+            parades[i] = new Parade(null);
+        }
+    }
+
+    @Setup(Level.Iteration)
+    public void restore() {
+        for (int i = 0; i < TableFixture.BATCH; i++) {
+            takers[i].setOpenCards(Collections.emptyMap());
+            parades[i].removeCards(position);
+            for (int c = 0; c < position.size(); c++) {
+                parades[i].addCard(position.get(c));
+            }
+        }
+        next = 0;
+    }
+
+    @Benchmark
+    public List<Card> drawCardsFromParade() {
+        int i = next++;
+        return takers[i].drawCardsFromParade(parades[i]);
+    }
+}
@@ -0,0 +1,252 @@
+package game.benchmarks;
+
+import game.ai.RandomStrategy;
+import game.core.*;
+import game.gameplay.*;
+import java.io.*;
+import java.lang.management.ManagementFactory;
+import java.nio.charset.StandardCharsets;
+import java.util.*;
+import java.util.concurrent.CountDownLatch;
+
+/**
+ * Whole-game throughput benchmark. Plays complete headless games between
+ * computer players for a fixed time at 1, 2, 4 ... N threads and reports
+ * games/s, turns/s, p50/p99 game latency and heap allocated per game, as a
+ * table, a CSV file and an ASCII chart of the scaling curve.
+ *
+ * Games run through {@link GameStateMachine}, which applies the rules with
+ * the same {@link GameManager}, Parade and Player code as the console game,
+ * so a slowdown in any of them shows up as a drop in the curve.
+ *
+ * Usage: {@code java -cp benchmarks/target/benchmarks.jar game.benchmarks.ScalingBenchmark [seconds] [maxThreads] [players] [csvFile] [rules]}
+ */
+public class ScalingBenchmark {
+
+    private static final int CHART_WIDTH = 50;
+
+    // ============================ Main ============================
+    public static void main(String[] args) throws Exception {
+        double seconds = args.length > 0 ? Double.parseDouble(args[0]) : 5;
+        int maxThreads = args.length > 1 ? Integer.parseInt(args[1]) : Runtime.getRuntime().availableProcessors();
+        int playersPerGame = args.length > 2 ? Integer.parseInt(args[2]) : 4;
+        String csvFile = args.length > 3 ? args[3] : "scaling.csv";
+        RuleSet rules = args.length > 4 ? RuleSet.preset(args[4]) : RuleSet.BASE;
+
+        System.out.printf("🔥 Warming up for %.1f s (%s)...%n", seconds, rules);
+        run(maxThreads, playersPerGame, rules, seconds);
+
+        List<Result> results = new ArrayList<>();
+        System.out.println(Result.HEADER);
+        for (int threads : threadCounts(maxThreads)) {
+            Result result = run(threads, playersPerGame, rules, seconds);
+            results.add(result);
+            System.out.println(result.toRow());
+        }
+
+        writeCsv(results, csvFile);
+        System.out.println();
+        System.out.println(chart(results));
+        System.out.println("📄 Results written to " + csvFile);
+    }
+
+    /**
+     * @return 1, 2, 4 ... up to and including the maximum thread count.
+     */
+    static List<Integer> threadCounts(int maxThreads) {
+        List<Integer> counts = new ArrayList<>();
+        for (int threads = 1; threads < maxThreads; threads *= 2) {
+            counts.add(threads);
+        }
+        counts.add(maxThreads);
+        return counts;
+    }
+
+    // ============================ Measurement ============================
+    /**
+     * Plays games on the given number of threads until the time is up.
+     */
+    static Result run(int threads, int playersPerGame, RuleSet rules, double seconds) throws InterruptedException {
+        Worker[] workers = new Worker[threads];
+        CountDownLatch start = new CountDownLatch(1);
+        long durationNanos = (long) (seconds * 1e9);
+        for (int t = 0; t < threads; t++) {
+            workers[t] = new Worker(playersPerGame, rules, start, durationNanos);
+            workers[t].start();
+        }
+
+        start.countDown();
+        for (Worker worker : workers) {
+            worker.join();
+        }
+
+        return Result.of(threads, workers);
+    }
+
+    /**
+     * One benchmark thread. Latencies are kept per thread in a growing array
+     * so threads never contend while measuring.
+     */
+    private static final class Worker extends Thread implements GameListener {
+
+        private static final com.sun.management.ThreadMXBean THREADS =
+                (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+
+        private final int playersPerGame;
+        private final RuleSet rules;
+        private final CountDownLatch start;
+        private final long durationNanos;
+
+        private long[] latencies = new long[1024];
+        private int games;
+        private long turns;
+        private long allocatedBytes;
+        private long elapsedNanos;
+
+        Worker(int playersPerGame, RuleSet rules, CountDownLatch start, long durationNanos) {
+            super("scaling-worker");
+            this.playersPerGame = playersPerGame;
+            this.rules = rules;
+            this.start = start;
+            this.durationNanos = durationNanos;
+        }
+
+        @Override
+        public void run() {
+            // Per-thread randomness, so threads do not contend on one shared seed
+            Random random = new Random();
+            RandomStrategy strategy = new RandomStrategy(random);
+            try {
+                start.await();
+            } catch (InterruptedException e) {
+                return;
+            }
+
+            long allocatedBefore = THREADS.getThreadAllocatedBytes(getId());
+            long begin = System.nanoTime();
+            long deadline = begin + durationNanos;
+            long now = begin;
+            while (now < deadline) {
+                List<Player> players = new ArrayList<>(playersPerGame);
+                for (int p = 1; p <= playersPerGame; p++) {
+                    players.add(new Computer("Bot " + p, strategy));
+                }
+                GameStateMachine game = new GameStateMachine(players, random, rules);
+                game.setListener(this);
+                while (game.step()) {
+                    // Every seat is a computer, so the game runs to the end
+                }
+
+                long end = System.nanoTime();
+                if (games == latencies.length) {
+                    latencies = Arrays.copyOf(latencies, games * 2);
+                }
+                latencies[games++] = end - now;
+                now = end;
+            }
+            elapsedNanos = now - begin;
+            allocatedBytes = THREADS.getThreadAllocatedBytes(getId()) - allocatedBefore;
+        }
+
+        @Override
+        public void onCardPlayed(Player player, Card card, List<Card> taken) {
+            turns++;
+        }
+    }
+
+    // ============================ Results ============================
+    /**
+     * The measurements of one thread count.
+     */
+    static final class Result {
+
+        static final String HEADER = String.format("%8s %12s %12s %10s %10s %12s",
+                "threads", "games/s", "turns/s", "p50 us", "p99 us", "bytes/game");
+
+        int threads;
+        double gamesPerSecond;
+        double turnsPerSecond;
+        double p50Micros;
+        double p99Micros;
+        long bytesPerGame;
+
+        static Result of(int threads, Worker[] workers) {
+            int games = 0;
+            long turns = 0;
+            long allocated = 0;
+            long elapsed = 0;
+            for (Worker worker : workers) {
+                games += worker.games;
+                turns += worker.turns;
+                allocated += worker.allocatedBytes;
+                elapsed = Math.max(elapsed, worker.elapsedNanos);
+            }
+
+            long[] latencies = new long[games];
+            int offset = 0;
+            for (Worker worker : workers) {
+                System.arraycopy(worker.latencies, 0, latencies, offset, worker.games);
+                offset += worker.games;
+            }
+            Arrays.sort(latencies);
+
+            Result result = new Result();
+            result.threads = threads;
+            result.gamesPerSecond = games / (elapsed / 1e9);
+            result.turnsPerSecond = turns / (elapsed / 1e9);
+            result.p50Micros = percentile(latencies, 0.50) / 1e3;
+            result.p99Micros = percentile(latencies, 0.99) / 1e3;
+            result.bytesPerGame = games == 0 ? 0 : allocated / games;
+            return result;
+        }
+
+        String toRow() {
+            return String.format("%8d %12.0f %12.0f %10.1f %10.1f %12d",
+                    threads, gamesPerSecond, turnsPerSecond, p50Micros, p99Micros, bytesPerGame);
+        }
+
+        String toCsv() {
+            return String.format(Locale.ROOT, "%d,%.1f,%.1f,%.2f,%.2f,%d",
+                    threads, gamesPerSecond, turnsPerSecond, p50Micros, p99Micros, bytesPerGame);
+        }
+    }
+
+    private static long percentile(long[] sorted, double quantile) {
+        if (sorted.length == 0) {
+            return 0;
+        }
+        return sorted[Math.min((int) (sorted.length * quantile), sorted.length - 1)];
+    }
+
+    // ============================ Output ============================
+    private static void writeCsv(List<Result> results, String csvFile) throws IOException {
+        try (PrintWriter out = new PrintWriter(new OutputStreamWriter(new FileOutputStream(csvFile), StandardCharsets.UTF_8))) {
+            out.println("threads,games_per_sec,turns_per_sec,p50_us,p99_us,bytes_per_game");
+            for (Result result : results) {
+                out.println(result.toCsv());
+            }
+        }
+    }
+
+    /**
+     * Draws games/s per thread count as horizontal bars, with the speed-up
+     * over one thread and the parallel efficiency.
+     */
+    static String chart(List<Result> results) {
+        double max = 0;
+        for (Result result : results) {
+            max = Math.max(max, result.gamesPerSecond);
+        }
+        double single = results.get(0).gamesPerSecond;
+
+        StringBuilder chart = new StringBuilder("games/s by thread count\n");
+        for (Result result : results) {
+            int width = max == 0 ? 0 : (int) Math.round(result.gamesPerSecond / max * CHART_WIDTH);
+            double speedUp = single == 0 ? 0 : result.gamesPerSecond / single;
+            chart.append(String.format("%4d | %-" + CHART_WIDTH + "s %10.0f  x%.2f (%3.0f%%)%n",
+                    result.threads, "#".repeat(width), result.gamesPerSecond,
+                    speedUp, 100 * speedUp / result.threads));
+        }
+        return chart.toString();
+    }
+}
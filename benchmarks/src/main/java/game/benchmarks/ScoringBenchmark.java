@@ -0,0 +1,132 @@
+package game.benchmarks;
+
+import game.core.*;
+import game.gameplay.managers.*;
+import java.util.*;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.*;
+
+/**
+ * Benchmarks the end of the game: flipping the majority colours and
+ * determining the winner, both without console output.
+ *
+ * Flipping changes card values and determining the winner reorders the
+ * players, so both run in batches of {@value TableFixture#BATCH} calls, one
+ * per copy, and the copies are restored in place between batches without
+ * allocating. The score is the time of a batch and the allocation per
+ * operation is per batch.
+ */
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 100, batchSize = TableFixture.BATCH)
+@Measurement(iterations = 50, batchSize = TableFixture.BATCH)
+@Fork(1)
+public class ScoringBenchmark {
+
+    /**
+     * The table at the end of the game.
+     */
+    @State(Scope.Thread)
+    public static class Position {
+
+        @Param({"2", "4", "6"})
+        int players;
+
+        @Param({"6", "12", "24"})
+        int paradeLength;
+
+        TableFixture fixture;
+
+        @Setup(Level.Trial)
+        public void setUp() {
+            // Whatever is not in hands or the parade ends up as open cards
+            fixture = new TableFixture(players, paradeLength, Integer.MAX_VALUE);
+        }
+    }
+
+    /**
+     * One copy of the players per call, with the values to restore their
+     * open cards to.
+     */
+    @State(Scope.Thread)
+    public static class Flips {
+
+        final CardFlipper[] flippers = new CardFlipper[TableFixture.BATCH];
+        Card[] cards;
+        int[] values;
+        int next;
+
+        @Setup(Level.Trial)
+        public void setUp(Position position) {
+            List<Card> all = new ArrayList<>();
+            for (int i = 0; i < flippers.length; i++) {
+                List<Player> copies = position.fixture.copyPlayers();
+                for (Player player : copies) {
+                    for (List<Card> open : player.getOpenCards().values()) {
+                        all.addAll(open);
+                    }
+                }
+                flippers[i] = new CardFlipper(copies, true);
+            }
+            cards = all.toArray(new Card[0]);
+            values = new int[cards.length];
+            for (int i = 0; i < cards.length; i++) {
+                values[i] = cards[i].getValue();
+            }
+        }
+
+        @Setup(Level.Iteration)
+        public void restore() {
+            for (int i = 0; i < cards.length; i++) {
+                cards[i].setValue(values[i]);
+            }
+            next = 0;
+        }
+    }
+
+    /**
+     * One list of the scored players per call, in the order to restore it to.
+     */
+    @State(Scope.Thread)
+    public static class Rankings {
+
+        final List<List<Player>> orders = new ArrayList<>(TableFixture.BATCH);
+        final WinnerDeterminer[] determiners = new WinnerDeterminer[TableFixture.BATCH];
+        List<Player> original;
+        int next;
+
+        @Setup(Level.Trial)
+        public void setUp(Position position) {
+            original = position.fixture.copyPlayers();
+            for (Player player : original) {
+                player.calculateScore();
+            }
+            Collections.reverse(original);
+            for (int i = 0; i < determiners.length; i++) {
+                List<Player> order = new ArrayList<>(original);
+                orders.add(order);
+                determiners[i] = new WinnerDeterminer(order, true);
+            }
+        }
+
+        @Setup(Level.Iteration)
+        public void restore() {
+            for (List<Player> order : orders) {
+                for (int i = 0; i < order.size(); i++) {
+                    order.set(i, original.get(i));
+                }
+            }
+            next = 0;
+        }
+    }
+
+    @Benchmark
+    public Map<Player, List<Card>> flipCards(Flips flips) {
+        return flips.flippers[flips.next++].flipCards();
+    }
+
+    @Benchmark
+    public Player determineWinner(Rankings rankings) {
+        return rankings.determiners[rankings.next++].determineWinner();
+    }
+}
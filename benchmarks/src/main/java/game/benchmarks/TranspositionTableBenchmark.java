@@ -0,0 +1,56 @@
+package game.benchmarks;
+
+import game.search.TranspositionTable;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.*;
+
+/**
+ * Benchmarks probing and storing in a transposition table shared by every
+ * benchmark thread, over tables that fit in cache and tables that do not.
+ * Run with {@code -t} to see how it holds up under concurrent searches.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class TranspositionTableBenchmark {
+
+    @Param({"1", "64"})
+    int megabytes;
+
+    private TranspositionTable table;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        table = new TranspositionTable(megabytes * 1024L * 1024L);
+        Keys keys = new Keys();
+        for (int i = 0; i < table.capacity(); i++) {
+            table.store(keys.next(), i, i & 31, TranspositionTable.EXACT, i & 63);
+        }
+    }
+
+    /**
+     * Each thread walks its own key sequence.
+     */
+    @State(Scope.Thread)
+    public static class Keys {
+        private long state = TableFixture.SEED;
+
+        long next() {
+            state += 0x9E3779B97F4A7C15L;
+            return state * 0xBF58476D1CE4E5B9L;
+        }
+    }
+
+    @Benchmark
+    public long probe(Keys keys) {
+        return table.probe(keys.next());
+    }
+
+    @Benchmark
+    public void store(Keys keys) {
+        table.store(keys.next(), 1, 4, TranspositionTable.LOWER, 3);
+    }
+}
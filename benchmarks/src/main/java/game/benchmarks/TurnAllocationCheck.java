@@ -0,0 +1,81 @@
+package game.benchmarks;
+
+import game.ai.RandomStrategy;
+import game.core.*;
+import game.gameplay.GameStateMachine;
+import java.lang.management.ManagementFactory;
+import java.util.*;
+
+/**
+ * Allocation regression check for the headless turn loop. After warming up
+ * the JIT it plays games and measures, with the thread's allocation
+ * counter, the bytes allocated by every turn and final discard. Dealing and
+ * scoring happen once per game and are not counted.
+ *
+ * Exits with status 1 if any turn allocated, so it can gate a build.
+ *
+ * Usage: {@code java -cp benchmarks/target/benchmarks.jar game.benchmarks.TurnAllocationCheck [warmupGames] [games] [players] [rules]}
+ */
+public class TurnAllocationCheck {
+
+    private static final com.sun.management.ThreadMXBean THREADS =
+            (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+
+    public static void main(String[] args) {
+        int warmupGames = args.length > 0 ? Integer.parseInt(args[0]) : 20_000;
+        int games = args.length > 1 ? Integer.parseInt(args[1]) : 1_000;
+        int players = args.length > 2 ? Integer.parseInt(args[2]) : 4;
+        RuleSet rules = args.length > 3 ? RuleSet.preset(args[3]) : RuleSet.BASE;
+        Random random = new Random(TableFixture.SEED);
+
+        play(warmupGames, players, rules, random);
+        long[] result = play(games, players, rules, random);
+        long turns = result[0];
+        long bytes = result[1];
+
+        System.out.printf("Turns measured:   %d in %d games of %d players (%s)%n", turns, games, players, rules.getName());
+        System.out.printf("Bytes allocated:  %d (%.2f per turn)%n", bytes, (double) bytes / turns);
+        if (bytes > 0) {
+            System.out.println("❌ The turn loop allocates.");
+            System.exit(1);
+        }
+        System.out.println("✅ The turn loop allocates nothing.");
+    }
+
+    /**
+     * @return The number of turns played and the bytes they allocated.
+     */
+    private static long[] play(int games, int playersPerGame, RuleSet rules, Random random) {
+        RandomStrategy strategy = new RandomStrategy(random);
+        long turns = 0;
+        long bytes = 0;
+        // Reading the counter twice tells how much the reading itself costs
+        long overhead = -THREADS.getCurrentThreadAllocatedBytes() + THREADS.getCurrentThreadAllocatedBytes();
+
+        for (int g = 0; g < games; g++) {
+            List<Player> players = new ArrayList<>(playersPerGame);
+            for (int p = 1; p <= playersPerGame; p++) {
+                players.add(new Computer("Bot " + p, strategy));
+            }
+            GameStateMachine game = new GameStateMachine(players, random, rules);
+            game.step(); // Deal
+
+            while (isTurn(game.getState())) {
+                long before = THREADS.getCurrentThreadAllocatedBytes();
+                game.step();
+                bytes += THREADS.getCurrentThreadAllocatedBytes() - before - overhead;
+                turns++;
+            }
+            while (game.step()) {
+                // Flip and score
+            }
+        }
+        return new long[]{turns, bytes};
+    }
+
+    private static boolean isTurn(GameStateMachine.State state) {
+        return state == GameStateMachine.State.TURN
+                || state == GameStateMachine.State.LAST_ROUND
+                || state == GameStateMachine.State.FINAL_DISCARD;
+    }
+}
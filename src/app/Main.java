@@ -1,12 +1,23 @@
 package app;
 
+import game.ai.LinearStrategy;
 import game.gameplay.GameMenu;
+import game.metrics.GameStats;
 import game.renderer.GamePhaseRenderer;
+import java.nio.file.Paths;
 import java.util.*;
 
 public class Main {
 
+    /**
+     * @param args Optionally {@code --policy file}, for Distilled bots to
+     *             play a policy written by the distiller.
+     */
     public static void main(String[] args) {
+        if (args.length == 2 && args[0].equals("--policy")) {
+            LinearStrategy.configureDefault(Paths.get(args[1]));
+        }
+        GameStats.register();
         Scanner scanner = new Scanner(System.in);
         GamePhaseRenderer.showWelcomeMessage(scanner);
         boolean playAnotherGame;
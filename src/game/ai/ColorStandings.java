@@ -0,0 +1,193 @@
+package game.ai;
+
+import game.core.*;
+import java.util.List;
+
+/**
+ * One thread's view of where a player stands in every color for the decision
+ * in progress: its own open cards, the most any other player holds and who
+ * holds the majority. Decisions weigh each card against it in a few steps per
+ * color. The standings themselves, and the flip rule, come from a
+ * {@link MovePreview}; this adds what the majority holder stands to lose. The
+ * buffers and the preview are kept from one decision to the next, so reading
+ * the table allocates nothing.
+ *
+ * Not thread-safe; strategies keep one per thread.
+ */
+final class ColorStandings {
+
+    // ============================ Instance Variables ============================
+    private RuleSet rules;
+    private MovePreview preview;
+    private int colorCount;
+    private int seats;
+
+    /**
+     * Per color, for the player who alone holds the most and has them
+     * flipped: how many and what losing the flip would cost them.
+     */
+    private int[] leaderCounts;
+    private int[] leaderLosses;
+
+    // ============================ Reading ============================
+    /**
+     * Reads the open cards of every player and previews the hand against the
+     * parade.
+     *
+     * @param self    The player deciding.
+     * @param parade  The parade the hand would be played into.
+     * @param players All players at the table.
+     */
+    void read(Player self, Parade parade, List<Player> players) {
+        prepare(self);
+        preview.preview(parade, self, players);
+        readLeaders(self, players);
+    }
+
+    /**
+     * Reads the open cards of every player, for decisions that play no card.
+     *
+     * @param self    The player deciding.
+     * @param players All players at the table.
+     */
+    void read(Player self, List<Player> players) {
+        prepare(self);
+        preview.readStandings(self, players);
+        readLeaders(self, players);
+    }
+
+    /**
+     * Rebuilds the preview and the buffers when the rules change.
+     */
+    private void prepare(Player self) {
+        if (rules != self.getRules()) {
+            rules = self.getRules();
+            preview = new MovePreview(rules);
+            colorCount = rules.getColorCount();
+            leaderCounts = new int[colorCount];
+            leaderLosses = new int[colorCount];
+        }
+    }
+
+    private void readLeaders(Player self, List<Player> players) {
+        seats = players.size();
+        for (int color = 0; color < colorCount; color++) {
+            int best = -1;
+            int second = -1;
+            Player leader = null;
+            for (int p = 0; p < seats; p++) {
+                Player other = players.get(p);
+                if (other == self) {
+                    continue;
+                }
+                int count = other.getOpenCardCount(color);
+                if (count > best) {
+                    second = best;
+                    best = count;
+                    leader = other;
+                } else if (count > second) {
+                    second = count;
+                }
+            }
+
+            // The leader's cards are flipped if nobody else comes close
+            int runnerUp = Math.max(second, preview.getOpenCount(color));
+            boolean flipped = leader != null && best > runnerUp
+                    && (seats != 2 || best - runnerUp >= rules.getMinDifferenceForTwoPlayers());
+            leaderCounts[color] = flipped ? best : 0;
+            leaderLosses[color] = flipped
+                    ? valueOf(leader.getOpenCards(color)) - best * rules.getFlippedCardValue()
+                    : 0;
+        }
+    }
+
+    // ============================ Standings ============================
+    /**
+     * @return The deciding player's points in a color if the game ended with
+     * the given open cards of it.
+     */
+    int colorScore(int color, int count, int value) {
+        return preview.holdsMajority(color, count) ? count * rules.getFlippedCardValue() : value;
+    }
+
+    /**
+     * @return true if the deciding player's cards of a color would be
+     * flipped with the given number of them; see
+     * {@link MovePreview#holdsMajority}.
+     */
+    boolean holdsMajority(int color, int count) {
+        return preview.holdsMajority(color, count);
+    }
+
+    /**
+     * @return The deciding player's score if the game ended now.
+     */
+    int score() {
+        int score = 0;
+        for (int color = 0; color < colorCount; color++) {
+            score += colorScore(color, preview.getOpenCount(color), preview.getOpenValue(color));
+        }
+        return score;
+    }
+
+    /**
+     * @return What the player holding the majority of a color would lose,
+     * shared among the other players, if the deciding player had the given
+     * open cards of it; 0 if nobody would lose the flip.
+     */
+    double denial(int color, int countAfter) {
+        int leaderCount = leaderCounts[color];
+        if (leaderCount == 0) {
+            return 0;
+        }
+        boolean denied = seats == 2
+                ? leaderCount - countAfter < rules.getMinDifferenceForTwoPlayers()
+                : countAfter > leaderCount;
+        return denied ? (double) leaderLosses[color] / (seats - 1) : 0;
+    }
+
+    // ============================ Getters ============================
+    /**
+     * @return The preview of the deciding player's hand as of the last read
+     * with a parade.
+     */
+    MovePreview getPreview() {
+        return preview;
+    }
+
+    RuleSet getRules() {
+        return rules;
+    }
+
+    int getColorCount() {
+        return colorCount;
+    }
+
+    int getSeats() {
+        return seats;
+    }
+
+    int getOpenCount(int color) {
+        return preview.getOpenCount(color);
+    }
+
+    int getOpenValue(int color) {
+        return preview.getOpenValue(color);
+    }
+
+    /**
+     * @return The most open cards of a color any other player holds.
+     */
+    int getBestOther(int color) {
+        return preview.getBestOther(color);
+    }
+
+    // ============================ Helpers ============================
+    private static int valueOf(List<Card> cards) {
+        int sum = 0;
+        for (int i = 0; i < cards.size(); i++) {
+            sum += cards.get(i).getValue();
+        }
+        return sum;
+    }
+}
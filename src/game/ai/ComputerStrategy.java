@@ -0,0 +1,42 @@
+package game.ai;
+
+import game.core.*;
+import java.util.List;
+
+/**
+ * Decides which cards a computer player plays. Strategies only read the
+ * game state passed in; the caller applies the chosen move.
+ */
+public interface ComputerStrategy {
+
+    /**
+     * Chooses the card to play into the parade.
+     *
+     * @param self    The player deciding.
+     * @param parade  The current parade.
+     * @param players All players at the table, in turn order.
+     * @param deck    The deck, used for its size only.
+     * @return A zero-based index into the player's closed cards.
+     */
+    int chooseCard(Player self, Parade parade, List<Player> players, Deck deck);
+
+    /**
+     * Chooses the card to move to the open cards during the final phase.
+     *
+     * @param self    The player deciding.
+     * @param players All players at the table, in turn order.
+     * @param deck    The deck, used for its size only.
+     * @return A zero-based index into the player's closed cards.
+     */
+    int chooseDiscard(Player self, List<Player> players, Deck deck);
+
+    /**
+     * Reports how much searching the last decision made on the calling thread
+     * took, for profiling. Strategies that do not search return 0.
+     *
+     * @return The number of rollouts or search nodes of the last decision.
+     */
+    default long getLastRollouts() {
+        return 0;
+    }
+}
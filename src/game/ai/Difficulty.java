@@ -0,0 +1,71 @@
+package game.ai;
+
+/**
+ * The levels a computer player can play at, from the random bot of the
+ * original game to the search bot. Every level below {@link #EXPERT}
+ * decides in microseconds, so any number of them can share a thread.
+ */
+public enum Difficulty {
+    RANDOM("Random", "plays any card"),
+    EASY("Easy", "takes the fewest points"),
+    // Plays about as well as Medium and loses to Hard, so it is listed with Medium
+    DISTILLED("Distilled", "imitates the search bot without searching"),
+    MEDIUM("Medium", "keeps its score low, counting majorities"),
+    HARD("Hard", "also takes majorities away from the others"),
+    EXPERT("Expert", "searches ahead, slowest");
+
+    private final String displayName;
+    private final String description;
+
+    Difficulty(String displayName, String description) {
+        this.displayName = displayName;
+        this.description = description;
+    }
+
+    /**
+     * Creates a strategy for one seat at this level.
+     *
+     * @return A new strategy.
+     */
+    public ComputerStrategy createStrategy() {
+        return switch (this) {
+            case RANDOM -> new RandomStrategy();
+            case DISTILLED -> LinearStrategy.getDefault();
+            case EXPERT -> new PonderingStrategy(new ExpectimaxStrategy());
+            default -> new GreedyStrategy(this);
+        };
+    }
+
+    /**
+     * @return true if the level searches and may take milliseconds per
+     * decision.
+     */
+    public boolean searches() {
+        return this == EXPERT;
+    }
+
+    /**
+     * Looks a level up by name, ignoring case.
+     *
+     * @param name The name, for example "hard".
+     * @return The level.
+     * @throws IllegalArgumentException if there is no level of that name.
+     */
+    public static Difficulty of(String name) {
+        for (Difficulty difficulty : values()) {
+            if (difficulty.name().equalsIgnoreCase(name)) {
+                return difficulty;
+            }
+        }
+        throw new IllegalArgumentException("Unknown level: " + name);
+    }
+
+    public String getDisplayName() {
+        return displayName;
+    }
+
+    @Override
+    public String toString() {
+        return displayName + " (" + description + ")";
+    }
+}
@@ -0,0 +1,903 @@
+package game.ai;
+
+import game.core.*;
+import game.search.OpeningBook;
+import game.search.SearchPosition;
+import game.search.StateCanonicalizer;
+import game.search.TranspositionTable;
+import game.utils.Constants;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Looks ahead with an expectimax search. The player's own turns are max
+ * nodes; everything it cannot see is a chance node weighted by how many
+ * copies of each card are still unseen:
+ *
+ * - the card it draws after each turn, revealed just before its next turn;
+ * - the card each other player plays, taken to be any of the unseen cards.
+ *
+ * Deck draws and other players' cards are sampled without replacement from
+ * the same unseen cards, so the order they are revealed in does not change
+ * the odds; deferring the own draw keeps the tree narrow between turns.
+ *
+ * Chance nodes are pruned with Star1: since every score lies between known
+ * bounds, a chance node stops once even the best or worst outcome of its
+ * remaining children cannot bring its average back into the window.
+ *
+ * The search deepens one turn at a time until the think time runs out, and
+ * plays the best card of the deepest search it finished. Cards that take
+ * less from the parade are tried first. The end of the game is modelled:
+ * once the deck runs out or a player holds every color, each seat plays
+ * once more and the final discards are chosen to suit the player.
+ *
+ * The player's own turns with enough search left below them go into the
+ * shared {@link TranspositionTable} under the canonical hash of what the
+ * player knows, so positions reached by another order of turns or with the
+ * colors renamed are searched once, and a search finds what pondering or
+ * another table's bot already worked out.
+ *
+ * Strategies may be shared by many tables, so each thread searches with its
+ * own buffers, reused from one decision to the next.
+ *
+ * The strategy can also think on other seats' time: see
+ * {@link PonderingStrategy}.
+ */
+public class ExpectimaxStrategy implements ComputerStrategy {
+
+    /**
+     * Stands in for the parade when only the final discard is searched.
+     */
+    private static final Parade EMPTY = new Parade(null);
+
+    /**
+     * Sets expectimax keys apart from anything else in the shared table.
+     */
+    private static final long SALT = 0x4558504D58L;
+
+    // ============================ Instance Variables ============================
+    private final int moveTimeMs;
+    private final int maxDepth;
+    private final TranspositionTable table;
+    private final ThreadLocal<Search> searches;
+
+    /**
+     * First moves looked up instead of searched, if set.
+     */
+    private OpeningBook openingBook;
+
+    // ============================ Constructors ============================
+    public ExpectimaxStrategy() {
+        this(Constants.EXPECTIMAX_MOVE_TIME_MS);
+    }
+
+    /**
+     * @param moveTimeMs The think time per decision in milliseconds.
+     */
+    public ExpectimaxStrategy(int moveTimeMs) {
+        this(moveTimeMs, Constants.EXPECTIMAX_MAX_DEPTH);
+    }
+
+    /**
+     * @param moveTimeMs The think time per decision in milliseconds.
+     * @param maxDepth   The deepest search in turns, whatever the time left.
+     */
+    public ExpectimaxStrategy(int moveTimeMs, int maxDepth) {
+        this(moveTimeMs, maxDepth, TranspositionTable.shared());
+    }
+
+    /**
+     * @param moveTimeMs The think time per decision in milliseconds.
+     * @param maxDepth   The deepest search in turns, whatever the time left.
+     * @param table      The transposition table to share results through.
+     */
+    public ExpectimaxStrategy(int moveTimeMs, int maxDepth, TranspositionTable table) {
+        if (moveTimeMs < 1 || maxDepth < 1) {
+            throw new IllegalArgumentException("Think time and depth must be positive.");
+        }
+        this.moveTimeMs = moveTimeMs;
+        this.maxDepth = Math.min(maxDepth, SearchPosition.MAX_CHANGES / 4);
+        this.table = table;
+        this.searches = ThreadLocal.withInitial(() -> new Search(table));
+    }
+
+    // ============================ Decisions ============================
+    @Override
+    public int chooseCard(Player self, Parade parade, List<Player> players, Deck deck) {
+        if (self.getClosedCards().size() == 1) {
+            return 0;
+        }
+        Search search = searches.get();
+        if (openingBook != null) {
+            int index = openingBook.lookup(self, parade, players, deck);
+            if (index >= 0) {
+                search.nodes = 0;
+                return index;
+            }
+        }
+        search.load(self, parade, players, deck);
+        table.newSearch();
+        return search.iterate(System.nanoTime() + moveTimeMs * 1_000_000L, maxDepth);
+    }
+
+    @Override
+    public int chooseDiscard(Player self, List<Player> players, Deck deck) {
+        int handSize = self.getClosedCards().size();
+        RuleSet rules = self.getRules();
+        int keep = rules.getHandSize() - 1 - rules.getFinalPlayMoves();
+        int discards = Math.max(1, Math.min(handSize, handSize - keep));
+
+        Search search = searches.get();
+        search.load(self, null, players, deck);
+        return search.chooseDiscard(discards);
+    }
+
+    /**
+     * @return The number of nodes the last search on this thread visited.
+     */
+    @Override
+    public long getLastRollouts() {
+        return searches.get().nodes;
+    }
+
+    public int getMoveTimeMs() {
+        return moveTimeMs;
+    }
+
+    /**
+     * Lets the strategy play the openings of a book without searching.
+     *
+     * @param openingBook The book, or null to search every move.
+     */
+    public void setOpeningBook(OpeningBook openingBook) {
+        this.openingBook = openingBook;
+    }
+
+    // ============================ Pondering ============================
+    /**
+     * @return A new pondering search for one seat, reused from one wait to
+     * the next.
+     */
+    Ponder newPonder() {
+        return new Ponder();
+    }
+
+    /**
+     * Searches a seat's next turn while other seats play. The game thread
+     * copies the seat's view with {@link #prepare}, another thread searches
+     * with {@link #run(long)}, and the game thread asks for the result with
+     * {@link #recall} when the seat's turn comes.
+     *
+     * The seats before the one right before the player are taken to play
+     * their most likely card. For that last seat every card it may play is
+     * searched in turn, most likely first, each for the think time of a turn,
+     * so the longer the wait the more of the next turns are already decided.
+     * A card is more likely the more unseen copies it has and, among equals,
+     * the less it takes from the parade. The player's own hand is already
+     * known since it drew at the end of its turn.
+     *
+     * Every prepare starts a new generation, and the state holds the
+     * generation next to the phase, so a pondering task queued for an
+     * earlier wait finds its generation gone and never runs a later one.
+     */
+    final class Ponder {
+
+        private static final int IDLE = 0;
+        private static final int PENDING = 1;
+        private static final int RUNNING = 2;
+        private static final int DONE = 3;
+        private static final int PHASE_BITS = 2;
+        private static final int PHASE_MASK = (1 << PHASE_BITS) - 1;
+
+        private Search search;
+        private int mover;
+        private int candidates;
+        private int[] ranked;
+
+        /**
+         * The view keys of the positions searched, the card found for each
+         * and whether it may be played without searching again.
+         */
+        private long[] keys;
+        private int[] codes;
+        private boolean[] settled;
+        private int count;
+
+        /**
+         * The generation of the last prepare and its phase, packed as
+         * {@code generation << PHASE_BITS | phase}. The generation is only
+         * changed on the game thread.
+         */
+        private final AtomicInteger state = new AtomicInteger(IDLE);
+        private int generation;
+        private volatile CountDownLatch done;
+
+        /**
+         * Copies the player's view of the table. Called on the game thread.
+         *
+         * @param toMove     The player who moves next.
+         * @param candidates The most cards of the seat right before the
+         *                   player to search.
+         * @return false if there is nothing worth pondering: it is the
+         * player's own turn, its hand leaves no choice or the last round has
+         * begun. Otherwise {@link #getGeneration()} tells the generation to
+         * pass to {@link #run}.
+         */
+        boolean prepare(Player self, Parade parade, List<Player> players, Deck deck, Player toMove,
+                int candidates) {
+            stop();
+            int seat = players.indexOf(self);
+            int next = players.indexOf(toMove);
+            if (seat < 0 || next < 0 || seat == next || self.getClosedCards().size() < 2) {
+                return false;
+            }
+            if (search == null) {
+                search = new Search(table);
+            }
+            search.load(self, parade, players, deck);
+            if (search.lastRound) {
+                return false;
+            }
+            if (keys == null || keys.length < candidates) {
+                keys = new long[candidates];
+                codes = new int[candidates];
+                settled = new boolean[candidates];
+                ranked = new int[candidates];
+            }
+            this.mover = next;
+            this.candidates = candidates;
+            count = 0;
+            search.stopped = false;
+            done = new CountDownLatch(1);
+            generation = (generation + 1) & (-1 >>> PHASE_BITS);
+            // Publishes the copied view to the pondering thread
+            state.set(generation << PHASE_BITS | PENDING);
+            return true;
+        }
+
+        /**
+         * Searches the predicted positions until the deadline or until
+         * {@link #stop()}. Called on the pondering thread.
+         *
+         * @param deadline   The {@link System#nanoTime()} to stop at.
+         * @param generation The generation of the prepare this task was
+         *                   queued for; a later one is left alone.
+         */
+        void run(long deadline, int generation) {
+            if (!state.compareAndSet(generation << PHASE_BITS | PENDING, generation << PHASE_BITS | RUNNING)) {
+                return;
+            }
+            CountDownLatch latch = done;
+            try {
+                predict(deadline);
+            } finally {
+                state.set(generation << PHASE_BITS | DONE);
+                latch.countDown();
+            }
+        }
+
+        /**
+         * @return The generation of the last prepare. Called on the game
+         * thread.
+         */
+        int getGeneration() {
+            return generation;
+        }
+
+        /**
+         * Ends the search and waits until it has stopped, which takes at
+         * most one time check of the search.
+         */
+        void stop() {
+            int current = state.get();
+            if ((current & PHASE_MASK) == IDLE) {
+                return;
+            }
+            search.stopped = true;
+            int pending = current & ~PHASE_MASK | PENDING;
+            if (state.compareAndSet(pending, pending & ~PHASE_MASK | DONE)) {
+                done.countDown();
+                return;
+            }
+            boolean interrupted = false;
+            while (true) {
+                try {
+                    done.await();
+                    break;
+                } catch (InterruptedException e) {
+                    interrupted = true;
+                }
+            }
+            if (interrupted) {
+                Thread.currentThread().interrupt();
+            }
+        }
+
+        /**
+         * Stops pondering and looks the actual position up among the
+         * predicted ones. Called on the game thread at the player's turn.
+         *
+         * @return The hand index of the card to play, or -1 if the position
+         * was not predicted or not searched for long enough.
+         */
+        int recall(Player self, Parade parade, List<Player> players, Deck deck) {
+            stop();
+            Search current = searches.get();
+            current.load(self, parade, players, deck);
+            long key = current.viewKey();
+            for (int i = 0; i < count; i++) {
+                if (keys[i] == key && settled[i]) {
+                    return current.handIndexOf(codes[i]);
+                }
+            }
+            return -1;
+        }
+
+        private void predict(long deadline) {
+            SearchPosition position = search.position;
+            int seats = search.seats;
+            int self = search.self;
+            int last = (self + seats - 1) % seats;
+            for (int seat = mover; seat != last; seat = (seat + 1) % seats) {
+                if (rankUnseen(1) == 0 || !predictTurn(seat, ranked[0])) {
+                    return;
+                }
+            }
+
+            int found = rankUnseen(candidates);
+            long moveNanos = moveTimeMs * 1_000_000L;
+            for (int i = 0; i < found && !search.stopped && System.nanoTime() < deadline; i++) {
+                int mark = position.changes();
+                if (predictTurn(last, ranked[i])) {
+                    long start = System.nanoTime();
+                    long key = search.viewKey();
+                    int index = search.iterate(Math.min(start + moveNanos, deadline), maxDepth);
+                    if (search.finishedDepth > 0) {
+                        keys[count] = key;
+                        codes[count] = position.getHandCard(self, index);
+                        // Played as is only if it searched at least as long as a turn would
+                        settled[count] = search.complete || System.nanoTime() - start >= moveNanos;
+                        count++;
+                    }
+                }
+                while (position.changes() > mark) {
+                    position.undo();
+                }
+            }
+        }
+
+        /**
+         * Plays an unseen card for a seat and draws for it.
+         *
+         * @return false if that ends the game, which is not pondered.
+         */
+        private boolean predictTurn(int seat, int code) {
+            SearchPosition position = search.position;
+            position.playUnseen(seat, code);
+            if (position.getDeckSize() > 0) {
+                position.drawFromDeck();
+            }
+            return position.getDeckSize() > 0 && !search.anyoneHasAllColors();
+        }
+
+        /**
+         * Fills {@code ranked} with the distinct unseen cards, most likely
+         * first: most unseen copies, then least taken from the parade.
+         *
+         * @return The number of cards ranked.
+         */
+        private int rankUnseen(int limit) {
+            SearchPosition position = search.position;
+            int found = 0;
+            while (found < limit) {
+                int best = -1;
+                long bestRank = Long.MAX_VALUE;
+                for (int code = 0; code < position.getCardTypes(); code++) {
+                    int copies = position.getUnseen(code);
+                    if (copies > 0 && !isRanked(code, found)) {
+                        long rank = (long) -copies << 32 | position.takeCost(code);
+                        if (rank < bestRank) {
+                            best = code;
+                            bestRank = rank;
+                        }
+                    }
+                }
+                if (best < 0) {
+                    break;
+                }
+                ranked[found++] = best;
+            }
+            return found;
+        }
+
+        private boolean isRanked(int code, int found) {
+            for (int i = 0; i < found; i++) {
+                if (ranked[i] == code) {
+                    return true;
+                }
+            }
+            return false;
+        }
+    }
+
+    // ============================ Search ============================
+    /**
+     * The buffers and the running state of one thread's search.
+     */
+    private static final class Search {
+
+        private static final int TIME_CHECK_MASK = 1023;
+
+        private final TranspositionTable table;
+        private SearchPosition position;
+        private RuleSet rules;
+        private StateCanonicalizer canonicalizer;
+
+        /**
+         * Hand indexes in the order they are tried, per turn of the line, and
+         * the canonical codes of their cards.
+         */
+        private int[][] orders;
+        private int[][] canonicalMoves;
+
+        /**
+         * Table values are scores times this scale, rounded, so that the
+         * largest lead still fits the table's 16 bits.
+         */
+        private double valueScale;
+        private long rulesKey;
+
+        private int self;
+        private int seats;
+        private double bound;
+
+        private boolean lastRound;
+        private int lastRoundLeft;
+        private boolean pendingDraw;
+
+        private long deadline;
+
+        /**
+         * Set by another thread to end a pondering search early.
+         */
+        private volatile boolean stopped;
+        private boolean aborted;
+        private boolean cutoff;
+        private long nodes;
+
+        /**
+         * The depth of the deepest finished search, and whether it reached
+         * the end of the game on every line.
+         */
+        private int finishedDepth;
+        private boolean complete;
+
+        Search(TranspositionTable table) {
+            this.table = table;
+        }
+
+        /**
+         * Loads the position one seat sees. Without a parade only the hands
+         * and open cards are loaded, which is all the final discard needs.
+         */
+        void load(Player player, Parade parade, List<Player> players, Deck deck) {
+            RuleSet playerRules = player.getRules();
+            if (position == null || rules != playerRules || position.getSeats() != players.size()) {
+                rules = playerRules;
+                position = new SearchPosition(rules, players.size());
+                canonicalizer = new StateCanonicalizer(rules, false);
+                orders = new int[SearchPosition.MAX_CHANGES][rules.getHandSize()];
+                canonicalMoves = new int[SearchPosition.MAX_CHANGES][rules.getHandSize()];
+                // Variants may share colors and cards but not scoring
+                rulesKey = Hashing.mix(rules.getName().hashCode());
+            }
+            self = players.indexOf(player);
+            seats = players.size();
+            bound = position.maxLead();
+            valueScale = (Short.MAX_VALUE - 1) / (bound + 1.0);
+            position.load(self, parade == null ? EMPTY : parade, players, deck);
+            nodes = 0;
+            aborted = false;
+            pendingDraw = false;
+
+            // After the end was triggered the table is in turn order from the
+            // first seat of the last round, so every seat after this one is left
+            lastRound = position.getDeckSize() == 0 || anyoneHasAllColors();
+            lastRoundLeft = seats - self;
+        }
+
+        // ======================== Iterative Deepening ========================
+        /**
+         * Searches one turn deeper at a time until the deadline, the maximum
+         * depth or the end of the game.
+         *
+         * @return The hand index of the best card of the deepest finished search.
+         */
+        int iterate(long deadline, int maxDepth) {
+            this.deadline = deadline;
+            aborted = false;
+            finishedDepth = 0;
+            complete = false;
+            int best = cheapestCard();
+            for (int depth = 1; depth <= maxDepth; depth++) {
+                cutoff = false;
+                int choice = root(depth, best);
+                if (aborted) {
+                    break;
+                }
+                best = choice;
+                finishedDepth = depth;
+                if (!cutoff) {
+                    // Every line reached the end of the game, deeper adds nothing
+                    complete = true;
+                    break;
+                }
+            }
+            return best;
+        }
+
+        private int root(int depth, int previousBest) {
+            int[] order = orders[0];
+            int count = orderMoves(order, previousBest);
+            int bestIndex = order[0];
+            double best = -bound - 1;
+            for (int i = 0; i < count && !aborted; i++) {
+                position.playFromHand(self, order[i]);
+                double value = afterTurn(self, 1, depth, Math.max(best, -bound), bound);
+                position.undo();
+                if (value > best && !aborted) {
+                    best = value;
+                    bestIndex = order[i];
+                }
+            }
+            return bestIndex;
+        }
+
+        // ============================ Nodes ============================
+        /**
+         * The value of the position when a seat is about to play.
+         */
+        private double turn(int seat, int ply, int depth, double alpha, double beta) {
+            if ((++nodes & TIME_CHECK_MASK) == 0 && (System.nanoTime() > deadline || stopped)) {
+                aborted = true;
+            }
+            if (aborted) {
+                return 0;
+            }
+            if (ply == depth) {
+                cutoff = true;
+                return position.lead(self);
+            }
+            if (seat != self) {
+                return chance(seat, ply, depth, alpha, beta);
+            }
+            if (!pendingDraw) {
+                return choose(ply, depth, alpha, beta);
+            }
+
+            // Chance node: the card drawn after the last turn
+            pendingDraw = false;
+            double value = chance(-1, ply, depth, alpha, beta);
+            pendingDraw = true;
+            return value;
+        }
+
+        /**
+         * Max node: the player picks its best card. The node is looked up in
+         * the table first, and stored once searched.
+         */
+        private double choose(int ply, int depth, double alpha, double beta) {
+            // Right above the horizon a lookup costs more than the search it saves
+            boolean cached = depth - ply >= Constants.EXPECTIMAX_TABLE_MIN_DEPTH;
+            long key = 0;
+            long entry = TranspositionTable.MISS;
+            if (cached) {
+                long context = SALT << 24 ^ rulesKey ^ (long) self << 16 ^ (lastRound ? lastRoundLeft + 1 : 0);
+                key = canonicalizer.canonicalize(position, context);
+                entry = table.probe(key);
+            }
+            int hint = -1;
+            if (entry != TranspositionTable.MISS) {
+                int stored = TranspositionTable.depth(entry);
+                if (stored >= depth - ply) {
+                    if (stored != TranspositionTable.MAX_DEPTH) {
+                        // A value from a search that stopped short of the end
+                        cutoff = true;
+                    }
+                    double value = TranspositionTable.value(entry) / valueScale;
+                    int tableBound = TranspositionTable.bound(entry);
+                    if (tableBound == TranspositionTable.EXACT
+                            || tableBound == TranspositionTable.LOWER && value >= beta
+                            || tableBound == TranspositionTable.UPPER && value <= alpha) {
+                        return value;
+                    }
+                }
+                hint = handIndexOfCanonical(TranspositionTable.move(entry));
+            }
+
+            int[] order = orders[ply];
+            int count = orderMoves(order, hint);
+            if (count == 0) {
+                return position.lead(self);
+            }
+            // The children canonicalize their own positions, so translate the moves now
+            int[] canonical = canonicalMoves[ply];
+            for (int i = 0; cached && i < count; i++) {
+                canonical[i] = canonicalCode(position.getHandCard(self, order[i]));
+            }
+            boolean outerCutoff = cutoff;
+            cutoff = false;
+
+            double best = -bound - 1;
+            int bestMove = TranspositionTable.NO_MOVE;
+            for (int i = 0; i < count; i++) {
+                position.playFromHand(self, order[i]);
+                double value = afterTurn(self, ply + 1, depth, Math.max(alpha, best), beta);
+                position.undo();
+                if (aborted) {
+                    return 0;
+                }
+                if (value > best) {
+                    best = value;
+                    bestMove = canonical[i];
+                    if (best >= beta) {
+                        break;
+                    }
+                }
+            }
+
+            // Bounds are rounded outwards, so they stay bounds
+            double scaled = best * valueScale;
+            if (cached) {
+                int stored = cutoff ? depth - ply : TranspositionTable.MAX_DEPTH;
+                if (best <= alpha) {
+                    table.store(key, (int) Math.ceil(scaled), stored, TranspositionTable.UPPER, bestMove);
+                } else if (best >= beta) {
+                    table.store(key, (int) Math.floor(scaled), stored, TranspositionTable.LOWER, bestMove);
+                } else {
+                    table.store(key, (int) Math.round(scaled), stored, TranspositionTable.EXACT, bestMove);
+                }
+            }
+            cutoff |= outerCutoff;
+            return best;
+        }
+
+        /**
+         * Chance node over the unseen cards with Star1 pruning. For seat -1
+         * the player draws the card; otherwise that seat plays it.
+         */
+        private double chance(int seat, int ply, int depth, double alpha, double beta) {
+            double total = position.getUnseenTotal();
+            if (total == 0) {
+                return seat < 0 ? choose(ply, depth, alpha, beta) : afterTurn(seat, ply + 1, depth, alpha, beta);
+            }
+            double sum = 0;
+            double left = 1;
+            for (int code = 0; code < position.getCardTypes(); code++) {
+                int copies = position.getUnseen(code);
+                if (copies == 0) {
+                    continue;
+                }
+                double probability = copies / total;
+                left -= probability;
+                double childAlpha = Math.max((alpha - sum - left * bound) / probability, -bound);
+                double childBeta = Math.min((beta - sum + left * bound) / probability, bound);
+
+                double value;
+                if (seat < 0) {
+                    position.reveal(self, code);
+                    value = choose(ply, depth, childAlpha, childBeta);
+                } else {
+                    position.playUnseen(seat, code);
+                    value = afterTurn(seat, ply + 1, depth, childAlpha, childBeta);
+                }
+                position.undo();
+                if (aborted) {
+                    return 0;
+                }
+
+                sum += probability * value;
+                if (sum + left * bound <= alpha) {
+                    return sum + left * bound;
+                }
+                if (sum - left * bound >= beta) {
+                    return sum - left * bound;
+                }
+            }
+            return sum;
+        }
+
+        /**
+         * Finishes a seat's turn: it draws, the end of the game may begin,
+         * and the next seat plays.
+         */
+        private double afterTurn(int seat, int ply, int depth, double alpha, double beta) {
+            boolean wasLastRound = lastRound;
+            int wasLastRoundLeft = lastRoundLeft;
+            boolean wasPendingDraw = pendingDraw;
+            boolean drew = false;
+
+            if (lastRound) {
+                lastRoundLeft--;
+            } else {
+                if (position.getDeckSize() > 0) {
+                    position.drawFromDeck();
+                    drew = true;
+                    if (seat == self) {
+                        pendingDraw = true;
+                    }
+                }
+                if (position.getDeckSize() == 0 || anyoneHasAllColors()) {
+                    lastRound = true;
+                    lastRoundLeft = seats;
+                }
+            }
+
+            double value = lastRound && lastRoundLeft == 0
+                    ? finalDiscards(rules.getFinalPlayMoves())
+                    : turn((seat + 1) % seats, ply, depth, alpha, beta);
+
+            if (drew) {
+                position.undo();
+            }
+            lastRound = wasLastRound;
+            lastRoundLeft = wasLastRoundLeft;
+            pendingDraw = wasPendingDraw;
+            return value;
+        }
+
+        /**
+         * The best lead the player can end the game with by moving cards
+         * from its hand to its open cards. The other players' final
+         * discards are unknown and left out.
+         */
+        private double finalDiscards(int discards) {
+            int handSize = position.getHandSize(self);
+            if (discards == 0 || handSize == 0) {
+                return position.lead(self);
+            }
+            double best = -bound - 1;
+            for (int i = 0; i < handSize; i++) {
+                position.discard(self, i);
+                best = Math.max(best, finalDiscards(discards - 1));
+                position.undo();
+            }
+            return best;
+        }
+
+        // ============================ Final Discard ============================
+        int chooseDiscard(int discards) {
+            int bestIndex = 0;
+            double best = -bound - 1;
+            for (int i = 0; i < position.getHandSize(self); i++) {
+                position.discard(self, i);
+                double value = finalDiscards(discards - 1);
+                position.undo();
+                if (value > best) {
+                    best = value;
+                    bestIndex = i;
+                }
+            }
+            return bestIndex;
+        }
+
+        // ============================ Helpers ============================
+        /**
+         * Fills the order with the hand indexes of distinct cards, the given
+         * one first and the rest by how much they would take.
+         *
+         * @return The number of moves.
+         */
+        private int orderMoves(int[] order, int first) {
+            int handSize = position.getHandSize(self);
+            int count = 0;
+            for (int i = 0; i < handSize; i++) {
+                int code = position.getHandCard(self, i);
+                if (!contains(order, count, code)) {
+                    order[count++] = i;
+                }
+            }
+            // Insertion sort by take cost; hands are a handful of cards
+            for (int i = 1; i < count; i++) {
+                int index = order[i];
+                int cost = rank(index, first);
+                int j = i - 1;
+                while (j >= 0 && rank(order[j], first) > cost) {
+                    order[j + 1] = order[j];
+                    j--;
+                }
+                order[j + 1] = index;
+            }
+            return count;
+        }
+
+        private int rank(int handIndex, int first) {
+            return handIndex == first ? -1 : position.takeCost(position.getHandCard(self, handIndex));
+        }
+
+        private boolean contains(int[] order, int count, int code) {
+            for (int i = 0; i < count; i++) {
+                if (position.getHandCard(self, order[i]) == code) {
+                    return true;
+                }
+            }
+            return false;
+        }
+
+        private int cheapestCard() {
+            int[] order = orders[0];
+            orderMoves(order, -1);
+            return order[0];
+        }
+
+        /**
+         * Hashes what the player sees: the parade in order, its own hand,
+         * every seat's open cards and the size of the deck. Positions with
+         * the same key leave the player the same decision.
+         */
+        long viewKey() {
+            long key = position.getDeckSize();
+            for (int i = 0; i < position.getParadeLength(); i++) {
+                key = Hashing.mix(key * 31 + position.getParadeCard(i));
+            }
+            // Summed so the order of the hand does not matter
+            long hand = 0;
+            for (int i = 0; i < position.getHandSize(self); i++) {
+                hand += Hashing.mix(~position.getHandCard(self, i));
+            }
+            key ^= hand;
+            for (int seat = 0; seat < seats; seat++) {
+                for (int color = 0; color < position.getColorCount(); color++) {
+                    key = Hashing.mix(key * 31
+                            + ((long) position.getOpenCount(seat, color) << 32 | position.getOpenSum(seat, color)));
+                }
+            }
+            return key;
+        }
+
+        /**
+         * @return The card as it is named in the last canonicalized
+         * position, colors renamed.
+         */
+        private int canonicalCode(int code) {
+            return canonicalizer.toCanonical(position.colorOf(code)) * position.getValueCount()
+                    + position.valueOf(code) - rules.getMinCardValue();
+        }
+
+        /**
+         * @return The index of the player's card whose canonical code is
+         * given, or -1 if it has none.
+         */
+        private int handIndexOfCanonical(int canonicalCode) {
+            for (int i = 0; canonicalCode >= 0 && i < position.getHandSize(self); i++) {
+                if (canonicalCode(position.getHandCard(self, i)) == canonicalCode) {
+                    return i;
+                }
+            }
+            return -1;
+        }
+
+        /**
+         * @return The index of a card in the player's hand, or -1 if it has
+         * none.
+         */
+        int handIndexOf(int code) {
+            for (int i = 0; i < position.getHandSize(self); i++) {
+                if (position.getHandCard(self, i) == code) {
+                    return i;
+                }
+            }
+            return -1;
+        }
+
+        private boolean anyoneHasAllColors() {
+            for (int seat = 0; seat < seats; seat++) {
+                if (position.hasAllColors(seat)) {
+                    return true;
+                }
+            }
+            return false;
+        }
+    }
+}
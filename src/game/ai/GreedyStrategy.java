@@ -0,0 +1,163 @@
+package game.ai;
+
+import game.core.*;
+import game.utils.Constants;
+import java.util.*;
+
+/**
+ * Plays the card that looks best right now, without looking ahead. The
+ * difficulty sets what counts as best:
+ * <ul>
+ * <li>{@link Difficulty#EASY} takes the fewest points from the parade.</li>
+ * <li>{@link Difficulty#MEDIUM} also counts the majorities the card would
+ * win or lose it, since cards of a color it holds the majority of cost one
+ * point each at the end. Majorities still change hands before then, so they
+ * count in part, by {@link Constants#GREEDY_MAJORITY_WEIGHT}.</li>
+ * <li>{@link Difficulty#HARD} also counts what taking a color costs the
+ * player who holds its majority, since that player's cards would no longer
+ * be flipped, and plays its high cards first.</li>
+ * </ul>
+ * A decision reads the parade once for the whole hand with a
+ * {@link MovePreview} and the players' open cards once per color; each card
+ * is then weighed in a few steps per color, so a decision takes microseconds
+ * and allocates nothing.
+ */
+public class GreedyStrategy implements ComputerStrategy {
+
+    // ============================ Instance Variables ============================
+    private final Difficulty difficulty;
+    private final Random random;
+    private final double majorityWeight;
+    private final double denialWeight;
+    private final double highCardBonus;
+    private final ThreadLocal<ColorStandings> standings = ThreadLocal.withInitial(ColorStandings::new);
+
+    // ============================ Constructors ============================
+    /**
+     * @param difficulty {@link Difficulty#EASY}, {@link Difficulty#MEDIUM} or
+     *                   {@link Difficulty#HARD}.
+     */
+    public GreedyStrategy(Difficulty difficulty) {
+        this(difficulty, Constants.RANDOM);
+    }
+
+    /**
+     * @param difficulty The level to play at.
+     * @param random     Breaks ties between equally good cards.
+     */
+    public GreedyStrategy(Difficulty difficulty, Random random) {
+        this(difficulty, Constants.GREEDY_MAJORITY_WEIGHT, Constants.GREEDY_DENIAL_WEIGHT,
+                Constants.GREEDY_HIGH_CARD_BONUS, random);
+    }
+
+    /**
+     * Plays a level with other weights than the tuned ones, for
+     * {@link WeightSweep}. Levels only use the weights of the terms they
+     * count.
+     *
+     * @param difficulty     The level to play at.
+     * @param majorityWeight The share of a majority swing counted.
+     * @param denialWeight   The share of a leader's lost flip counted.
+     * @param highCardBonus  The gain per value point of the card played.
+     * @param random         Breaks ties between equally good cards.
+     */
+    public GreedyStrategy(Difficulty difficulty, double majorityWeight, double denialWeight,
+                          double highCardBonus, Random random) {
+        if (difficulty == Difficulty.RANDOM || difficulty.searches()) {
+            throw new IllegalArgumentException(difficulty.getDisplayName() + " is not a greedy level.");
+        }
+        this.difficulty = difficulty;
+        this.random = random;
+        this.majorityWeight = majorityWeight;
+        this.denialWeight = denialWeight;
+        this.highCardBonus = highCardBonus;
+    }
+
+    // ============================ Decisions ============================
+    @Override
+    public int chooseCard(Player self, Parade parade, List<Player> players, Deck deck) {
+        ColorStandings table = standings.get();
+        table.read(self, parade, players);
+        MovePreview preview = table.getPreview();
+
+        int score = table.score();
+        int best = 0;
+        double bestCost = Double.MAX_VALUE;
+        int ties = 0;
+        for (int i = 0; i < preview.getHandSize(); i++) {
+            double cost = preview.getTakenValue(i);
+            if (difficulty != Difficulty.EASY) {
+                // Majorities still change hands before the end, so they only count in part
+                cost += majorityWeight * (preview.getScoreAfter(i) - score - cost);
+            }
+            if (difficulty == Difficulty.HARD) {
+                cost -= highCardBonus * preview.getCard(i).getValue();
+                for (int color = 0; color < table.getColorCount(); color++) {
+                    if (preview.getTakenCount(i, color) > 0) {
+                        cost -= denialWeight * table.denial(color, preview.getOpenCountAfter(i, color));
+                    }
+                }
+            }
+            if (cost < bestCost) {
+                best = i;
+                bestCost = cost;
+                ties = 1;
+            } else if (cost == bestCost && random.nextInt(++ties) == 0) {
+                best = i;
+            }
+        }
+        return best;
+    }
+
+    @Override
+    public int chooseDiscard(Player self, List<Player> players, Deck deck) {
+        ColorStandings table = standings.get();
+        table.read(self, players);
+        List<Card> hand = self.getClosedCards();
+
+        int best = 0;
+        double bestCost = Double.MAX_VALUE;
+        int ties = 0;
+        for (int i = 0; i < hand.size(); i++) {
+            Card card = hand.get(i);
+            int color = card.getColorIndex();
+            double cost;
+            if (difficulty == Difficulty.EASY) {
+                cost = card.getValue();
+            } else {
+                int count = table.getOpenCount(color);
+                int value = table.getOpenValue(color);
+                cost = table.colorScore(color, count + 1, value + card.getValue())
+                        - table.colorScore(color, count, value);
+                if (difficulty == Difficulty.HARD) {
+                    cost -= denialWeight * table.denial(color, count + 1);
+                }
+            }
+            if (cost < bestCost) {
+                best = i;
+                bestCost = cost;
+                ties = 1;
+            } else if (cost == bestCost && random.nextInt(++ties) == 0) {
+                best = i;
+            }
+        }
+        return best;
+    }
+
+    // ============================ Getters ============================
+    public Difficulty getDifficulty() {
+        return difficulty;
+    }
+
+    public double getMajorityWeight() {
+        return majorityWeight;
+    }
+
+    public double getDenialWeight() {
+        return denialWeight;
+    }
+
+    public double getHighCardBonus() {
+        return highCardBonus;
+    }
+}
@@ -0,0 +1,210 @@
+package game.ai;
+
+import game.core.*;
+import java.io.*;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.*;
+import java.util.*;
+
+/**
+ * Plays the card with the highest weighted sum of its {@link PolicyFeatures}.
+ * The weights are distilled from a search bot's self-play by
+ * {@link PolicyDistiller}, so the strategy plays much like the search bot
+ * without searching: a decision is one pass over the parade and a dozen
+ * multiplications per card and allocates nothing. It falls short of the
+ * sub-microsecond target it was written for: describing every card of the
+ * hand takes about 3 µs a decision with two players and 6 µs with four.
+ *
+ * The built-in weights were distilled from 1500 games of 5 ms searches at
+ * every table size. {@link Difficulty#DISTILLED} seats play
+ * {@link #getDefault()}, which is the built-in policy unless a file written
+ * by the distiller was configured with {@link #configureDefault(Path)}.
+ * A linear policy over these features agrees with the search on about two
+ * plays in three, which is about as often as the Hard greedy bot does, and
+ * plays about as well as Medium.
+ */
+public class LinearStrategy implements ComputerStrategy {
+
+    /**
+     * Weights distilled from {@link ExpectimaxStrategy} self-play, in the
+     * order of {@link PolicyFeatures#CARD_NAMES} and
+     * {@link PolicyFeatures#DISCARD_NAMES}.
+     */
+    static final double[] DISTILLED_CARD_WEIGHTS = {
+            -0.1499, -0.0628, -0.9902, 0.1614, 0.4789,
+            -0.0214, -0.0151, -0.6261, -0.1051, -0.0482,
+            -1.0589, 0.5355, 0.0365
+    };
+    static final double[] DISTILLED_DISCARD_WEIGHTS = {
+            -0.2159, -0.1414, 0.1826, 0.2055, -0.0369
+    };
+
+    private static Path defaultFile;
+    private static LinearStrategy defaultPolicy;
+
+    // ============================ Instance Variables ============================
+    private final double[] cardWeights;
+    private final double[] discardWeights;
+    private final ThreadLocal<PolicyFeatures> features = ThreadLocal.withInitial(PolicyFeatures::new);
+
+    // ============================ Constructors ============================
+    public LinearStrategy() {
+        this(DISTILLED_CARD_WEIGHTS, DISTILLED_DISCARD_WEIGHTS);
+    }
+
+    /**
+     * @param cardWeights    The weight of each card feature.
+     * @param discardWeights The weight of each discard feature.
+     */
+    public LinearStrategy(double[] cardWeights, double[] discardWeights) {
+        if (cardWeights.length != PolicyFeatures.CARD_FEATURES
+                || discardWeights.length != PolicyFeatures.DISCARD_FEATURES) {
+            throw new IllegalArgumentException("Expected " + PolicyFeatures.CARD_FEATURES + " card and "
+                    + PolicyFeatures.DISCARD_FEATURES + " discard weights.");
+        }
+        this.cardWeights = cardWeights.clone();
+        this.discardWeights = discardWeights.clone();
+    }
+
+    /**
+     * Has Distilled bots play a policy file. Bots play the built-in weights
+     * unless a file is configured.
+     *
+     * @param file The policy file.
+     * @throws IllegalStateException if the default policy is already in use.
+     */
+    public static synchronized void configureDefault(Path file) {
+        if (defaultPolicy != null) {
+            throw new IllegalStateException("The policy is already in use.");
+        }
+        defaultFile = file;
+    }
+
+    /**
+     * Reads the configured policy once for the whole process. A strategy
+     * keeps its buffers per thread, so every seat can share it.
+     *
+     * @return The policy of the file, or the built-in weights if none was
+     * configured or it cannot be read.
+     */
+    public static synchronized LinearStrategy getDefault() {
+        if (defaultPolicy == null) {
+            if (defaultFile != null) {
+                try {
+                    defaultPolicy = load(defaultFile);
+                } catch (IOException e) {
+                    System.err.println("⚠️ Could not read the policy, playing the built-in one: " + e.getMessage());
+                }
+            }
+            if (defaultPolicy == null) {
+                defaultPolicy = new LinearStrategy();
+            }
+        }
+        return defaultPolicy;
+    }
+
+    // ============================ Decisions ============================
+    @Override
+    public int chooseCard(Player self, Parade parade, List<Player> players, Deck deck) {
+        PolicyFeatures description = features.get();
+        int cards = description.describePlays(self, parade, players, deck);
+        return best(description, cards, cardWeights);
+    }
+
+    @Override
+    public int chooseDiscard(Player self, List<Player> players, Deck deck) {
+        PolicyFeatures description = features.get();
+        int cards = description.describeDiscards(self, players);
+        return best(description, cards, discardWeights);
+    }
+
+    /**
+     * @return The index of the card with the highest weighted sum, the first
+     * of equals.
+     */
+    private static int best(PolicyFeatures description, int cards, double[] weights) {
+        int best = 0;
+        double bestValue = Double.NEGATIVE_INFINITY;
+        for (int i = 0; i < cards; i++) {
+            double value = dot(description.get(i), weights);
+            if (value > bestValue) {
+                best = i;
+                bestValue = value;
+            }
+        }
+        return best;
+    }
+
+    static double dot(double[] features, double[] weights) {
+        double sum = 0;
+        for (int k = 0; k < weights.length; k++) {
+            sum += features[k] * weights[k];
+        }
+        return sum;
+    }
+
+    // ============================ Policy Files ============================
+    /**
+     * Reads a policy file: one {@code card name weight} or
+     * {@code discard name weight} line per feature, # starting a comment.
+     * Features left out weigh nothing.
+     *
+     * @param file The policy file.
+     * @return A strategy playing the policy.
+     * @throws IOException if the file cannot be read or names an unknown
+     *                     feature.
+     */
+    public static LinearStrategy load(Path file) throws IOException {
+        double[] card = new double[PolicyFeatures.CARD_FEATURES];
+        double[] discard = new double[PolicyFeatures.DISCARD_FEATURES];
+        for (String line : Files.readAllLines(file, StandardCharsets.UTF_8)) {
+            line = line.trim();
+            if (line.isEmpty() || line.startsWith("#")) {
+                continue;
+            }
+            String[] parts = line.split("\\s+");
+            if (parts.length != 3) {
+                throw new IOException("Bad policy line: " + line);
+            }
+            boolean isCard = parts[0].equals("card");
+            String[] names = isCard ? PolicyFeatures.CARD_NAMES : PolicyFeatures.DISCARD_NAMES;
+            int index = Arrays.asList(names).indexOf(parts[1]);
+            if (index < 0 || !(isCard || parts[0].equals("discard"))) {
+                throw new IOException("Unknown policy feature: " + parts[0] + " " + parts[1]);
+            }
+            try {
+                (isCard ? card : discard)[index] = Double.parseDouble(parts[2]);
+            } catch (NumberFormatException e) {
+                throw new IOException("Bad policy weight: " + line);
+            }
+        }
+        return new LinearStrategy(card, discard);
+    }
+
+    /**
+     * Writes the weights as a policy file.
+     *
+     * @param file The file to write.
+     * @throws IOException if the file cannot be written.
+     */
+    public void save(Path file) throws IOException {
+        try (PrintWriter out = new PrintWriter(Files.newBufferedWriter(file, StandardCharsets.UTF_8))) {
+            out.println("# Parade policy: kind feature weight");
+            for (int k = 0; k < cardWeights.length; k++) {
+                out.println("card " + PolicyFeatures.CARD_NAMES[k] + " " + cardWeights[k]);
+            }
+            for (int k = 0; k < discardWeights.length; k++) {
+                out.println("discard " + PolicyFeatures.DISCARD_NAMES[k] + " " + discardWeights[k]);
+            }
+        }
+    }
+
+    // ============================ Getters ============================
+    public double[] getCardWeights() {
+        return cardWeights.clone();
+    }
+
+    public double[] getDiscardWeights() {
+        return discardWeights.clone();
+    }
+}
@@ -0,0 +1,296 @@
+package game.ai;
+
+import game.core.*;
+import game.search.SearchPosition;
+import game.utils.Constants;
+import java.util.*;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicIntegerArray;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Hints for a human's turn: for every card in the hand, the cards it would
+ * take from the parade, the points they are worth and the rank the player
+ * can expect to finish with after playing it.
+ *
+ * The expected rank comes from rollouts on a worker thread. Each rollout
+ * deals the unseen cards at random to the other hands and the deck, plays
+ * the game out with every seat playing the card that takes least, makes the
+ * final discards that suit each seat and ranks the scores. The analysis
+ * starts with the turn, so by the time the player asks for a hint there is
+ * usually plenty to show.
+ */
+public class MoveHints {
+
+    private static final ExecutorService WORKER = createWorker();
+
+    // ============================ Instance Variables ============================
+    /**
+     * What each card takes, worked out once when the turn begins.
+     */
+    private final MovePreview preview;
+    private final int handSize;
+
+    /**
+     * The player's view, copied on the game thread and only touched by the
+     * worker afterwards.
+     */
+    private final SearchPosition position;
+    private final int self;
+    private final int seats;
+    private final boolean lastRound;
+    private final int lastRoundLeft;
+    private final int[] otherHandSizes;
+
+    /**
+     * Per card, the rollouts so far and the sum of the ranks they ended
+     * with. Written by the worker only.
+     */
+    private final AtomicIntegerArray rollouts;
+    private final AtomicLongArray rankSums;
+    private volatile boolean stopped;
+
+    // ============================ Constructor ============================
+    /**
+     * Copies what the player can see of the table. Called on the game thread
+     * at the start of the player's turn.
+     *
+     * @param self    The player to give hints to.
+     * @param parade  The current parade.
+     * @param players All players at the table, in turn order.
+     * @param deck    The deck, used for its size only.
+     */
+    public MoveHints(Player self, Parade parade, List<Player> players, Deck deck) {
+        this.preview = new MovePreview(self.getRules());
+        preview.preview(parade, self, players);
+        this.handSize = preview.getHandSize();
+
+        this.seats = players.size();
+        this.self = players.indexOf(self);
+        this.position = new SearchPosition(self.getRules(), seats);
+        position.load(this.self, parade, players, deck);
+        this.otherHandSizes = new int[seats];
+        boolean anyoneHasAllColors = false;
+        for (int seat = 0; seat < seats; seat++) {
+            otherHandSizes[seat] = seat == this.self ? 0 : players.get(seat).getClosedCards().size();
+            anyoneHasAllColors |= position.hasAllColors(seat);
+        }
+        // After the end was triggered the table is in turn order from the
+        // first seat of the last round, so every seat after this one is left
+        this.lastRound = position.getDeckSize() == 0 || anyoneHasAllColors;
+        this.lastRoundLeft = seats - this.self;
+        this.rollouts = new AtomicIntegerArray(handSize);
+        this.rankSums = new AtomicLongArray(handSize);
+    }
+
+    // ============================ Analysis ============================
+    /**
+     * Starts the rollouts on the worker thread.
+     */
+    public void start() {
+        WORKER.execute(this::analyze);
+    }
+
+    /**
+     * Stops the rollouts, for example once the card is chosen.
+     */
+    public void stop() {
+        stopped = true;
+    }
+
+    /**
+     * Waits until every card has the given number of rollouts or the time
+     * is up, whichever comes first.
+     *
+     * @param minRollouts The rollouts per card to wait for.
+     * @param timeoutMs   The longest wait in milliseconds.
+     */
+    public void await(int minRollouts, long timeoutMs) {
+        long deadline = System.nanoTime() + timeoutMs * 1_000_000L;
+        while (getMinRollouts() < minRollouts && System.nanoTime() < deadline && !stopped) {
+            LockSupport.parkNanos(1_000_000L);
+        }
+    }
+
+    /**
+     * Plays rollouts for every card in turn until stopped or until every
+     * card has {@link Constants#HINT_MAX_ROLLOUTS}.
+     */
+    private void analyze() {
+        Random random = ThreadLocalRandom.current();
+        int[] rankCounts = new int[handSize];
+        long[] sums = new long[handSize];
+        for (int round = 0; round < Constants.HINT_MAX_ROLLOUTS && !stopped; round++) {
+            for (int i = 0; i < handSize && !stopped; i++) {
+                sums[i] += rollout(i, random);
+                rankCounts[i]++;
+                rankSums.set(i, sums[i]);
+                rollouts.set(i, rankCounts[i]);
+            }
+        }
+    }
+
+    /**
+     * Plays the game out once after the player plays the card at a hand
+     * index, then restores the position.
+     *
+     * @return The player's rank at the end, 1 for the lowest score.
+     */
+    private int rollout(int handIndex, Random random) {
+        int mark = position.changes();
+        for (int seat = 0; seat < seats; seat++) {
+            for (int i = 0; i < otherHandSizes[seat]; i++) {
+                position.reveal(seat, randomUnseen(random));
+            }
+        }
+
+        boolean ending = lastRound;
+        int left = lastRoundLeft;
+        int seat = self;
+        position.playFromHand(self, handIndex);
+        int finalMoves = position.getRules().getFinalPlayMoves() * seats;
+        while (true) {
+            if (ending) {
+                left--;
+            } else {
+                if (position.getDeckSize() > 0) {
+                    position.drawFromDeck();
+                    position.reveal(seat, randomUnseen(random));
+                }
+                if (position.getDeckSize() == 0 || anyoneHasAllColors()) {
+                    ending = true;
+                    left = seats;
+                }
+            }
+            // Very long games are scored where the undo stack runs out
+            if ((ending && left == 0) || position.changes() + 3 + finalMoves > SearchPosition.MAX_CHANGES) {
+                break;
+            }
+            seat = (seat + 1) % seats;
+            position.playFromHand(seat, cheapestCard(seat, random));
+        }
+        finalDiscards();
+
+        int score = position.score(self);
+        int rank = 1;
+        for (int other = 0; other < seats; other++) {
+            if (position.score(other) < score) {
+                rank++;
+            }
+        }
+        while (position.changes() > mark) {
+            position.undo();
+        }
+        return rank;
+    }
+
+    /**
+     * Every seat moves the cards that suit it best to its open cards, one
+     * at a time.
+     */
+    private void finalDiscards() {
+        for (int seat = 0; seat < seats; seat++) {
+            int discards = Math.min(position.getRules().getFinalPlayMoves(), position.getHandSize(seat));
+            for (int d = 0; d < discards; d++) {
+                int bestIndex = 0;
+                int bestLead = Integer.MIN_VALUE;
+                for (int i = 0; i < position.getHandSize(seat); i++) {
+                    position.discard(seat, i);
+                    int lead = position.lead(seat);
+                    position.undo();
+                    if (lead > bestLead) {
+                        bestLead = lead;
+                        bestIndex = i;
+                    }
+                }
+                position.discard(seat, bestIndex);
+            }
+        }
+    }
+
+    // ============================ Helpers ============================
+    /**
+     * @return The hand index of the card that takes least, ties broken at
+     * random.
+     */
+    private int cheapestCard(int seat, Random random) {
+        int best = 0;
+        int bestCost = Integer.MAX_VALUE;
+        int ties = 0;
+        for (int i = 0; i < position.getHandSize(seat); i++) {
+            int cost = position.takeCost(position.getHandCard(seat, i));
+            if (cost < bestCost) {
+                best = i;
+                bestCost = cost;
+                ties = 1;
+            } else if (cost == bestCost && random.nextInt(++ties) == 0) {
+                best = i;
+            }
+        }
+        return best;
+    }
+
+    /**
+     * @return An unseen card, each copy equally likely.
+     */
+    private int randomUnseen(Random random) {
+        int pick = random.nextInt(position.getUnseenTotal());
+        for (int code = 0; ; code++) {
+            pick -= position.getUnseen(code);
+            if (pick < 0) {
+                return code;
+            }
+        }
+    }
+
+    private boolean anyoneHasAllColors() {
+        for (int seat = 0; seat < seats; seat++) {
+            if (position.hasAllColors(seat)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static ExecutorService createWorker() {
+        return Executors.newSingleThreadExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "hint-worker");
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    // ============================ Getters ============================
+    /**
+     * @return The cards each hand card takes and the standings after it,
+     * as of the start of the turn.
+     */
+    public MovePreview getPreview() {
+        return preview;
+    }
+
+    public int getRollouts(int handIndex) {
+        return rollouts.get(handIndex);
+    }
+
+    /**
+     * @return The fewest rollouts of any card.
+     */
+    public int getMinRollouts() {
+        int min = Integer.MAX_VALUE;
+        for (int i = 0; i < handSize; i++) {
+            min = Math.min(min, rollouts.get(i));
+        }
+        return min;
+    }
+
+    /**
+     * @return The average rank the rollouts of the card ended with, or NaN
+     * before the first rollout.
+     */
+    public double getExpectedRank(int handIndex) {
+        int count = rollouts.get(handIndex);
+        return count == 0 ? Double.NaN : (double) rankSums.get(handIndex) / count;
+    }
+}
@@ -0,0 +1,276 @@
+package game.ai;
+
+import game.core.*;
+import game.gameplay.GameStateMachine;
+import game.utils.Constants;
+import java.nio.file.*;
+import java.util.*;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Distils a search bot into a {@link LinearStrategy}. Worker threads play
+ * games in which every seat is an {@link ExpectimaxStrategy} and record, for
+ * each decision, the {@link PolicyFeatures} of every card in the hand and
+ * the card the search chose. A conditional logit model is then fitted to the
+ * choices: the chance of choosing a card grows with the weighted sum of its
+ * features, and the weights are found by stochastic gradient descent on the
+ * log-likelihood of the recorded choices. One decision in ten is held out to
+ * report how often the linear policy agrees with the search.
+ *
+ * Usage: {@code java -cp out game.ai.PolicyDistiller [games] [moveTimeMs] [players] [rules] [file] [threads]}
+ */
+public class PolicyDistiller {
+
+    // ============================ Samples ============================
+    /**
+     * One recorded decision: the features of every card, one after another,
+     * and the card chosen.
+     */
+    private static final class Decision {
+        private final double[] features;
+        private final int cards;
+        private final int chosen;
+
+        Decision(double[] features, int cards, int chosen) {
+            this.features = features;
+            this.cards = cards;
+            this.chosen = chosen;
+        }
+    }
+
+    // ============================ Instance Variables ============================
+    private final RuleSet rules;
+    private final ExpectimaxStrategy teacher;
+    private final int players;
+    private final List<Decision> plays = Collections.synchronizedList(new ArrayList<>());
+    private final List<Decision> discards = Collections.synchronizedList(new ArrayList<>());
+
+    // ============================ Constructor ============================
+    /**
+     * @param rules      The rules to play by.
+     * @param moveTimeMs The search bot's think time per decision.
+     * @param players    The table size, or 0 for every size the rules allow.
+     */
+    public PolicyDistiller(RuleSet rules, int moveTimeMs, int players) {
+        this.rules = rules;
+        this.teacher = new ExpectimaxStrategy(moveTimeMs);
+        this.players = players;
+    }
+
+    public static void main(String[] args) throws Exception {
+        int games = args.length > 0 ? Integer.parseInt(args[0]) : Constants.DISTILL_GAMES;
+        int moveTimeMs = args.length > 1 ? Integer.parseInt(args[1]) : Constants.EXPECTIMAX_MOVE_TIME_MS;
+        int players = args.length > 2 ? Integer.parseInt(args[2]) : 0;
+        RuleSet rules = args.length > 3 ? RuleSet.preset(args[3]) : RuleSet.BASE;
+        Path file = Paths.get(args.length > 4 ? args[4] : Constants.POLICY_FILE);
+        int threads = args.length > 5 ? Integer.parseInt(args[5]) : Runtime.getRuntime().availableProcessors();
+
+        long start = System.nanoTime();
+        PolicyDistiller distiller = new PolicyDistiller(rules, moveTimeMs, players);
+        distiller.selfPlay(games, threads);
+        double playSeconds = (System.nanoTime() - start) / 1e9;
+        System.out.printf("🎲 %d games, %d plays and %d discards recorded in %.0f s%n",
+                games, distiller.plays.size(), distiller.discards.size(), playSeconds);
+
+        Random random = new Random(Constants.RANDOM.nextLong());
+        double[] cardWeights = distiller.fit(distiller.plays, PolicyFeatures.CARD_FEATURES, random);
+        double[] discardWeights = distiller.fit(distiller.discards, PolicyFeatures.DISCARD_FEATURES, random);
+        LinearStrategy policy = new LinearStrategy(cardWeights, discardWeights);
+        policy.save(file);
+        System.out.println("📝 Policy written to " + file);
+    }
+
+    // ============================ Self-Play ============================
+    /**
+     * Plays games on a pool of threads and records every decision.
+     *
+     * @param games   The number of games to play.
+     * @param threads The number of worker threads.
+     */
+    public void selfPlay(int games, int threads) throws InterruptedException, ExecutionException {
+        AtomicInteger next = new AtomicInteger();
+        ExecutorService pool = Executors.newFixedThreadPool(threads);
+        try {
+            List<Future<?>> futures = new ArrayList<>();
+            for (int t = 0; t < threads; t++) {
+                long seed = Constants.RANDOM.nextLong();
+                futures.add(pool.submit(() -> {
+                    Random random = new Random(seed);
+                    while (next.getAndIncrement() < games) {
+                        play(random);
+                    }
+                }));
+            }
+            for (Future<?> future : futures) {
+                future.get();
+            }
+        } finally {
+            pool.shutdown();
+        }
+    }
+
+    /**
+     * Plays one game with the search bot at every seat.
+     */
+    private void play(Random random) {
+        int seats = players > 0
+                ? players
+                : rules.getMinPlayers() + random.nextInt(rules.getMaxPlayers() - rules.getMinPlayers() + 1);
+        PolicyFeatures description = new PolicyFeatures();
+        ComputerStrategy recorder = new ComputerStrategy() {
+            @Override
+            public int chooseCard(Player self, Parade parade, List<Player> table, Deck deck) {
+                int cards = description.describePlays(self, parade, table, deck);
+                double[] features = copy(description, cards, PolicyFeatures.CARD_FEATURES);
+                int chosen = teacher.chooseCard(self, parade, table, deck);
+                plays.add(new Decision(features, cards, chosen));
+                return chosen;
+            }
+
+            @Override
+            public int chooseDiscard(Player self, List<Player> table, Deck deck) {
+                int cards = description.describeDiscards(self, table);
+                double[] features = copy(description, cards, PolicyFeatures.DISCARD_FEATURES);
+                int chosen = teacher.chooseDiscard(self, table, deck);
+                discards.add(new Decision(features, cards, chosen));
+                return chosen;
+            }
+        };
+
+        List<Player> table = new ArrayList<>(seats);
+        for (int p = 0; p < seats; p++) {
+            table.add(new Computer("Bot " + (p + 1), recorder));
+        }
+        GameStateMachine game = new GameStateMachine(table, random, rules);
+        while (game.step()) {
+            // Every seat is a computer, so the game runs to the end
+        }
+    }
+
+    private static double[] copy(PolicyFeatures description, int cards, int length) {
+        double[] features = new double[cards * length];
+        for (int i = 0; i < cards; i++) {
+            System.arraycopy(description.get(i), 0, features, i * length, length);
+        }
+        return features;
+    }
+
+    // ============================ Fitting ============================
+    /**
+     * Fits the weights of a conditional logit model to the decisions and
+     * prints how often the fitted policy agrees with the held-out ones.
+     *
+     * @param decisions The recorded decisions.
+     * @param length    The number of features per card.
+     * @param random    Shuffles and splits the decisions.
+     * @return The weights, to apply to features as they are.
+     */
+    double[] fit(List<Decision> decisions, int length, Random random) {
+        List<Decision> shuffled = new ArrayList<>(decisions);
+        Collections.shuffle(shuffled, random);
+        int held = shuffled.size() / 10;
+        List<Decision> test = shuffled.subList(0, held);
+        List<Decision> train = shuffled.subList(held, shuffled.size());
+
+        // Features are scaled to unit spread while fitting, so one step size suits them all
+        double[] scale = new double[length];
+        long count = 0;
+        double[] sums = new double[length];
+        double[] squares = new double[length];
+        for (Decision decision : train) {
+            for (int i = 0; i < decision.cards; i++) {
+                for (int k = 0; k < length; k++) {
+                    double x = decision.features[i * length + k];
+                    sums[k] += x;
+                    squares[k] += x * x;
+                }
+                count++;
+            }
+        }
+        for (int k = 0; k < length; k++) {
+            double mean = sums[k] / Math.max(count, 1);
+            double variance = squares[k] / Math.max(count, 1) - mean * mean;
+            scale[k] = variance > 1e-12 ? 1 / Math.sqrt(variance) : 0;
+        }
+
+        double[] weights = new double[length];
+        double[] logits = new double[rules.getHandSize() + 1];
+        for (int epoch = 0; epoch < Constants.DISTILL_EPOCHS; epoch++) {
+            Collections.shuffle(train, random);
+            double rate = Constants.DISTILL_LEARNING_RATE / (1 + epoch);
+            for (Decision decision : train) {
+                step(decision, length, scale, weights, logits, rate);
+            }
+        }
+
+        double[] raw = new double[length];
+        for (int k = 0; k < length; k++) {
+            raw[k] = weights[k] * scale[k];
+        }
+        System.out.printf("🎯 %s: %.1f%% of %d held-out choices agree with the search%n",
+                length == PolicyFeatures.CARD_FEATURES ? "Plays" : "Discards",
+                100 * agreement(test, length, raw), test.size());
+        return raw;
+    }
+
+    /**
+     * Takes one gradient step on the log-likelihood of a decision, with a
+     * little weight decay.
+     */
+    private static void step(Decision decision, int length, double[] scale, double[] weights,
+                             double[] logits, double rate) {
+        int cards = decision.cards;
+        if (cards < 2) {
+            return;
+        }
+        double max = Double.NEGATIVE_INFINITY;
+        for (int i = 0; i < cards; i++) {
+            double logit = 0;
+            for (int k = 0; k < length; k++) {
+                logit += decision.features[i * length + k] * scale[k] * weights[k];
+            }
+            logits[i] = logit;
+            max = Math.max(max, logit);
+        }
+        double total = 0;
+        for (int i = 0; i < cards; i++) {
+            logits[i] = Math.exp(logits[i] - max);
+            total += logits[i];
+        }
+        for (int k = 0; k < length; k++) {
+            double expected = 0;
+            for (int i = 0; i < cards; i++) {
+                expected += logits[i] / total * decision.features[i * length + k];
+            }
+            double gradient = (decision.features[decision.chosen * length + k] - expected) * scale[k];
+            weights[k] += rate * (gradient - Constants.DISTILL_WEIGHT_DECAY * weights[k]);
+        }
+    }
+
+    /**
+     * @return The share of decisions where the policy picks the card the
+     * search chose, or one that looks the same to the policy.
+     */
+    private static double agreement(List<Decision> decisions, int length, double[] weights) {
+        int agree = 0;
+        double[] card = new double[length];
+        for (Decision decision : decisions) {
+            int best = 0;
+            double bestValue = Double.NEGATIVE_INFINITY;
+            for (int i = 0; i < decision.cards; i++) {
+                System.arraycopy(decision.features, i * length, card, 0, length);
+                double value = LinearStrategy.dot(card, weights);
+                if (value > bestValue) {
+                    best = i;
+                    bestValue = value;
+                }
+            }
+            if (Arrays.equals(decision.features, best * length, (best + 1) * length,
+                    decision.features, decision.chosen * length, (decision.chosen + 1) * length)) {
+                agree++;
+            }
+        }
+        return decisions.isEmpty() ? 0 : (double) agree / decisions.size();
+    }
+}
@@ -0,0 +1,157 @@
+package game.ai;
+
+import game.core.*;
+import java.util.List;
+
+/**
+ * Describes every card a player could choose by a few numbers, for
+ * {@link LinearStrategy} and for {@link PolicyDistiller}, which learns how
+ * much each number is worth from a search bot's choices.
+ *
+ * Played cards are described by what they take from the parade, how that
+ * changes the player's score and majorities, and how far the game has gone.
+ * Cards moved to the open cards at the end are described by how they change
+ * the player's standing in their color. Everything is read from one
+ * {@link MovePreview} pass and the {@link ColorStandings}, into buffers kept
+ * between calls, so describing a hand allocates nothing.
+ *
+ * Not thread-safe; strategies keep one per thread.
+ */
+final class PolicyFeatures {
+
+    // ============================ Card Features ============================
+    static final String[] CARD_NAMES = {
+            "takenValue", "takenCount", "scoreDelta", "lateTakenValue", "lateScoreDelta",
+            "cardValue", "lateCardValue", "majorityDelta", "majorityMargin", "takenOwnColor",
+            "takenNewColors", "denial", "paradeAfter"
+    };
+    static final int CARD_FEATURES = CARD_NAMES.length;
+
+    // ============================ Discard Features ============================
+    static final String[] DISCARD_NAMES = {
+            "scoreDelta", "cardValue", "majorityMargin", "denial", "newColor"
+    };
+    static final int DISCARD_FEATURES = DISCARD_NAMES.length;
+
+    /**
+     * The furthest a color's majority margin counts either way.
+     */
+    private static final int MAX_MARGIN = 3;
+
+    // ============================ Instance Variables ============================
+    private final ColorStandings table = new ColorStandings();
+    private double[][] features = new double[0][];
+
+    // ============================ Describing ============================
+    /**
+     * Describes every card in the player's hand as a card to play.
+     *
+     * @param self    The player deciding.
+     * @param parade  The current parade.
+     * @param players All players at the table.
+     * @param deck    The deck, used for its size only.
+     * @return The number of cards described.
+     */
+    int describePlays(Player self, Parade parade, List<Player> players, Deck deck) {
+        table.read(self, parade, players);
+        MovePreview preview = table.getPreview();
+        int size = preview.getHandSize();
+        ensureCapacity(size);
+
+        RuleSet rules = table.getRules();
+        // 0 at the deal, 1 once the deck is empty
+        double late = 1 - (double) deck.size() / rules.getDeckSize();
+        int score = table.score();
+        int majorities = 0;
+        for (int color = 0; color < table.getColorCount(); color++) {
+            if (table.holdsMajority(color, table.getOpenCount(color))) {
+                majorities++;
+            }
+        }
+
+        for (int i = 0; i < size; i++) {
+            double[] f = features[i];
+            int takenValue = preview.getTakenValue(i);
+            int scoreDelta = preview.getScoreAfter(i) - score;
+            int cardValue = preview.getCard(i).getValue();
+            int margin = 0;
+            int newColors = 0;
+            double denial = 0;
+            for (int color = 0; color < table.getColorCount(); color++) {
+                int taken = preview.getTakenCount(i, color);
+                if (taken == 0) {
+                    continue;
+                }
+                int after = table.getOpenCount(color) + taken;
+                margin += clampMargin(after - table.getBestOther(color));
+                if (table.getOpenCount(color) == 0) {
+                    newColors++;
+                }
+                denial += table.denial(color, after);
+            }
+
+            f[0] = takenValue;
+            f[1] = preview.getTakenCount(i);
+            f[2] = scoreDelta;
+            f[3] = late * takenValue;
+            f[4] = late * scoreDelta;
+            f[5] = cardValue;
+            f[6] = late * cardValue;
+            f[7] = preview.getMajoritiesAfter(i) - majorities;
+            f[8] = margin;
+            f[9] = preview.getTakenCount(i, preview.getCard(i).getColorIndex());
+            f[10] = newColors;
+            f[11] = denial;
+            f[12] = parade.size() + 1 - preview.getTakenCount(i);
+        }
+        return size;
+    }
+
+    /**
+     * Describes every card in the player's hand as a card to move to the
+     * open cards.
+     *
+     * @param self    The player deciding.
+     * @param players All players at the table.
+     * @return The number of cards described.
+     */
+    int describeDiscards(Player self, List<Player> players) {
+        table.read(self, players);
+        List<Card> hand = self.getClosedCards();
+        int size = hand.size();
+        ensureCapacity(size);
+
+        for (int i = 0; i < size; i++) {
+            double[] f = features[i];
+            Card card = hand.get(i);
+            int color = card.getColorIndex();
+            int count = table.getOpenCount(color);
+            int value = table.getOpenValue(color);
+
+            f[0] = table.colorScore(color, count + 1, value + card.getValue()) - table.colorScore(color, count, value);
+            f[1] = card.getValue();
+            f[2] = clampMargin(count + 1 - table.getBestOther(color));
+            f[3] = table.denial(color, count + 1);
+            f[4] = count == 0 ? 1 : 0;
+        }
+        return size;
+    }
+
+    /**
+     * @return The features of a card of the last description.
+     */
+    double[] get(int handIndex) {
+        return features[handIndex];
+    }
+
+    // ============================ Helpers ============================
+    private static int clampMargin(int margin) {
+        return Math.max(-MAX_MARGIN, Math.min(MAX_MARGIN, margin));
+    }
+
+    private void ensureCapacity(int cards) {
+        if (features.length < cards) {
+            features = new double[cards][Math.max(CARD_FEATURES, DISCARD_FEATURES)];
+        }
+    }
+}
@@ -0,0 +1,135 @@
+package game.ai;
+
+import game.core.*;
+import game.utils.Constants;
+import java.lang.management.ManagementFactory;
+import java.lang.management.ThreadMXBean;
+import java.util.*;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Keeps a table's search bots thinking while the table waits, for a human
+ * to type or for the next turn to be shown. Call {@link #start(Player)} when
+ * the wait begins and {@link #stop()} when it ends; every seat with a
+ * {@link PonderingStrategy} then searches its next turn in the background.
+ *
+ * Pondering runs on a small pool shared by every table in the process, and
+ * each table may spend a fixed budget of CPU time per wait, shared by its
+ * seats. Seats without a pondering strategy cost nothing.
+ */
+public class Ponderer {
+
+    private static final ThreadMXBean THREADS = ManagementFactory.getThreadMXBean();
+    private static final ExecutorService POOL = createPool();
+
+    // ============================ Instance Variables ============================
+    private final List<Player> players;
+    private final Parade parade;
+    private final Deck deck;
+    private final long budgetNanos;
+
+    /**
+     * The seats pondering since the last start.
+     */
+    private final List<PonderingStrategy> active = new ArrayList<>();
+
+    // ============================ Constructors ============================
+    /**
+     * @param players The table's players, in turn order.
+     * @param parade  The table's parade.
+     * @param deck    The table's deck.
+     */
+    public Ponderer(List<Player> players, Parade parade, Deck deck) {
+        this(players, parade, deck, Constants.PONDER_BUDGET_MS);
+    }
+
+    /**
+     * @param players  The table's players, in turn order.
+     * @param parade   The table's parade.
+     * @param deck     The table's deck.
+     * @param budgetMs The CPU time the table may ponder per wait, in
+     *                 milliseconds; 0 turns pondering off.
+     */
+    public Ponderer(List<Player> players, Parade parade, Deck deck, long budgetMs) {
+        if (budgetMs < 0) {
+            throw new IllegalArgumentException("The pondering budget cannot be negative.");
+        }
+        this.players = players;
+        this.parade = parade;
+        this.deck = deck;
+        this.budgetNanos = budgetMs * 1_000_000L;
+    }
+
+    // ============================ Pondering ============================
+    /**
+     * Starts pondering for every seat that can. Called on the game thread
+     * when it is about to wait; the seats copy the table first, so the game
+     * may go on changing it.
+     *
+     * @param toMove The player who moves after the wait.
+     */
+    public void start(Player toMove) {
+        stop();
+        if (budgetNanos == 0) {
+            return;
+        }
+        for (Player player : players) {
+            if (player instanceof Computer
+                    && ((Computer) player).getStrategy() instanceof PonderingStrategy) {
+                PonderingStrategy strategy = (PonderingStrategy) ((Computer) player).getStrategy();
+                if (strategy.prepare(player, parade, players, deck, toMove)) {
+                    active.add(strategy);
+                }
+            }
+        }
+        if (!active.isEmpty()) {
+            List<PonderingStrategy> seats = List.copyOf(active);
+            // Read here, on the game thread, so the task runs only the prepares it was queued for
+            int[] generations = new int[seats.size()];
+            for (int i = 0; i < generations.length; i++) {
+                generations[i] = seats.get(i).getGeneration();
+            }
+            POOL.execute(() -> ponder(seats, generations));
+        }
+    }
+
+    /**
+     * Stops every seat's pondering and waits until they have let go. What
+     * they found is kept for their next turn.
+     */
+    public void stop() {
+        for (PonderingStrategy strategy : active) {
+            strategy.stop();
+        }
+        active.clear();
+    }
+
+    /**
+     * Ponders the seats one after the other on a pool thread, each with an
+     * even share of the budget left.
+     */
+    private void ponder(List<PonderingStrategy> seats, int[] generations) {
+        long left = budgetNanos;
+        for (int i = 0; i < seats.size() && left > 0; i++) {
+            long cpuStart = cpuTime();
+            // A wall clock deadline never runs slower than CPU time, so no seat overspends
+            seats.get(i).ponder(System.nanoTime() + left / (seats.size() - i), generations[i]);
+            left -= cpuTime() - cpuStart;
+        }
+    }
+
+    // ============================ Helpers ============================
+    private static long cpuTime() {
+        return THREADS.isCurrentThreadCpuTimeSupported() ? THREADS.getCurrentThreadCpuTime() : System.nanoTime();
+    }
+
+    private static ExecutorService createPool() {
+        AtomicInteger threads = new AtomicInteger();
+        return Executors.newFixedThreadPool(Constants.PONDER_THREADS, runnable -> {
+            Thread thread = new Thread(runnable, "ponder-" + threads.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+}
@@ -0,0 +1,147 @@
+package game.ai;
+
+import game.core.*;
+import game.utils.Constants;
+import java.util.List;
+
+/**
+ * Lets an {@link ExpectimaxStrategy} think on other seats' time. While the
+ * table waits for someone else, its {@link Ponderer} has this seat search
+ * the positions its next turn most likely starts from. When one of them
+ * comes up, the card found is played at once instead of searching again;
+ * otherwise the seat searches as usual.
+ *
+ * Each seat needs its own instance, since it keeps that seat's pondered
+ * positions. The search strategy itself may be shared.
+ */
+public class PonderingStrategy implements ComputerStrategy {
+
+    // ============================ Instance Variables ============================
+    private final ExpectimaxStrategy search;
+    private final ExpectimaxStrategy.Ponder ponder;
+    private final int candidates;
+
+    /**
+     * Whether a ponder was prepared since the last decision.
+     */
+    private boolean pondered;
+    private boolean lastHit;
+    private long hits;
+    private long misses;
+
+    // ============================ Constructors ============================
+    /**
+     * @param search The strategy that searches, on the seat's turn and while
+     *               pondering.
+     */
+    public PonderingStrategy(ExpectimaxStrategy search) {
+        this(search, Constants.PONDER_CANDIDATES);
+    }
+
+    /**
+     * @param search     The strategy that searches.
+     * @param candidates The most plays of the seat right before this one
+     *                   to ponder.
+     */
+    public PonderingStrategy(ExpectimaxStrategy search, int candidates) {
+        if (candidates < 1) {
+            throw new IllegalArgumentException("At least one position must be pondered.");
+        }
+        this.search = search;
+        this.ponder = search.newPonder();
+        this.candidates = candidates;
+    }
+
+    // ============================ Decisions ============================
+    @Override
+    public int chooseCard(Player self, Parade parade, List<Player> players, Deck deck) {
+        lastHit = false;
+        if (pondered) {
+            pondered = false;
+            int index = ponder.recall(self, parade, players, deck);
+            if (index >= 0) {
+                hits++;
+                lastHit = true;
+                return index;
+            }
+            misses++;
+        }
+        return search.chooseCard(self, parade, players, deck);
+    }
+
+    @Override
+    public int chooseDiscard(Player self, List<Player> players, Deck deck) {
+        stop();
+        lastHit = false;
+        return search.chooseDiscard(self, players, deck);
+    }
+
+    /**
+     * @return The nodes of the last search, or 0 if the last card was
+     * pondered.
+     */
+    @Override
+    public long getLastRollouts() {
+        return lastHit ? 0 : search.getLastRollouts();
+    }
+
+    // ============================ Pondering ============================
+    /**
+     * Copies the seat's view of the table for pondering. Called on the game
+     * thread.
+     *
+     * @param self    The seat's player.
+     * @param parade  The current parade.
+     * @param players All players at the table, in turn order.
+     * @param deck    The deck, used for its size only.
+     * @param toMove  The player who moves next.
+     * @return true if there is something to ponder.
+     */
+    boolean prepare(Player self, Parade parade, List<Player> players, Deck deck, Player toMove) {
+        pondered = ponder.prepare(self, parade, players, deck, toMove, candidates);
+        return pondered;
+    }
+
+    /**
+     * @return The generation of the last prepare, to hand to
+     * {@link #ponder}. Called on the game thread.
+     */
+    int getGeneration() {
+        return ponder.getGeneration();
+    }
+
+    /**
+     * Ponders until the deadline or until stopped. Called on the pondering
+     * thread.
+     *
+     * @param deadline   The {@link System#nanoTime()} to stop at.
+     * @param generation The generation of the prepare the task was queued
+     *                   for; the seat ignores the task if it was prepared
+     *                   again since.
+     */
+    void ponder(long deadline, int generation) {
+        ponder.run(deadline, generation);
+    }
+
+    /**
+     * Stops pondering and waits until the pondering thread has let go.
+     */
+    void stop() {
+        ponder.stop();
+    }
+
+    // ============================ Getters ============================
+    /**
+     * @return How many turns were played from a pondered position.
+     */
+    public long getHits() {
+        return hits;
+    }
+
+    /**
+     * @return How many pondered turns had to be searched again.
+     */
+    public long getMisses() {
+        return misses;
+    }
+}
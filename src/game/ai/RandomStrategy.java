@@ -0,0 +1,31 @@
+package game.ai;
+
+import game.core.*;
+import game.utils.Constants;
+import java.util.*;
+
+/**
+ * Plays a uniformly random card. This is the original computer behaviour.
+ */
+public class RandomStrategy implements ComputerStrategy {
+
+    private final Random random;
+
+    public RandomStrategy() {
+        this(Constants.RANDOM);
+    }
+
+    public RandomStrategy(Random random) {
+        this.random = random;
+    }
+
+    @Override
+    public int chooseCard(Player self, Parade parade, List<Player> players, Deck deck) {
+        return random.nextInt(self.getClosedCards().size());
+    }
+
+    @Override
+    public int chooseDiscard(Player self, List<Player> players, Deck deck) {
+        return random.nextInt(self.getClosedCards().size());
+    }
+}
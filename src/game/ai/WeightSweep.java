@@ -0,0 +1,276 @@
+package game.ai;
+
+import game.core.*;
+import game.gameplay.GameStateMachine;
+import game.utils.Constants;
+import java.util.*;
+import java.util.concurrent.*;
+
+/**
+ * Tunes the weights of the Hard greedy bot. Every combination of a grid of
+ * majority weights, denial weights and high-card bonuses plays headless games
+ * against Hard bots with the tuned weights, on every core, in rounds.
+ *
+ * Every candidate plays the same games: game number g is dealt from the same
+ * seed, with the same seat for the candidate and the same tie-breaking, for
+ * all of them. Two candidates are then compared game by game, and the luck of
+ * the deal, which is most of the spread between win rates, cancels out. After
+ * each round, candidates whose paired difference to the leader is more than
+ * {@link Constants#SWEEP_Z} standard errors below zero stop playing, so most
+ * games go to the candidates still in contention.
+ *
+ * Usage: {@code java -cp out game.ai.WeightSweep [players] [roundGames] [maxGames] [threads] [rules] [grid] [seed]},
+ * the grid written as {@code majority,...:denial,...:highCard,...}.
+ */
+public class WeightSweep {
+
+    // ============================ Default Grid ============================
+    private static final double[] MAJORITY_WEIGHTS = {0.25, 0.5, 0.75, 1.0};
+    private static final double[] DENIAL_WEIGHTS = {0.0, 0.25, 0.5, 0.75, 1.0};
+    private static final double[] HIGH_CARD_BONUSES = {0.0, 0.05, 0.1, 0.2};
+
+    // ============================ Candidates ============================
+    /**
+     * One combination of weights and the outcome of every game it played:
+     * 1 if it won, 0 if not.
+     */
+    private static final class Candidate {
+        private final double majorityWeight;
+        private final double denialWeight;
+        private final double highCardBonus;
+        private final byte[] wins;
+        private int games;
+        private boolean dropped;
+
+        Candidate(double majorityWeight, double denialWeight, double highCardBonus, int maxGames) {
+            this.majorityWeight = majorityWeight;
+            this.denialWeight = denialWeight;
+            this.highCardBonus = highCardBonus;
+            this.wins = new byte[maxGames];
+        }
+
+        double winRate() {
+            int won = 0;
+            for (int g = 0; g < games; g++) {
+                won += wins[g];
+            }
+            return games == 0 ? 0 : (double) won / games;
+        }
+
+        @Override
+        public String toString() {
+            return String.format("majority %.2f, denial %.2f, high card %.2f",
+                    majorityWeight, denialWeight, highCardBonus);
+        }
+    }
+
+    // ============================ Instance Variables ============================
+    private final RuleSet rules;
+    private final int players;
+    private final int maxGames;
+    private final long seed;
+    private final List<Candidate> candidates = new ArrayList<>();
+
+    // ============================ Constructor ============================
+    /**
+     * @param rules    The rules to play by.
+     * @param players  The table size.
+     * @param maxGames The most games a candidate plays.
+     * @param seed     Deals the games every candidate plays.
+     * @param grid     The values to try for the majority weight, the denial
+     *                 weight and the high-card bonus, in that order.
+     */
+    public WeightSweep(RuleSet rules, int players, int maxGames, long seed, double[][] grid) {
+        if (players < rules.getMinPlayers() || players > rules.getMaxPlayers()) {
+            throw new IllegalArgumentException(rules.getName() + " is played by "
+                    + rules.getMinPlayers() + " to " + rules.getMaxPlayers() + " players.");
+        }
+        this.rules = rules;
+        this.players = players;
+        this.maxGames = maxGames;
+        this.seed = seed;
+        for (double majority : grid[0]) {
+            for (double denial : grid[1]) {
+                for (double highCard : grid[2]) {
+                    candidates.add(new Candidate(majority, denial, highCard, maxGames));
+                }
+            }
+        }
+    }
+
+    public static void main(String[] args) throws Exception {
+        int players = args.length > 0 ? Integer.parseInt(args[0]) : 2;
+        int roundGames = args.length > 1 ? Integer.parseInt(args[1]) : Constants.SWEEP_ROUND_GAMES;
+        int maxGames = args.length > 2 ? Integer.parseInt(args[2]) : Constants.SWEEP_MAX_GAMES;
+        int threads = args.length > 3 ? Integer.parseInt(args[3]) : Runtime.getRuntime().availableProcessors();
+        RuleSet rules = args.length > 4 ? RuleSet.preset(args[4]) : RuleSet.BASE;
+        double[][] grid = args.length > 5 ? parseGrid(args[5]) : new double[][]{
+                MAJORITY_WEIGHTS, DENIAL_WEIGHTS, HIGH_CARD_BONUSES};
+        long seed = args.length > 6 ? Long.parseLong(args[6]) : Constants.RANDOM.nextLong();
+
+        long start = System.nanoTime();
+        WeightSweep sweep = new WeightSweep(rules, players, maxGames, seed, grid);
+        System.out.printf("🎛️ %d candidates, %d-player %s games against Hard, seed %d%n",
+                sweep.candidates.size(), players, rules.getName(), seed);
+        int played = sweep.run(roundGames, threads);
+        double seconds = (System.nanoTime() - start) / 1e9;
+
+        System.out.printf("⏱️ %d games on %d threads in %.0f s (a fair share wins %.1f%%)%n",
+                played, threads, seconds, 100.0 / players);
+        List<Candidate> ranking = sweep.ranking();
+        for (int i = 0; i < Math.min(Constants.SWEEP_TOP, ranking.size()); i++) {
+            Candidate candidate = ranking.get(i);
+            System.out.printf("🏆 %d. %s: won %.1f%% ± %.1f%% of %d games%n", i + 1, candidate,
+                    100 * candidate.winRate(), 100 * standardError(candidate), candidate.games);
+        }
+    }
+
+    // ============================ Sweeping ============================
+    /**
+     * Plays rounds until one candidate is left or the survivors have played
+     * the most games.
+     *
+     * @param roundGames The games each candidate plays per round.
+     * @param threads    The number of worker threads.
+     * @return The number of games played in all.
+     */
+    public int run(int roundGames, int threads) throws InterruptedException, ExecutionException {
+        ExecutorService pool = Executors.newFixedThreadPool(threads);
+        int played = 0;
+        try {
+            int games = 0;
+            for (int round = 1; games < maxGames && alive().size() > 1; round++) {
+                int from = games;
+                games = Math.min(maxGames, games + roundGames);
+                List<Future<?>> futures = new ArrayList<>();
+                for (Candidate candidate : alive()) {
+                    // Chunks small enough to spread a round over every thread
+                    for (int chunk = from; chunk < games; chunk += Constants.SWEEP_CHUNK_GAMES) {
+                        int first = chunk;
+                        int last = Math.min(games, chunk + Constants.SWEEP_CHUNK_GAMES);
+                        futures.add(pool.submit(() -> play(candidate, first, last)));
+                    }
+                    played += games - from;
+                }
+                for (Future<?> future : futures) {
+                    future.get();
+                }
+                for (Candidate candidate : alive()) {
+                    candidate.games = games;
+                }
+
+                int dropped = prune();
+                Candidate leader = ranking().get(0);
+                System.out.printf("🔁 Round %d: %d games each, %d dropped, %d left, leading %s at %.1f%%%n",
+                        round, games, dropped, alive().size(), leader, 100 * leader.winRate());
+            }
+        } finally {
+            pool.shutdown();
+        }
+        return played;
+    }
+
+    /**
+     * Plays a range of games for a candidate.
+     */
+    private void play(Candidate candidate, int first, int last) {
+        List<Player> table = new ArrayList<>(players);
+        for (int g = first; g < last; g++) {
+            // Every source of chance comes from the game number, the same for every candidate
+            long gameSeed = Hashing.mix(seed + g);
+            int seat = g % players;
+            table.clear();
+            Player tuned = null;
+            for (int p = 0; p < players; p++) {
+                Random random = new Random(gameSeed + p + 1);
+                if (p == seat) {
+                    tuned = new Computer("Tuned", new GreedyStrategy(Difficulty.HARD, candidate.majorityWeight,
+                            candidate.denialWeight, candidate.highCardBonus, random));
+                    table.add(tuned);
+                } else {
+                    table.add(new Computer("Hard " + (p + 1), new GreedyStrategy(Difficulty.HARD, random)));
+                }
+            }
+            GameStateMachine game = new GameStateMachine(table, new Random(gameSeed), rules);
+            while (game.step()) {
+                // Every seat is a computer, so the game runs to the end
+            }
+            candidate.wins[g] = (byte) (game.getWinner() == tuned ? 1 : 0);
+        }
+    }
+
+    /**
+     * Stops every candidate that is clearly behind the leader, by the
+     * difference between their outcomes game by game.
+     *
+     * @return The number of candidates stopped.
+     */
+    private int prune() {
+        Candidate leader = ranking().get(0);
+        int dropped = 0;
+        for (Candidate candidate : alive()) {
+            if (candidate == leader) {
+                continue;
+            }
+            int n = candidate.games;
+            double sum = 0;
+            double squares = 0;
+            for (int g = 0; g < n; g++) {
+                int difference = candidate.wins[g] - leader.wins[g];
+                sum += difference;
+                squares += difference * difference;
+            }
+            double mean = sum / n;
+            double error = Math.sqrt(Math.max(0, squares / n - mean * mean) / n);
+            if (mean + Constants.SWEEP_Z * error < 0) {
+                candidate.dropped = true;
+                dropped++;
+            }
+        }
+        return dropped;
+    }
+
+    // ============================ Helpers ============================
+    private List<Candidate> alive() {
+        List<Candidate> alive = new ArrayList<>();
+        for (Candidate candidate : candidates) {
+            if (!candidate.dropped) {
+                alive.add(candidate);
+            }
+        }
+        return alive;
+    }
+
+    /**
+     * @return The candidates still playing by win rate, best first, then the
+     * dropped ones by win rate.
+     */
+    private List<Candidate> ranking() {
+        List<Candidate> ranking = new ArrayList<>(candidates);
+        ranking.sort(Comparator.comparing((Candidate c) -> c.dropped)
+                .thenComparing(Candidate::winRate, Comparator.reverseOrder()));
+        return ranking;
+    }
+
+    private static double standardError(Candidate candidate) {
+        double p = candidate.winRate();
+        return Math.sqrt(p * (1 - p) / Math.max(candidate.games, 1));
+    }
+
+    /**
+     * @param grid Comma-separated values per weight, the weights separated
+     *             by colons.
+     * @return The values per weight.
+     */
+    private static double[][] parseGrid(String grid) {
+        String[] weights = grid.split(":");
+        if (weights.length != 3) {
+            throw new IllegalArgumentException("Expected majority:denial:highCard values, got " + grid);
+        }
+        double[][] values = new double[3][];
+        for (int w = 0; w < 3; w++) {
+            values[w] = Arrays.stream(weights[w].split(",")).mapToDouble(Double::parseDouble).toArray();
+        }
+        return values;
+    }
+}
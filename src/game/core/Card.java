@@ -1,5 +1,6 @@
 package game.core;
 import game.renderer.CardUI;
+import game.utils.Constants;
 /**
  * Represents a playing card with a color and numerical value.
  */
@@ -11,6 +12,12 @@ public class Card {
      */
     private final String color;
 
+    /**
+     * The position of the color in the colors of the game's {@link RuleSet},
+     * so rules can compare and count colors without comparing strings.
+     */
+    private final int colorIndex;
+
     /**
      * The numerical value of the card.
      */
@@ -18,16 +25,50 @@ public class Card {
 
     // ============================ Constructor ============================
     /**
-     * Creates a card with the specified color and value.
+     * Creates a card of the base game with the specified color and value.
      *
      * @param color The color of the card (case-insensitive).
      * @param value The numerical value of the card.
+     * @throws IllegalArgumentException if the color is not one of the base game's colors.
      */
     public Card(String color, int value) {
+        this(color, indexOfColor(color), value);
+    }
+
+    /**
+     * Creates a card whose color sits at the given position of its rule
+     * set's colors.
+     *
+     * @param color      The color of the card.
+     * @param colorIndex The index of the color in {@link RuleSet#getColors()}.
+     * @param value      The numerical value of the card.
+     * @throws IllegalArgumentException if the color index is negative.
+     */
+    public Card(String color, int colorIndex, int value) {
+        if (colorIndex < 0) {
+            throw new IllegalArgumentException("Unknown card color: " + color);
+        }
         this.color = color;
+        this.colorIndex = colorIndex;
         this.value = value;
     }
 
+    /**
+     * Finds the position of a color in {@link Constants#COLORS}, the colors
+     * of {@link RuleSet#BASE}.
+     *
+     * @param color The color name (case-insensitive).
+     * @return The index of the color, or -1 if it is not a game color.
+     */
+    public static int indexOfColor(String color) {
+        for (int i = 0; i < Constants.COLORS.length; i++) {
+            if (Constants.COLORS[i].equalsIgnoreCase(color)) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
     // ============================ Getters============================
     public int getValue() {
         return value;
@@ -36,6 +77,10 @@ public class Card {
     public String getColor() {
         return color;
     }
+
+    public int getColorIndex() {
+        return colorIndex;
+    }
     // ============================ Setters============================
 
     //Mainly for testing purposes
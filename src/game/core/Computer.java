@@ -1,14 +1,26 @@
 package game.core;
 
+import game.ai.*;
+import game.metrics.*;
 import game.renderer.PlayerRenderer;
-import game.utils.Constants;
 import java.util.*;
 
 /**
- * Represents a computer player in the game. The computer player can play cards
- * randomly from its hand into the parade and perform final play moves.
+ * Represents a computer player in the game. The computer player plays cards
+ * from its hand into the parade and performs final play moves, choosing its
+ * cards with a {@link ComputerStrategy} (random by default).
  */
 public class Computer extends Player {
+
+    // ============================ Attributes ============================
+    private ComputerStrategy strategy;
+
+    /**
+     * The players and deck of the table this computer sits at.
+     */
+    private List<Player> players;
+    private Deck deck;
+
     // ============================ Constructor ============================
 
     /**
@@ -17,7 +29,19 @@ public class Computer extends Player {
      * @param name The name of the computer player.
      */
     public Computer(String name) {
+        this(name, new RandomStrategy());
+    }
+
+    /**
+     * Constructor for a Computer player with a specific strategy.
+     *
+     * @param name     The name of the computer player.
+     * @param strategy The strategy that chooses its cards.
+     */
+    public Computer(String name, ComputerStrategy strategy) {
         super(name);
+        this.strategy = strategy;
+        this.players = Collections.singletonList(this);
     }
 
     // ============================ Gameplay Methods ============================
@@ -37,15 +61,12 @@ public class Computer extends Player {
             throw new IllegalStateException(name + " has no cards left to play!");
         }
 
-        // Select a random card from closedCards
-        int index = Constants.RANDOM.nextInt(closedCards.size());
-        Card selectedCard = closedCards.remove(index);
+        // Let the strategy select a card from closedCards
+        Card selectedCard = playCardAt(chooseCardIndex(parade), parade);
 
-        // Add the selected card to the parade
+        // Show the selected card being added to the parade
         PlayerRenderer.showComputerThinking(name);
         PlayerRenderer.showPlayedCard(selectedCard, name);
-
-        parade.addCard(selectedCard);
     }
 
     /**
@@ -58,23 +79,89 @@ public class Computer extends Player {
      */
     @Override
     public void finalPlay(Scanner scanner) {
-        for (int i = 0; i < Constants.FINAL_PLAY_MOVES; i++) {
+        for (int i = 0; i < getRules().getFinalPlayMoves(); i++) {
 
             // Not necessary but kept for consistency
             if (closedCards.isEmpty()) {
                 throw new IllegalStateException(name + " has no cards left to play!");
             }
 
-            // Select a random card
-            int index = Constants.RANDOM.nextInt(closedCards.size());
-            Card selectedCard = closedCards.remove(index);
+            // Let the strategy select a card and add it to open cards
+            Card selectedCard = discardCardAt(chooseDiscardIndex());
 
-            // Display and add to open cards
             PlayerRenderer.showComputerThinking(name);
             PlayerRenderer.showPlayedCard(selectedCard, name);
             PlayerRenderer.showCardAddedToOpenCards(name, selectedCard);
+        }
+    }
+
+    /**
+     * Picks the index of the card the computer player will play next.
+     *
+     * @param parade The parade the card will be played into.
+     * @return A zero-based index into the closed cards.
+     */
+    public int chooseCardIndex(Parade parade) {
+        AiDecisionEvent event = new AiDecisionEvent();
+        event.begin();
+        long start = System.nanoTime();
+        int index = strategy.chooseCard(this, parade, players, deck);
+        recordDecision(event, start, false);
+        return index;
+    }
 
-            openCards.computeIfAbsent(selectedCard.getColor(), key -> new ArrayList<>()).add(selectedCard);
+    /**
+     * Picks the index of the card to move to the open cards in the final
+     * phase.
+     *
+     * @return A zero-based index into the closed cards.
+     */
+    public int chooseDiscardIndex() {
+        AiDecisionEvent event = new AiDecisionEvent();
+        event.begin();
+        long start = System.nanoTime();
+        int index = strategy.chooseDiscard(this, players, deck);
+        recordDecision(event, start, true);
+        return index;
+    }
+
+    /**
+     * Records the decision time and commits the decision event, if flight
+     * recording of decisions is enabled.
+     */
+    private void recordDecision(AiDecisionEvent event, long start, boolean discard) {
+        long nanos = System.nanoTime() - start;
+        GameMetrics.record(Phase.BOT_THINK, nanos);
+        GameStats.get().aiDecided(nanos);
+        event.end();
+        if (event.shouldCommit()) {
+            event.player = name;
+            event.strategy = strategy.getClass().getSimpleName();
+            event.discard = discard;
+            event.candidates = closedCards.size();
+            event.rollouts = strategy.getLastRollouts();
+            event.commit();
         }
     }
+
+    /**
+     * Tells the computer which table it plays at, so its strategy can see the
+     * other players and the deck.
+     *
+     * @param players All players at the table.
+     * @param deck    The deck in use.
+     */
+    public void seat(List<Player> players, Deck deck) {
+        this.players = players;
+        this.deck = deck;
+    }
+
+    // ============================ Getters & Setters ============================
+    public ComputerStrategy getStrategy() {
+        return strategy;
+    }
+
+    public void setStrategy(ComputerStrategy strategy) {
+        this.strategy = strategy;
+    }
 }
@@ -1,6 +1,5 @@
 package game.core;
 
-import game.utils.Constants;
 import java.util.*;
 
 /**
@@ -14,6 +13,12 @@ public class Deck {
      * List to hold all cards in the deck.
      */
     private final List<Card> cards;
+    private final List<Card> cardsView;
+
+    /**
+     * The rules of the game this deck is played in.
+     */
+    private final RuleSet rules;
 
     // ============================ Constructor ============================
     /**
@@ -21,10 +26,24 @@ public class Deck {
      * values. Each color will have cards numbered from 0 to 10.
      */
     public Deck() {
-        this.cards = new ArrayList<>();
-        for (String color : Constants.COLORS) {
-            for (int i = Constants.MINVALUEOFCARD; i <= Constants.MAXVALUEOFCARD; i++) { // Adding cards numbered 0 to 10
-                cards.add(new Card(color, i));
+        this(RuleSet.BASE);
+    }
+
+    /**
+     * Constructs the deck of a variant: every card of every color, once per
+     * deck the rules shuffle together.
+     *
+     * @param rules The rules of the game.
+     */
+    public Deck(RuleSet rules) {
+        this.rules = rules;
+        this.cards = new ArrayList<>(rules.getDeckSize());
+        this.cardsView = Collections.unmodifiableList(cards);
+        for (int copy = 0; copy < rules.getDecks(); copy++) {
+            for (int color = 0; color < rules.getColorCount(); color++) {
+                for (int i = rules.getMinCardValue(); i <= rules.getMaxCardValue(); i++) {
+                    cards.add(new Card(rules.getColor(color), color, i));
+                }
             }
         }
     }
@@ -34,6 +53,14 @@ public class Deck {
         Collections.shuffle(cards);
     }
 
+    /**
+     * Shuffles the deck with the given source of randomness, so that a seeded
+     * game can be replayed exactly.
+     */
+    public void shuffle(Random random) {
+        Collections.shuffle(cards, random);
+    }
+
     public Card removeCardFromDeck() {
         return cards.isEmpty() ? null : cards.remove(cards.size() - 1);
     }
@@ -44,10 +71,14 @@ public class Deck {
 
     // ============================ Getters ============================
     public List<Card> getCards() {
-        return Collections.unmodifiableList(cards);
+        return cardsView;
     }
 
     public int size() {
         return cards.size();
     }
+
+    public RuleSet getRules() {
+        return rules;
+    }
 }
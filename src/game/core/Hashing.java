@@ -0,0 +1,26 @@
+package game.core;
+
+/**
+ * The hash mixing shared by everything that keys game states or seeds games:
+ * the search's view keys, the canonical hashes of {@code StateCanonicalizer},
+ * the opening book and the weight sweep's per-game seeds. Keys are built by
+ * mixing what is hashed with the SplitMix64 finalizer rather than looked up
+ * in a random table, so they need no memory and are the same for every rule
+ * set and every run.
+ */
+public final class Hashing {
+
+    private Hashing() {
+    }
+
+    // ============================ Mixing ============================
+    /**
+     * The 64-bit finalizer of SplitMix64: a bijection that spreads every
+     * input bit over the whole output.
+     */
+    public static long mix(long z) {
+        z = (z ^ (z >>> 30)) * 0xBF58476D1CE4E5B9L;
+        z = (z ^ (z >>> 27)) * 0x94D049BB133111EBL;
+        return z ^ (z >>> 31);
+    }
+}
@@ -1,6 +1,9 @@
 package game.core;
 
+import game.ai.MoveHints;
 import game.exceptions.InvalidInputException;
+import game.input.*;
+import game.metrics.*;
 import game.renderer.CardUI;
 import game.renderer.PlayerRenderer;
 import game.utils.Constants;
@@ -12,6 +15,19 @@ import java.util.*;
  */
 public class Human extends Player {
 
+    // ============================ Attributes ============================
+    /**
+     * Where this player's answers come from, including their time limit.
+     */
+    private SeatInput seatInput;
+
+    /**
+     * The players and deck of the table this human sits at, for hints;
+     * null until seated.
+     */
+    private List<Player> players;
+    private Deck deck;
+
     // ============================ Constructor ============================
     public Human(String name) {
         super(name);
@@ -23,8 +39,7 @@ public class Human extends Player {
      * the parade.
      *
      * @param parade The parade where the selected card will be added.
-     * @param scanner Scanner used for capturing the player's card selection
-     * input.
+     * @param scanner Unused; the card is chosen through the seat input.
      * @throws IllegalStateException if the player's hand is empty when
      * attempting to play.
      */
@@ -36,9 +51,20 @@ public class Human extends Player {
             throw new IllegalStateException(name + " has no cards left to play!");
         }
 
-        int cardIndex = getValidCardSelection(scanner, closedCards.size());
-        Card selectedCard = closedCards.remove(cardIndex - 1);
-        parade.addCard(selectedCard);
+        // The hints are worked out while the player thinks, in case they ask
+        MoveHints hints = players == null ? null : new MoveHints(this, parade, players, deck);
+        int cardIndex;
+        if (hints == null) {
+            cardIndex = getValidCardSelection(closedCards.size(), null);
+        } else {
+            hints.start();
+            try {
+                cardIndex = getValidCardSelection(closedCards.size(), hints);
+            } finally {
+                hints.stop();
+            }
+        }
+        Card selectedCard = playCardAt(cardIndex - 1, parade);
 
         PlayerRenderer.showPlayedCard(selectedCard, name);
     }
@@ -47,18 +73,17 @@ public class Human extends Player {
      * Allows the human player to select and move cards from their closed cards
      * to open cards during the final play phase of the game.
      *
-     * @param scanner Scanner used to capture user input for card selection.
+     * @param scanner Unused; the cards are chosen through the seat input.
      */
 
     @Override
     public void finalPlay(Scanner scanner) {
-        for (int selection = 1; selection <= Constants.FINAL_PLAY_MOVES; selection++) {
+        for (int selection = 1; selection <= getRules().getFinalPlayMoves(); selection++) {
             PlayerRenderer.showClosedCards(this);
-            int cardIndex = getValidCardSelection(scanner, closedCards.size());
-            Card selectedCard = closedCards.remove(cardIndex - 1);
+            int cardIndex = getValidCardSelection(closedCards.size(), null);
+            Card selectedCard = discardCardAt(cardIndex - 1);
 
             CardUI.setSimpleDisplayMode(true);
-            openCards.computeIfAbsent(selectedCard.getColor(), key -> new ArrayList<>()).add(selectedCard);
             PlayerRenderer.showPlayedCard(selectedCard, name);
             PlayerRenderer.showCardAddedToOpenCards(name, selectedCard);
         }
@@ -74,16 +99,68 @@ public class Human extends Player {
         return true;
     }
 
+    /**
+     * Tells the human which table they play at, so hints can see the other
+     * players and the deck.
+     *
+     * @param players All players at the table.
+     * @param deck    The deck in use.
+     */
+    public void seat(List<Player> players, Deck deck) {
+        this.players = players;
+        this.deck = deck;
+    }
+
+    // ============================ Seat Input ============================
+    public void setSeatInput(SeatInput seatInput) {
+        this.seatInput = seatInput;
+    }
+
+    /**
+     * Returns the seat's input. The table assigns it when the game starts,
+     * so every seat reads through the table's one console reader.
+     *
+     * @return The input of this seat.
+     * @throws IllegalStateException if no input was assigned.
+     */
+    public SeatInput getSeatInput() {
+        if (seatInput == null) {
+            throw new IllegalStateException(name + " has no seat input assigned!");
+        }
+        return seatInput;
+    }
+
     // ============================= Helpers ===============================
     /**
-     * Handles and validates user input for selecting a card.
+     * Handles and validates user input for selecting a card. If the seat's
+     * time limit expires, a random card is picked instead. Typing "hint"
+     * shows the hints, when there are any, and asks again.
+     *
+     * @param hints The hints for this choice, or null if there are none.
      */
-    private int getValidCardSelection(Scanner scanner, int maxCards) {
+    private int getValidCardSelection(int maxCards, MoveHints hints) {
+        SeatInput seat = getSeatInput();
         while (true) {
-            System.out.print("Enter the number of the card to play (1-" + maxCards + "): ");
+            System.out.print("Enter the number of the card to play (1-" + maxCards + ")"
+                    + (hints == null ? "" : " or '" + Constants.HINT_COMMAND + "'") + ": ");
             try {
-                String input = scanner.nextLine();
-                int index = Integer.parseInt(input);  // Throws NumberFormatException
+                String fallback = String.valueOf(Constants.RANDOM.nextInt(maxCards) + 1);
+                long waitStart = GameMetrics.start();
+                String input = seat.readLine(fallback);
+                GameMetrics.stop(Phase.HUMAN_WAIT, waitStart);
+                if (seat.hasTimedOut()) {
+                    PlayerRenderer.showTimeUp(name);
+                }
+                if (input.trim().equalsIgnoreCase(Constants.HINT_COMMAND)) {
+                    if (hints == null) {
+                        System.out.println("💡 No hints for this move.\n");
+                    } else {
+                        hints.await(Constants.HINT_MIN_ROLLOUTS, Constants.HINT_LATENCY_MS);
+                        PlayerRenderer.showHints(hints);
+                    }
+                    continue;
+                }
+                int index = Integer.parseInt(input.trim());  // Throws NumberFormatException
 
                 if (index >= 1 && index <= maxCards) {
                     return index;
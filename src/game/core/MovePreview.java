@@ -0,0 +1,291 @@
+package game.core;
+
+import java.util.List;
+
+/**
+ * Works out what playing each card of a hand would do, without changing the
+ * game: the parade cards each card takes, their values and colors, and
+ * which colors the player would then hold the majority of. One call
+ * previews the whole hand in a single pass over the parade, into buffers
+ * kept from one call to the next, so it allocates nothing once sized and is
+ * cheap enough for every step of a rollout.
+ *
+ * The results describe the parade and players as they were at the last call
+ * to {@link #preview(Parade, Player, List)}. {@link #readStandings} reads
+ * only the players' open cards, for decisions that play no card.
+ */
+public final class MovePreview {
+
+    // ============================ Instance Variables ============================
+    private final RuleSet rules;
+    private final int colorCount;
+
+    private int handSize;
+    private Card[] hand;
+
+    /**
+     * Per hand card: the cards it takes in parade order, how many, their
+     * summed values, and how many and how much of each color.
+     */
+    private Card[][] taken;
+    private int[] takenCounts;
+    private int[] takenValues;
+    private int[][] takenColorCounts;
+    private int[][] takenColorValues;
+    private int[] limits;
+
+    /**
+     * Per color: the player's open cards now, the most any other player
+     * holds, and whether every other player holds the same number.
+     */
+    private final int[] openCounts;
+    private final int[] openValues;
+    private final int[] bestOther;
+    private final boolean[] othersEqual;
+    private int seats;
+
+    // ============================ Constructor ============================
+    /**
+     * @param rules The rules of the games to preview.
+     */
+    public MovePreview(RuleSet rules) {
+        this.rules = rules;
+        this.colorCount = rules.getColorCount();
+        this.openCounts = new int[colorCount];
+        this.openValues = new int[colorCount];
+        this.bestOther = new int[colorCount];
+        this.othersEqual = new boolean[colorCount];
+        ensureCapacity(rules.getHandSize());
+    }
+
+    // ============================ Preview ============================
+    /**
+     * Previews every card in the player's hand.
+     *
+     * @param parade  The parade the cards would be played into.
+     * @param self    The player whose hand is previewed.
+     * @param players All players at the table, including the player.
+     */
+    public void preview(Parade parade, Player self, List<Player> players) {
+        List<Card> closedCards = self.getClosedCards();
+        handSize = closedCards.size();
+        ensureCapacity(handSize);
+        List<Card> paradeCards = parade.getCards();
+        int paradeLength = paradeCards.size();
+
+        // The card would join the end of the parade and protect the value cards before it
+        int scanned = 0;
+        for (int i = 0; i < handSize; i++) {
+            Card card = closedCards.get(i);
+            hand[i] = card;
+            limits[i] = Math.max(paradeLength - card.getValue(), 0);
+            scanned = Math.max(scanned, limits[i]);
+            takenCounts[i] = 0;
+            takenValues[i] = 0;
+            for (int color = 0; color < colorCount; color++) {
+                takenColorCounts[i][color] = 0;
+                takenColorValues[i][color] = 0;
+            }
+        }
+
+        for (int p = 0; p < scanned; p++) {
+            Card card = paradeCards.get(p);
+            int color = card.getColorIndex();
+            int value = card.getValue();
+            for (int i = 0; i < handSize; i++) {
+                Card played = hand[i];
+                if (p < limits[i] && (played.getColorIndex() == color || value <= played.getValue())) {
+                    taken[i][takenCounts[i]++] = card;
+                    takenValues[i] += value;
+                    takenColorCounts[i][color]++;
+                    takenColorValues[i][color] += value;
+                }
+            }
+        }
+
+        readStandings(self, players);
+    }
+
+    /**
+     * Reads where the player stands in every color, without previewing a
+     * hand: its open cards, the most any other player holds and whether
+     * every other player holds the same number. {@link #preview} does this
+     * too.
+     *
+     * @param self    The player whose standing is read.
+     * @param players All players at the table, including the player.
+     */
+    public void readStandings(Player self, List<Player> players) {
+        seats = players.size();
+        for (int color = 0; color < colorCount; color++) {
+            List<Card> open = self.getOpenCards(color);
+            openCounts[color] = open.size();
+            int sum = 0;
+            for (int c = 0; c < open.size(); c++) {
+                sum += open.get(c).getValue();
+            }
+            openValues[color] = sum;
+
+            int best = -1;
+            boolean equal = true;
+            for (int p = 0; p < players.size(); p++) {
+                Player other = players.get(p);
+                if (other == self) {
+                    continue;
+                }
+                int count = other.getOpenCardCount(color);
+                if (best >= 0 && count != best) {
+                    equal = false;
+                }
+                best = Math.max(best, count);
+            }
+            bestOther[color] = Math.max(best, 0);
+            othersEqual[color] = equal;
+        }
+    }
+
+    // ============================ Results ============================
+    public int getHandSize() {
+        return handSize;
+    }
+
+    /**
+     * @return The card at a hand index, as of the last preview.
+     */
+    public Card getCard(int handIndex) {
+        return hand[handIndex];
+    }
+
+    /**
+     * @return The number of parade cards the card takes.
+     */
+    public int getTakenCount(int handIndex) {
+        return takenCounts[handIndex];
+    }
+
+    /**
+     * @param handIndex The card played.
+     * @param k         Which of the taken cards, in parade order.
+     * @return The taken card.
+     */
+    public Card getTaken(int handIndex, int k) {
+        return taken[handIndex][k];
+    }
+
+    /**
+     * @return The summed values of the cards the card takes.
+     */
+    public int getTakenValue(int handIndex) {
+        return takenValues[handIndex];
+    }
+
+    /**
+     * @return How many cards of a color the card takes.
+     */
+    public int getTakenCount(int handIndex, int colorIndex) {
+        return takenColorCounts[handIndex][colorIndex];
+    }
+
+    /**
+     * @return How many open cards of a color the player would hold after
+     * playing the card.
+     */
+    public int getOpenCountAfter(int handIndex, int colorIndex) {
+        return openCounts[colorIndex] + takenColorCounts[handIndex][colorIndex];
+    }
+
+    /**
+     * Tells whether the player's cards of a color would be flipped if the
+     * game ended right after playing the card, by the same rules as the
+     * end of the game: the players with the most cards of a color flip
+     * them, nobody flips when every player holds the same number, and with
+     * two players the lead must be at least the rules' minimum difference.
+     *
+     * @return true if the player would hold the majority of the color.
+     */
+    public boolean holdsMajorityAfter(int handIndex, int colorIndex) {
+        return holdsMajority(colorIndex, getOpenCountAfter(handIndex, colorIndex));
+    }
+
+    /**
+     * @return The number of colors the player would hold the majority of
+     * after playing the card.
+     */
+    public int getMajoritiesAfter(int handIndex) {
+        int majorities = 0;
+        for (int color = 0; color < colorCount; color++) {
+            if (holdsMajorityAfter(handIndex, color)) {
+                majorities++;
+            }
+        }
+        return majorities;
+    }
+
+    /**
+     * @return The player's score if the game ended right after playing the
+     * card, with the majorities flipped; lower is better.
+     */
+    public int getScoreAfter(int handIndex) {
+        int score = 0;
+        for (int color = 0; color < colorCount; color++) {
+            score += holdsMajorityAfter(handIndex, color)
+                    ? getOpenCountAfter(handIndex, color) * rules.getFlippedCardValue()
+                    : openValues[color] + takenColorValues[handIndex][color];
+        }
+        return score;
+    }
+
+    // ============================ Standings ============================
+    /**
+     * @return The player's open cards of a color, as of the last read.
+     */
+    public int getOpenCount(int colorIndex) {
+        return openCounts[colorIndex];
+    }
+
+    /**
+     * @return The summed values of the player's open cards of a color.
+     */
+    public int getOpenValue(int colorIndex) {
+        return openValues[colorIndex];
+    }
+
+    /**
+     * @return The most open cards of a color any other player holds.
+     */
+    public int getBestOther(int colorIndex) {
+        return bestOther[colorIndex];
+    }
+
+    /**
+     * Tells whether the player's cards of a color would be flipped if the
+     * game ended with the given number of them, by the rules of
+     * {@link #holdsMajorityAfter}.
+     *
+     * @param colorIndex The color.
+     * @param count      The player's open cards of it.
+     * @return true if the player would hold the majority of the color.
+     */
+    public boolean holdsMajority(int colorIndex, int count) {
+        int other = bestOther[colorIndex];
+        if (count < other || (othersEqual[colorIndex] && count == other)) {
+            return false;
+        }
+        int difference = count - other;
+        return seats != 2 || difference == 0 || difference >= rules.getMinDifferenceForTwoPlayers();
+    }
+
+    // ============================ Helpers ============================
+    private void ensureCapacity(int cards) {
+        if (hand != null && hand.length >= cards) {
+            return;
+        }
+        hand = new Card[cards];
+        taken = new Card[cards][rules.getDeckSize()];
+        takenCounts = new int[cards];
+        takenValues = new int[cards];
+        takenColorCounts = new int[cards][colorCount];
+        takenColorValues = new int[cards][colorCount];
+        limits = new int[cards];
+    }
+}
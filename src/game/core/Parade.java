@@ -1,6 +1,5 @@
 package game.core;
 
-import game.utils.Constants;
 import java.util.*;
 
 /**
@@ -11,16 +10,22 @@ import java.util.*;
 public class Parade {
 
     private final List<Card> cards;
+    private final List<Card> cardsView;
     private final Deck deck;
+    private final RuleSet rules;
 
     // ============================ Constructor ============================
 
     /**
-     * Constructor for Parade. Initializes an empty parade.
+     * Constructor for Parade. Initializes an empty parade that follows the
+     * rules of the given deck, or of the base game without one.
      */
     public Parade(Deck deck) {
         this.deck = deck;
-        this.cards = new ArrayList<>();
+        this.rules = deck == null ? RuleSet.BASE : deck.getRules();
+        // Room for the whole deck, so adding a card never grows the list mid-game
+        this.cards = new ArrayList<>(deck == null ? rules.getInitialParadeCards() : deck.size());
+        this.cardsView = Collections.unmodifiableList(cards);
     }
 
     // ======================== Parade Operations ==========================
@@ -29,7 +34,7 @@ public class Parade {
      * @throws IllegalStateException if there are not enough cards in the deck.
      */
     public void initializeParade() {
-        for (int i = 0; i < Constants.INITIAL_CARDS_OF_PARADE; i++) {
+        for (int i = 0; i < rules.getInitialParadeCards(); i++) {
             if (deck.isEmpty()) {
                 throw new IllegalStateException("Not enough cards in the deck to initialize a Parade");
             }
@@ -69,7 +74,7 @@ public class Parade {
         // Add cards that match the color or are less than the played card's value to eligibleCards
         for (int i = 0; i < toCount; i++) {
             Card card = cards.get(i);
-            if (card.getColor().equals(playedCard.getColor()) || playedCard.getValue() >= card.getValue()) {
+            if (isTakenBy(card, playedCard)) {
                 eligibleCards.add(card);
             }
         }
@@ -80,9 +85,53 @@ public class Parade {
         cards.removeAll(cardsToRemove);
     }
 
+    /**
+     * Removes the cards the played card takes and adds them to the given
+     * list, in parade order. This is {@link #getEligibleCards(Card)} followed
+     * by {@link #removeCards(List)} in a single pass that compacts the parade
+     * in place and allocates nothing.
+     *
+     * @param playedCard The card triggering the removal.
+     * @param taken      The list the removed cards are added to.
+     * @return The number of cards removed.
+     */
+    public int takeEligibleCards(Card playedCard, List<Card> taken) {
+        int size = cards.size();
+        int toCount = Math.max(size - playedCard.getValue() - 1, 0);
+        int kept = 0;
+        for (int i = 0; i < size; i++) {
+            Card card = cards.get(i);
+            if (i < toCount && isTakenBy(card, playedCard)) {
+                taken.add(card);
+            } else {
+                cards.set(kept++, card);
+            }
+        }
+        for (int i = size - 1; i >= kept; i--) {
+            cards.remove(i);
+        }
+        return size - kept;
+    }
+
+    /**
+     * @return true if the card matches the played card's color or its value
+     * is not above the played card's value.
+     */
+    private static boolean isTakenBy(Card card, Card playedCard) {
+        return card.getColorIndex() == playedCard.getColorIndex() || playedCard.getValue() >= card.getValue();
+    }
+
     // ========================= Getter Methods ============================
 
     public List<Card> getCards() {
-        return Collections.unmodifiableList(cards);
+        return cardsView;
+    }
+
+    public int size() {
+        return cards.size();
+    }
+
+    public RuleSet getRules() {
+        return rules;
     }
 }
@@ -1,6 +1,6 @@
 package game.core;
 
-import game.utils.Constants;
+import game.metrics.GameStats;
 import java.util.*;
 
 /**
@@ -19,11 +19,27 @@ public abstract class Player {
      * Cards in the player's hand (not visible to other players).
      */
     protected List<Card> closedCards;
+    private final List<Card> closedCardsView;
 
     /**
-     * Open cards grouped by color (visible to all players).
+     * The rules of the game the player sits in.
      */
-    protected Map<String, List<Card>> openCards;
+    private RuleSet rules;
+
+    /**
+     * Open cards grouped by color (visible to all players), indexed by
+     * {@link Card#getColorIndex()}. Every list is created up front with room
+     * for a whole color, so taking cards never allocates.
+     */
+    private List<List<Card>> openCards;
+    private List<List<Card>> openCardsViews;
+    private final Map<String, List<Card>> openCardsView;
+
+    /**
+     * Running totals of the open cards, kept so the rules never recount.
+     */
+    private int totalOpenCards;
+    private int collectedColors;
 
     /**
      * The player's current score.
@@ -38,9 +54,44 @@ public abstract class Player {
      */
     public Player(String name) {
         this.name = name;
-        this.closedCards = new ArrayList<>();
-        this.openCards = new HashMap<>();
+        this.closedCards = new ArrayList<>(RuleSet.BASE.getHandSize() + 1);
+        this.closedCardsView = Collections.unmodifiableList(closedCards);
+        this.openCardsView = new OpenCardsView();
         this.score = 0;
+        allocateOpenCards(RuleSet.BASE);
+    }
+
+    /**
+     * Seats the player in a game played by the given rules. Players start
+     * with the base rules; the {@code GameManager} of a variant calls this
+     * before any card is dealt.
+     *
+     * @param rules The rules of the game.
+     * @throws IllegalStateException if the player already holds cards.
+     */
+    public void setRules(RuleSet rules) {
+        if (rules == this.rules) {
+            return;
+        }
+        if (!closedCards.isEmpty() || totalOpenCards > 0) {
+            throw new IllegalStateException(name + " cannot change rules while holding cards.");
+        }
+        allocateOpenCards(rules);
+    }
+
+    /**
+     * Creates one open card list per color of the rules, each with room for
+     * every card of that color.
+     */
+    private void allocateOpenCards(RuleSet rules) {
+        this.rules = rules;
+        this.openCards = new ArrayList<>(rules.getColorCount());
+        this.openCardsViews = new ArrayList<>(rules.getColorCount());
+        for (int i = 0; i < rules.getColorCount(); i++) {
+            List<Card> cards = new ArrayList<>(rules.getCardsPerColor());
+            openCards.add(cards);
+            openCardsViews.add(Collections.unmodifiableList(cards));
+        }
     }
     // ============================ Player Type Check ============================
     /**
@@ -64,7 +115,7 @@ public abstract class Player {
      * @param deck The deck to draw cards from.
      */
     public void initializeClosedCards(Deck deck) {
-        for (int i = 0; i < Constants.INITIAL_HAND_SIZE; i++) {
+        for (int i = 0; i < rules.getHandSize(); i++) {
             Card card = deck.removeCardFromDeck();
             if (card != null) {
                 closedCards.add(card);
@@ -81,24 +132,70 @@ public abstract class Player {
      * @param parade The parade from which cards are drawn.
      */
     public List<Card> drawCardsFromParade(Parade parade) {
+        return drawCardsFromParade(parade, new ArrayList<>());
+    }
+
+    /**
+     * Draws cards from the parade into the given list instead of a new one.
+     * Game loops that reuse the list take cards without allocating.
+     *
+     * @param parade The parade from which cards are drawn.
+     * @param taken  The list to fill; it is cleared first.
+     * @return The given list, holding the cards taken.
+     */
+    public List<Card> drawCardsFromParade(Parade parade, List<Card> taken) {
+        taken.clear();
 
         // Not necessary but kept for consistency
         if (parade.isEmpty()) {
-            return new ArrayList<>();
+            return taken;
         }
 
         Card playedCard = parade.getLastPlayedCard();
-        List<Card> cardsToReceive = parade.getEligibleCards(playedCard);
-        parade.removeCards(cardsToReceive);
-        addCardsToOpenCards(cardsToReceive);
+        parade.takeEligibleCards(playedCard, taken);
+        for (int i = 0; i < taken.size(); i++) {
+            addOpenCard(taken.get(i));
+        }
+        GameStats.get().cardsTaken(taken.size());
 
-        return cardsToReceive;
+        return taken;
     }
 
-    private void addCardsToOpenCards(List<Card> cards) {
-        for (Card card : cards) {
-            openCards.computeIfAbsent(card.getColor(), key -> new ArrayList<>()).add(card);
+    /**
+     * Moves the card at the given hand index to the end of the parade without
+     * rendering anything. Headless game flows use this instead of
+     * {@link #playCard(Parade, Scanner)}.
+     *
+     * @param index  The zero-based index of the card in the closed cards.
+     * @param parade The parade the card is played into.
+     * @return The card that was played.
+     */
+    public Card playCardAt(int index, Parade parade) {
+        Card card = closedCards.remove(index);
+        parade.addCard(card);
+        return card;
+    }
+
+    /**
+     * Moves the card at the given hand index to the open cards without
+     * rendering anything. This is one final play move.
+     *
+     * @param index The zero-based index of the card in the closed cards.
+     * @return The card that was moved.
+     */
+    public Card discardCardAt(int index) {
+        Card card = closedCards.remove(index);
+        addOpenCard(card);
+        return card;
+    }
+
+    private void addOpenCard(Card card) {
+        List<Card> cards = openCards.get(card.getColorIndex());
+        if (cards.isEmpty()) {
+            collectedColors++;
         }
+        cards.add(card);
+        totalOpenCards++;
     }
 
     // ============================ Deck Interaction ============================
@@ -120,9 +217,10 @@ public abstract class Player {
      */
     public void calculateScore() {
         score = 0;
-        for (List<Card> cards : openCards.values()) {
-            for (Card card : cards) {
-                score += card.getValue();
+        for (int color = 0; color < openCards.size(); color++) {
+            List<Card> cards = openCards.get(color);
+            for (int i = 0; i < cards.size(); i++) {
+                score += cards.get(i).getValue();
             }
         }
     }
@@ -133,11 +231,43 @@ public abstract class Player {
     }
 
     public List<Card> getClosedCards() {
-        return Collections.unmodifiableList(closedCards);
+        return closedCardsView;
     }
 
+    /**
+     * @return A read-only view of the open cards by color. Only colors the
+     * player holds at least one card of are present.
+     */
     public Map<String, List<Card>> getOpenCards() {
-        return Collections.unmodifiableMap(openCards);
+        return openCardsView;
+    }
+
+    /**
+     * @param colorIndex The index of a color in the player's rule set.
+     * @return The number of open cards of that color.
+     */
+    public int getOpenCardCount(int colorIndex) {
+        return openCards.get(colorIndex).size();
+    }
+
+    /**
+     * @param colorIndex The index of a color in the player's rule set.
+     * @return A read-only list of the open cards of that color, empty if
+     * there are none.
+     */
+    public List<Card> getOpenCards(int colorIndex) {
+        return openCardsViews.get(colorIndex);
+    }
+
+    public RuleSet getRules() {
+        return rules;
+    }
+
+    /**
+     * @return The number of different colors among the open cards.
+     */
+    public int getCollectedColors() {
+        return collectedColors;
     }
 
     public int getScore() {
@@ -150,9 +280,7 @@ public abstract class Player {
      * @return The total count of open cards.
      */
     public int getTotalOpenCards() {
-        return openCards.values().stream()
-                .mapToInt(List::size)
-                .sum();
+        return totalOpenCards;
     }
 
     /**
@@ -161,11 +289,7 @@ public abstract class Player {
      * @return The total color count of open cards.
      */
     public int getColorCount() {
-        int totalCount = 0;
-        for (List<Card> cards : openCards.values()) {
-            totalCount += cards.size();
-        }
-        return totalCount;
+        return totalOpenCards;
     }
 
     // ============================ Setter Methods ============================
@@ -175,6 +299,98 @@ public abstract class Player {
 
     // For testing of tiebreakers
     public void setOpenCards(Map<String, List<Card>> openCards) {
-        this.openCards = new HashMap<>(openCards);
+        for (List<Card> cards : this.openCards) {
+            cards.clear();
+        }
+        totalOpenCards = 0;
+        collectedColors = 0;
+        for (List<Card> cards : openCards.values()) {
+            for (Card card : cards) {
+                addOpenCard(card);
+            }
+        }
+    }
+
+    // ============================ Open Cards View ============================
+    /**
+     * Read-only map view of the open cards keyed by color name. Lookups go
+     * straight to the color's list, so the rules can query it without
+     * allocating; only iteration creates an iterator.
+     */
+    private final class OpenCardsView extends AbstractMap<String, List<Card>> {
+
+        private final Set<Map.Entry<String, List<Card>>> entries = new AbstractSet<>() {
+            @Override
+            public Iterator<Map.Entry<String, List<Card>>> iterator() {
+                return new Iterator<>() {
+                    private int next = advance(0);
+
+                    @Override
+                    public boolean hasNext() {
+                        return next < openCards.size();
+                    }
+
+                    @Override
+                    public Map.Entry<String, List<Card>> next() {
+                        if (!hasNext()) {
+                            throw new NoSuchElementException();
+                        }
+                        int color = next;
+                        next = advance(color + 1);
+                        return new AbstractMap.SimpleImmutableEntry<>(rules.getColor(color), openCardsViews.get(color));
+                    }
+                };
+            }
+
+            @Override
+            public int size() {
+                return collectedColors;
+            }
+        };
+
+        @Override
+        public Set<Map.Entry<String, List<Card>>> entrySet() {
+            return entries;
+        }
+
+        @Override
+        public int size() {
+            return collectedColors;
+        }
+
+        @Override
+        public boolean isEmpty() {
+            return collectedColors == 0;
+        }
+
+        @Override
+        public boolean containsKey(Object key) {
+            return get(key) != null;
+        }
+
+        @Override
+        public List<Card> get(Object key) {
+            int color = key instanceof String ? rules.indexOfColor((String) key) : -1;
+            if (color < 0 || openCards.get(color).isEmpty()) {
+                return null;
+            }
+            return openCardsViews.get(color);
+        }
+
+        @Override
+        public List<Card> getOrDefault(Object key, List<Card> defaultValue) {
+            List<Card> cards = get(key);
+            return cards == null ? defaultValue : cards;
+        }
+
+        /**
+         * @return The first color at or after the given index that has cards.
+         */
+        private int advance(int color) {
+            while (color < openCards.size() && openCards.get(color).isEmpty()) {
+                color++;
+            }
+            return color;
+        }
     }
 }
@@ -0,0 +1,256 @@
+package game.core;
+
+import game.utils.Constants;
+import java.util.*;
+
+/**
+ * The parameters of one variant of the game: the card colors, how many copies
+ * of the deck are shuffled together, the card values, the table size and the
+ * numbers of cards dealt, laid out and discarded. A RuleSet is immutable and
+ * is handed to the {@link Deck}, which passes it on to the parade, the
+ * players and the managers of the game it belongs to.
+ *
+ * Colors are identified by their position in {@link #getColors()}, so every
+ * per-color structure is an array or list indexed by
+ * {@link Card#getColorIndex()} and grows linearly with the number of colors.
+ */
+public final class RuleSet {
+
+    // ============================ Presets ============================
+    /**
+     * The rules of the published game: six colors, one deck, 2 to 6 players.
+     */
+    public static final RuleSet BASE = new RuleSet("Base", Constants.COLORS, 1,
+            Constants.MINVALUEOFCARD, Constants.MAXVALUEOFCARD,
+            Constants.MIN_PLAYERS, Constants.MAX_PLAYERS,
+            Constants.INITIAL_CARDS_OF_PARADE, Constants.INITIAL_HAND_SIZE,
+            Constants.FINAL_PLAY_MOVES, Constants.MIN_DIFFERENCE_FOR_TWO_PLAYERS,
+            Constants.FLIPPED_CARD_VALUE);
+
+    /**
+     * Two decks shuffled together, for up to 8 players and longer games.
+     */
+    public static final RuleSet DOUBLE_DECK = new RuleSet("Double Deck", Constants.COLORS, 2,
+            Constants.MINVALUEOFCARD, Constants.MAXVALUEOFCARD,
+            Constants.MIN_PLAYERS, 8,
+            Constants.INITIAL_CARDS_OF_PARADE, Constants.INITIAL_HAND_SIZE,
+            Constants.FINAL_PLAY_MOVES, Constants.MIN_DIFFERENCE_FOR_TWO_PLAYERS,
+            Constants.FLIPPED_CARD_VALUE);
+
+    /**
+     * Eight colors in one deck, for up to 8 players.
+     */
+    public static final RuleSet MORE_COLORS = new RuleSet("More Colors", Constants.EXTENDED_COLORS, 1,
+            Constants.MINVALUEOFCARD, Constants.MAXVALUEOFCARD,
+            Constants.MIN_PLAYERS, 8,
+            Constants.INITIAL_CARDS_OF_PARADE, Constants.INITIAL_HAND_SIZE,
+            Constants.FINAL_PLAY_MOVES, Constants.MIN_DIFFERENCE_FOR_TWO_PLAYERS,
+            Constants.FLIPPED_CARD_VALUE);
+
+    /**
+     * Eight colors and two decks, for events of up to 12 players.
+     */
+    public static final RuleSet LARGE_TABLE = new RuleSet("Large Table", Constants.EXTENDED_COLORS, 2,
+            Constants.MINVALUEOFCARD, Constants.MAXVALUEOFCARD,
+            Constants.MIN_PLAYERS, 12,
+            Constants.INITIAL_CARDS_OF_PARADE, Constants.INITIAL_HAND_SIZE,
+            Constants.FINAL_PLAY_MOVES, Constants.MIN_DIFFERENCE_FOR_TWO_PLAYERS,
+            Constants.FLIPPED_CARD_VALUE);
+
+    private static final List<RuleSet> PRESETS = List.of(BASE, DOUBLE_DECK, MORE_COLORS, LARGE_TABLE);
+
+    // ============================ Instance Variables ============================
+    private final String name;
+    private final String[] colors;
+    private final List<String> colorsView;
+    private final int decks;
+    private final int minCardValue;
+    private final int maxCardValue;
+    private final int minPlayers;
+    private final int maxPlayers;
+    private final int initialParadeCards;
+    private final int handSize;
+    private final int finalPlayMoves;
+    private final int minDifferenceForTwoPlayers;
+    private final int flippedCardValue;
+
+    // ============================ Constructor ============================
+    /**
+     * Creates a variant of the rules.
+     *
+     * @param name                       The name shown to players.
+     * @param colors                     The card colors, in display order.
+     * @param decks                      The number of copies of every card.
+     * @param minCardValue               The lowest card value.
+     * @param maxCardValue               The highest card value.
+     * @param minPlayers                 The fewest players at a table.
+     * @param maxPlayers                 The most players at a table.
+     * @param initialParadeCards         The number of cards the parade starts with.
+     * @param handSize                   The number of cards in a hand.
+     * @param finalPlayMoves             The number of cards each player discards at the end.
+     * @param minDifferenceForTwoPlayers The lead a player needs in a color to
+     *                                   flip it when only two play.
+     * @param flippedCardValue           The value a flipped card scores.
+     * @throws IllegalArgumentException if the parameters are inconsistent or
+     * the deck is too small to deal a full table.
+     */
+    public RuleSet(String name, String[] colors, int decks, int minCardValue, int maxCardValue,
+            int minPlayers, int maxPlayers, int initialParadeCards, int handSize,
+            int finalPlayMoves, int minDifferenceForTwoPlayers, int flippedCardValue) {
+        if (colors.length == 0) {
+            throw new IllegalArgumentException("A rule set needs at least one color.");
+        }
+        for (int i = 0; i < colors.length; i++) {
+            for (int j = 0; j < i; j++) {
+                if (colors[i].equalsIgnoreCase(colors[j])) {
+                    throw new IllegalArgumentException("Duplicate color: " + colors[i]);
+                }
+            }
+        }
+        if (decks < 1 || minCardValue > maxCardValue || minPlayers < 2 || maxPlayers < minPlayers
+                || handSize < finalPlayMoves || finalPlayMoves < 1
+                || flippedCardValue < minCardValue || flippedCardValue > maxCardValue) {
+            throw new IllegalArgumentException("Inconsistent rule set: " + name);
+        }
+
+        this.name = name;
+        this.colors = colors.clone();
+        this.colorsView = Collections.unmodifiableList(Arrays.asList(this.colors));
+        this.decks = decks;
+        this.minCardValue = minCardValue;
+        this.maxCardValue = maxCardValue;
+        this.minPlayers = minPlayers;
+        this.maxPlayers = maxPlayers;
+        this.initialParadeCards = initialParadeCards;
+        this.handSize = handSize;
+        this.finalPlayMoves = finalPlayMoves;
+        this.minDifferenceForTwoPlayers = minDifferenceForTwoPlayers;
+        this.flippedCardValue = flippedCardValue;
+
+        // A full table must be dealt and the parade laid out with a card left to draw
+        if (getDeckSize() <= maxPlayers * handSize + initialParadeCards) {
+            throw new IllegalArgumentException("The deck of " + name + " is too small for "
+                    + maxPlayers + " players.");
+        }
+    }
+
+    // ============================ Presets ============================
+    /**
+     * @return The built-in variants, base game first.
+     */
+    public static List<RuleSet> presets() {
+        return PRESETS;
+    }
+
+    /**
+     * Finds a preset by name, ignoring case, spaces and underscores, so that
+     * "Large Table", "large_table" and "LARGETABLE" all match.
+     *
+     * @param name The name of the preset.
+     * @return The preset.
+     * @throws IllegalArgumentException if no preset has that name.
+     */
+    public static RuleSet preset(String name) {
+        String wanted = name.replaceAll("[\\s_]", "");
+        for (RuleSet rules : PRESETS) {
+            if (rules.name.replace(" ", "").equalsIgnoreCase(wanted)) {
+                return rules;
+            }
+        }
+        throw new IllegalArgumentException("Unknown rule set: " + name);
+    }
+
+    // ============================ Colors ============================
+    /**
+     * Finds the position of a color in this rule set.
+     *
+     * @param color The color name (case-insensitive).
+     * @return The index of the color, or -1 if it is not one of the colors.
+     */
+    public int indexOfColor(String color) {
+        for (int i = 0; i < colors.length; i++) {
+            if (colors[i].equalsIgnoreCase(color)) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    public String getColor(int colorIndex) {
+        return colors[colorIndex];
+    }
+
+    /**
+     * @return The colors, read-only, in index order.
+     */
+    public List<String> getColors() {
+        return colorsView;
+    }
+
+    public int getColorCount() {
+        return colors.length;
+    }
+
+    // ============================ Derived Sizes ============================
+    /**
+     * @return The number of cards of one color across all decks.
+     */
+    public int getCardsPerColor() {
+        return (maxCardValue - minCardValue + 1) * decks;
+    }
+
+    public int getDeckSize() {
+        return colors.length * getCardsPerColor();
+    }
+
+    // ============================ Getters ============================
+    public String getName() {
+        return name;
+    }
+
+    public int getDecks() {
+        return decks;
+    }
+
+    public int getMinCardValue() {
+        return minCardValue;
+    }
+
+    public int getMaxCardValue() {
+        return maxCardValue;
+    }
+
+    public int getMinPlayers() {
+        return minPlayers;
+    }
+
+    public int getMaxPlayers() {
+        return maxPlayers;
+    }
+
+    public int getInitialParadeCards() {
+        return initialParadeCards;
+    }
+
+    public int getHandSize() {
+        return handSize;
+    }
+
+    public int getFinalPlayMoves() {
+        return finalPlayMoves;
+    }
+
+    public int getMinDifferenceForTwoPlayers() {
+        return minDifferenceForTwoPlayers;
+    }
+
+    public int getFlippedCardValue() {
+        return flippedCardValue;
+    }
+
+    @Override
+    public String toString() {
+        return String.format("%s (%d colors, %d deck%s, %d-%d players)", name, colors.length,
+                decks, decks == 1 ? "" : "s", minPlayers, maxPlayers);
+    }
+}
@@ -0,0 +1,76 @@
+package game.engine;
+
+import game.core.*;
+import game.gameplay.GameStateMachine;
+import game.utils.Constants;
+import java.util.*;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Match harness for external engines. Plays headless games in parallel in
+ * which one seat is driven by the engine and the others by random computer
+ * players, then reports throughput, the engine's share of wins, decision
+ * round-trip time and timeouts.
+ *
+ * Usage: {@code java -cp out game.engine.EngineMatch "engine command" [games] [threads] [movetimeMs] [players]}
+ */
+public class EngineMatch {
+
+    public static void main(String[] args) throws Exception {
+        if (args.length == 0) {
+            System.out.println("Usage: EngineMatch \"engine command\" [games] [threads] [movetimeMs] [players]");
+            return;
+        }
+        List<String> commandLine = Arrays.asList(args[0].trim().split("\\s+"));
+        int gameCount = args.length > 1 ? Integer.parseInt(args[1]) : 1_000;
+        int threads = args.length > 2 ? Integer.parseInt(args[2]) : Runtime.getRuntime().availableProcessors();
+        int moveTimeMs = args.length > 3 ? Integer.parseInt(args[3]) : Constants.ENGINE_MOVE_TIME_MS;
+        int playersPerGame = args.length > 4 ? Integer.parseInt(args[4]) : 4;
+
+        AtomicInteger remaining = new AtomicInteger(gameCount);
+        AtomicInteger engineWins = new AtomicInteger();
+
+        try (EnginePool pool = new EnginePool(commandLine, threads)) {
+            EngineStrategy strategy = new EngineStrategy(pool, moveTimeMs);
+            ExecutorService executor = Executors.newFixedThreadPool(threads);
+            long start = System.nanoTime();
+            for (int t = 0; t < threads; t++) {
+                executor.execute(() -> {
+                    Random random = new Random();
+                    while (remaining.getAndDecrement() > 0) {
+                        Computer engineSeat = new Computer("Engine", strategy);
+                        List<Player> players = new ArrayList<>(playersPerGame);
+                        players.add(engineSeat);
+                        for (int p = 1; p < playersPerGame; p++) {
+                            players.add(new Computer("Bot " + p));
+                        }
+                        GameStateMachine game = new GameStateMachine(players, random);
+                        while (game.step()) {
+                            // Every seat is a computer, so the game runs to the end
+                        }
+                        if (game.getWinner() == engineSeat) {
+                            engineWins.incrementAndGet();
+                        }
+                    }
+                });
+            }
+            executor.shutdown();
+            executor.awaitTermination(Long.MAX_VALUE, TimeUnit.DAYS);
+            double seconds = (System.nanoTime() - start) / 1e9;
+
+            long[] totals = pool.totals();
+            long searches = Math.max(totals[0], 1);
+            System.out.println("=".repeat(40));
+            System.out.printf("Engine:           %s%n", args[0]);
+            System.out.printf("Games:            %d x %d players, %d threads%n", gameCount, playersPerGame, threads);
+            System.out.printf("Throughput:       %.0f games/hour%n", gameCount / seconds * 3600);
+            System.out.printf("Engine wins:      %d (%.1f%%, fair share %.1f%%)%n",
+                    engineWins.get(), 100.0 * engineWins.get() / gameCount, 100.0 / playersPerGame);
+            System.out.printf("Decisions:        %d, %.3f ms average round trip (movetime %d ms)%n",
+                    totals[0], totals[2] / 1e6 / searches, moveTimeMs);
+            System.out.printf("Timeouts:         %d, fallbacks %d%n", totals[1], strategy.getFallbacks());
+            System.out.println("=".repeat(40));
+        }
+    }
+}
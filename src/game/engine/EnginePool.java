@@ -0,0 +1,156 @@
+package game.engine;
+
+import java.io.*;
+import java.util.*;
+import java.util.concurrent.*;
+
+/**
+ * A bounded pool of engine processes started from the same command line.
+ * Engines are started on demand up to the pool size and reused afterwards,
+ * so the start-up cost is paid once per engine instead of once per game.
+ */
+public class EnginePool implements Closeable {
+
+    private static final long BORROW_RECHECK_MS = 100;
+
+    // ============================ Instance Variables ============================
+    private final List<String> commandLine;
+    private final int size;
+    private final BlockingQueue<EngineProcess> idle;
+    private final List<EngineProcess> all;
+    private final long[] retired = new long[3];
+
+    /**
+     * Slots reserved for engines that are being started, guarded by
+     * {@code all}. Starting one takes a while, so it happens outside the lock.
+     */
+    private int starting;
+    private boolean closed;
+
+    // ============================ Constructor ============================
+    /**
+     * @param commandLine The command that starts one engine.
+     * @param size        The maximum number of engines running at once.
+     */
+    public EnginePool(List<String> commandLine, int size) {
+        this.commandLine = commandLine;
+        this.size = size;
+        this.idle = new LinkedBlockingQueue<>();
+        this.all = new ArrayList<>();
+    }
+
+    // ============================ Borrowing ============================
+    /**
+     * Takes an idle engine, starting a new one if the pool is not full yet,
+     * or waits until another thread releases one.
+     *
+     * @return An engine owned by the caller until it is released.
+     * @throws IOException if a new engine cannot be started or the pool is
+     *                     closed.
+     */
+    public EngineProcess borrow() throws IOException, InterruptedException {
+        EngineProcess engine = idle.poll();
+        while (engine == null) {
+            if (reserve()) {
+                return start();
+            }
+            // Recheck the size now and then in case a broken engine was dropped
+            engine = idle.poll(BORROW_RECHECK_MS, TimeUnit.MILLISECONDS);
+        }
+        return engine;
+    }
+
+    /**
+     * @return true if a slot was free and is now reserved for a new engine.
+     * @throws IOException if the pool is closed.
+     */
+    private boolean reserve() throws IOException {
+        synchronized (all) {
+            if (closed) {
+                throw new IOException("The engine pool is closed.");
+            }
+            if (all.size() + starting < size) {
+                starting++;
+                return true;
+            }
+            return false;
+        }
+    }
+
+    /**
+     * Starts an engine in a reserved slot. The slot is given back if the
+     * engine fails to start.
+     */
+    private EngineProcess start() throws IOException {
+        EngineProcess engine;
+        try {
+            engine = new EngineProcess(commandLine);
+        } catch (IOException | RuntimeException e) {
+            synchronized (all) {
+                starting--;
+            }
+            throw e;
+        }
+        synchronized (all) {
+            starting--;
+            if (!closed) {
+                all.add(engine);
+                return engine;
+            }
+        }
+        engine.close();
+        throw new IOException("The engine pool was closed while an engine started.");
+    }
+
+    /**
+     * Returns an engine to the pool. An engine that has stopped or lost
+     * track of its replies is closed and replaced on the next borrow.
+     */
+    public void release(EngineProcess engine) {
+        if (engine.isHealthy()) {
+            idle.add(engine);
+            return;
+        }
+        synchronized (all) {
+            all.remove(engine);
+            retired[0] += engine.getSearches();
+            retired[1] += engine.getTimeouts();
+            retired[2] += engine.getRoundTripNanos();
+        }
+        engine.close();
+    }
+
+    // ============================ Statistics ============================
+    /**
+     * @return The totals of searches, timeouts and round-trip nanoseconds
+     * over all engines this pool has started.
+     */
+    public long[] totals() {
+        long[] totals = new long[3];
+        synchronized (all) {
+            System.arraycopy(retired, 0, totals, 0, totals.length);
+            for (EngineProcess engine : all) {
+                totals[0] += engine.getSearches();
+                totals[1] += engine.getTimeouts();
+                totals[2] += engine.getRoundTripNanos();
+            }
+        }
+        return totals;
+    }
+
+    // ============================ Lifecycle ============================
+    @Override
+    public void close() {
+        List<EngineProcess> engines;
+        synchronized (all) {
+            closed = true;
+            engines = new ArrayList<>(all);
+            all.clear();
+        }
+        idle.clear();
+        // Stopping an engine waits for its process, so it happens outside the lock
+        for (EngineProcess engine : engines) {
+            engine.close();
+        }
+    }
+}
@@ -0,0 +1,233 @@
+package game.engine;
+
+import game.core.*;
+import game.utils.Constants;
+import java.io.*;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * One running engine process. Commands are written to its standard input;
+ * a daemon thread reads its standard output into a fixed byte buffer and
+ * parses replies in place, so reading replies allocates nothing per line.
+ *
+ * An engine serves one search at a time. Use an {@link EnginePool} to share
+ * engines between tables.
+ */
+public class EngineProcess implements Closeable {
+
+    // ============================ Instance Variables ============================
+    private final Process process;
+    private final Writer input;
+    private final StringBuilder command;
+    private final Thread reader;
+
+    /**
+     * Number of bestmove replies received so far and the latest one.
+     */
+    private volatile long answers;
+    private volatile int lastAnswer;
+    private volatile boolean ready;
+
+    private long requests;
+    private volatile Thread waiter;
+    private boolean broken;
+
+    /**
+     * Written only by the thread that borrowed the engine, but read by
+     * {@link EnginePool#totals()} from any thread.
+     */
+    private volatile long searches;
+    private volatile long timeouts;
+    private volatile long roundTripNanos;
+
+    // ============================ Constructor ============================
+    /**
+     * Starts the engine and completes the handshake.
+     *
+     * @param commandLine The command that starts the engine.
+     * @throws IOException if the engine cannot be started or does not answer
+     *                     the handshake in time.
+     */
+    public EngineProcess(List<String> commandLine) throws IOException {
+        this.process = new ProcessBuilder(commandLine)
+                .redirectError(ProcessBuilder.Redirect.INHERIT)
+                .start();
+        this.input = new BufferedWriter(new OutputStreamWriter(process.getOutputStream(), StandardCharsets.UTF_8));
+        this.command = new StringBuilder(512);
+        this.reader = new Thread(this::readReplies, "engine-reader-" + process.pid());
+        reader.setDaemon(true);
+        reader.start();
+
+        handshake(EngineProtocol.HELLO);
+        handshake(EngineProtocol.IS_READY);
+    }
+
+    // ============================ Searching ============================
+    /**
+     * Sends the position and asks the engine for a move within the time
+     * control. If the engine misses the deadline it is told to stop. If it
+     * still does not answer, -1 is returned and the late reply is ignored.
+     *
+     * @param self       The player the engine plays for.
+     * @param parade     The current parade, or null during the final phase.
+     * @param players    All players at the table.
+     * @param deck       The deck.
+     * @param discard    true to choose a final-phase discard.
+     * @param moveTimeMs The time the engine may think.
+     * @return A zero-based index into the hand, or -1 on timeout.
+     */
+    public int search(Player self, Parade parade, List<Player> players, Deck deck,
+            boolean discard, int moveTimeMs) throws IOException {
+        long start = System.nanoTime();
+        command.setLength(0);
+        EngineProtocol.appendPosition(command, self, parade, players, deck);
+        command.append(discard ? "go discard movetime " : "go play movetime ").append(moveTimeMs).append('\n');
+
+        long request = ++requests;
+        waiter = Thread.currentThread();
+        send(command);
+
+        long deadline = start + TimeUnit.MILLISECONDS.toNanos(moveTimeMs + Constants.ENGINE_GRACE_MS);
+        if (!awaitAnswer(request, deadline)) {
+            send("stop\n");
+            if (!awaitAnswer(request, System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(Constants.ENGINE_GRACE_MS))) {
+                timeouts++;
+                broken = true; // Replies can no longer be matched to requests
+                waiter = null;
+                return -1;
+            }
+        }
+        waiter = null;
+
+        searches++;
+        roundTripNanos += System.nanoTime() - start;
+        return lastAnswer - 1;
+    }
+
+    public void newGame() throws IOException {
+        send("newgame\n");
+    }
+
+    /**
+     * @return true if the engine is running and its replies are in step with
+     * the requests.
+     */
+    public boolean isHealthy() {
+        return !broken && process.isAlive();
+    }
+
+    // ============================ Statistics ============================
+    public long getSearches() {
+        return searches;
+    }
+
+    public long getTimeouts() {
+        return timeouts;
+    }
+
+    public long getRoundTripNanos() {
+        return roundTripNanos;
+    }
+
+    // ============================ Lifecycle ============================
+    @Override
+    public void close() {
+        try {
+            send("quit\n");
+        } catch (IOException e) {
+            // The engine is already gone
+        }
+        try {
+            if (!process.waitFor(Constants.ENGINE_GRACE_MS, TimeUnit.MILLISECONDS)) {
+                process.destroy();
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt(); // Restore the interrupted status
+            process.destroy();
+        }
+    }
+
+    // ============================ Helpers ============================
+    private void send(CharSequence text) throws IOException {
+        input.append(text);
+        input.flush();
+    }
+
+    private void handshake(String hello) throws IOException {
+        ready = false;
+        waiter = Thread.currentThread();
+        send(hello + "\n");
+        long deadline = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(Constants.ENGINE_HANDSHAKE_MS);
+        while (!ready && System.nanoTime() < deadline && process.isAlive()) {
+            LockSupport.parkNanos(this, deadline - System.nanoTime());
+        }
+        waiter = null;
+        if (!ready) {
+            process.destroy();
+            throw new IOException("Engine did not answer '" + hello + "'");
+        }
+    }
+
+    /**
+     * Waits until the reply to the given request has arrived or the deadline
+     * has passed.
+     */
+    private boolean awaitAnswer(long request, long deadline) {
+        while (answers < request) {
+            long remaining = deadline - System.nanoTime();
+            if (remaining <= 0 || !process.isAlive()) {
+                return false;
+            }
+            LockSupport.parkNanos(this, remaining);
+        }
+        return true;
+    }
+
+    /**
+     * Reader loop: splits the engine's output into lines inside one byte array
+     * and parses each line in place.
+     */
+    private void readReplies() {
+        byte[] line = new byte[Constants.MAX_LINE_LENGTH];
+        int length = 0;
+        try (InputStream output = new BufferedInputStream(process.getInputStream())) {
+            int b;
+            while ((b = output.read()) >= 0) {
+                if (b == '\n') {
+                    if (length > 0 && line[length - 1] == '\r') {
+                        length--;
+                    }
+                    handleReply(line, length);
+                    length = 0;
+                } else if (length < line.length) {
+                    line[length++] = (byte) b;
+                }
+            }
+        } catch (IOException e) {
+            // The engine closed its output; searches will time out
+        }
+        Thread current = waiter;
+        if (current != null) {
+            LockSupport.unpark(current);
+        }
+    }
+
+    private void handleReply(byte[] line, int length) {
+        if (EngineProtocol.startsWith(line, length, EngineProtocol.BEST_MOVE)) {
+            lastAnswer = EngineProtocol.parseArgument(line, length, EngineProtocol.BEST_MOVE);
+            answers++;
+        } else if (EngineProtocol.startsWith(line, length, EngineProtocol.HELLO_OK)
+                || EngineProtocol.startsWith(line, length, EngineProtocol.READY_OK)) {
+            ready = true;
+        } else {
+            return; // id and info lines are ignored
+        }
+        Thread current = waiter;
+        if (current != null) {
+            LockSupport.unpark(current);
+        }
+    }
+}
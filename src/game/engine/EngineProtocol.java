@@ -0,0 +1,123 @@
+package game.engine;
+
+import game.core.*;
+import java.util.List;
+
+/**
+ * Text protocol between the game and external bot engines, modelled on the
+ * chess UCI protocol. The game writes commands to the engine's standard
+ * input and reads replies from its standard output, one per line.
+ *
+ * Game to engine:
+ * <pre>
+ * pei                              start of session, answered with peiok
+ * isready                          answered with readyok
+ * newgame                          a new game begins
+ * position seats n me s deck d     table size, engine's seat, deck size
+ * parade card...                   the parade, oldest card first
+ * hand card...                     the engine's closed cards
+ * open s card...                   open cards of seat s (one line per seat)
+ * go play movetime ms              choose a card to play into the parade
+ * go discard movetime ms           choose a card to move to the open cards
+ * stop                             answer bestmove immediately
+ * quit                             terminate
+ * </pre>
+ *
+ * Engine to game:
+ * <pre>
+ * id name text                     optional, before peiok
+ * peiok | readyok
+ * info text                        optional, ignored
+ * bestmove n                       one-based index into the hand
+ * </pre>
+ *
+ * Cards are written as {@code Color:value}, for example {@code Red:7}.
+ */
+public final class EngineProtocol {
+
+    public static final String HELLO = "pei";
+    public static final String HELLO_OK = "peiok";
+    public static final String IS_READY = "isready";
+    public static final String READY_OK = "readyok";
+    public static final String BEST_MOVE = "bestmove";
+
+    private EngineProtocol() {
+    }
+
+    /**
+     * Writes the full position seen by one seat into the given builder.
+     *
+     * @param out     The builder to append to.
+     * @param self    The player the engine plays for.
+     * @param parade  The current parade.
+     * @param players All players at the table, in turn order.
+     * @param deck    The deck, used for its size only.
+     */
+    public static void appendPosition(StringBuilder out, Player self, Parade parade, List<Player> players, Deck deck) {
+        out.append("position seats ").append(players.size())
+                .append(" me ").append(players.indexOf(self))
+                .append(" deck ").append(deck == null ? 0 : deck.size()).append('\n');
+
+        out.append("parade");
+        if (parade != null) {
+            appendCards(out, parade.getCards());
+        }
+        out.append('\n');
+
+        out.append("hand");
+        appendCards(out, self.getClosedCards());
+        out.append('\n');
+
+        for (int seat = 0; seat < players.size(); seat++) {
+            out.append("open ").append(seat);
+            for (List<Card> cards : players.get(seat).getOpenCards().values()) {
+                appendCards(out, cards);
+            }
+            out.append('\n');
+        }
+    }
+
+    private static void appendCards(StringBuilder out, List<Card> cards) {
+        for (Card card : cards) {
+            out.append(' ').append(card.getColor()).append(':').append(card.getValue());
+        }
+    }
+
+    // ============================ Reply Parsing ============================
+    /**
+     * Checks whether the bytes of a line start with the given ASCII word
+     * followed by a space or the end of the line. Does not allocate.
+     */
+    public static boolean startsWith(byte[] line, int length, String word) {
+        if (length < word.length()) {
+            return false;
+        }
+        for (int i = 0; i < word.length(); i++) {
+            if (line[i] != word.charAt(i)) {
+                return false;
+            }
+        }
+        return length == word.length() || line[word.length()] == ' ';
+    }
+
+    /**
+     * Parses the non-negative integer that follows the first word of a line.
+     * Does not allocate.
+     *
+     * @return The number, or -1 if there is none.
+     */
+    public static int parseArgument(byte[] line, int length, String word) {
+        int i = word.length();
+        while (i < length && line[i] == ' ') {
+            i++;
+        }
+        int value = 0;
+        int digits = 0;
+        while (i < length && line[i] >= '0' && line[i] <= '9' && digits < 9) {
+            value = value * 10 + (line[i] - '0');
+            digits++;
+            i++;
+        }
+        return digits == 0 ? -1 : value;
+    }
+}
@@ -0,0 +1,79 @@
+package game.engine;
+
+import game.ai.*;
+import game.core.*;
+import java.io.IOException;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Lets an external engine decide for a computer seat. Each decision borrows
+ * an engine from the pool, so many tables can share a few processes. When
+ * the engine times out, fails or answers with a card that is not in the
+ * hand, the fallback strategy decides instead and the failure is counted.
+ */
+public class EngineStrategy implements ComputerStrategy {
+
+    // ============================ Instance Variables ============================
+    private final EnginePool pool;
+    private final int moveTimeMs;
+    private final ComputerStrategy fallback;
+    private final AtomicLong fallbacks = new AtomicLong();
+
+    // ============================ Constructor ============================
+    /**
+     * @param pool       The engines to ask.
+     * @param moveTimeMs The think time given to the engine per decision.
+     */
+    public EngineStrategy(EnginePool pool, int moveTimeMs) {
+        this(pool, moveTimeMs, new RandomStrategy());
+    }
+
+    public EngineStrategy(EnginePool pool, int moveTimeMs, ComputerStrategy fallback) {
+        this.pool = pool;
+        this.moveTimeMs = moveTimeMs;
+        this.fallback = fallback;
+    }
+
+    // ============================ Decisions ============================
+    @Override
+    public int chooseCard(Player self, Parade parade, List<Player> players, Deck deck) {
+        int index = ask(self, parade, players, deck, false);
+        return index >= 0 ? index : fallback.chooseCard(self, parade, players, deck);
+    }
+
+    @Override
+    public int chooseDiscard(Player self, List<Player> players, Deck deck) {
+        int index = ask(self, null, players, deck, true);
+        return index >= 0 ? index : fallback.chooseDiscard(self, players, deck);
+    }
+
+    public long getFallbacks() {
+        return fallbacks.get();
+    }
+
+    // ============================ Helpers ============================
+    /**
+     * @return The engine's valid zero-based choice, or -1 to use the fallback.
+     */
+    private int ask(Player self, Parade parade, List<Player> players, Deck deck, boolean discard) {
+        EngineProcess engine = null;
+        try {
+            engine = pool.borrow();
+            int index = engine.search(self, parade, players, deck, discard, moveTimeMs);
+            if (index >= 0 && index < self.getClosedCards().size()) {
+                return index;
+            }
+        } catch (IOException e) {
+            System.err.println("⚠️ Engine failed: " + e.getMessage());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt(); // Restore the interrupted status
+        } finally {
+            if (engine != null) {
+                pool.release(engine);
+            }
+        }
+        fallbacks.incrementAndGet();
+        return -1;
+    }
+}
@@ -0,0 +1,111 @@
+package game.engine;
+
+import java.io.*;
+import java.nio.charset.StandardCharsets;
+import java.util.*;
+
+/**
+ * Reference engine speaking {@link EngineProtocol}. It plays the card that
+ * takes the fewest points from the parade and discards its lowest card.
+ * Engine authors can use it as a starting point; the harness uses it to
+ * measure protocol overhead.
+ *
+ * Run with: {@code java -cp out game.engine.SampleEngine}
+ */
+public class SampleEngine {
+
+    private final List<String> paradeColors = new ArrayList<>();
+    private final List<Integer> paradeValues = new ArrayList<>();
+    private final List<String> handColors = new ArrayList<>();
+    private final List<Integer> handValues = new ArrayList<>();
+
+    public static void main(String[] args) throws IOException {
+        new SampleEngine().run(
+                new BufferedReader(new InputStreamReader(System.in, StandardCharsets.UTF_8)),
+                new PrintStream(new FileOutputStream(FileDescriptor.out), false, StandardCharsets.UTF_8));
+    }
+
+    /**
+     * Answers commands until quit or the end of the input.
+     */
+    public void run(BufferedReader in, PrintStream out) throws IOException {
+        String line;
+        while ((line = in.readLine()) != null) {
+            String[] tokens = line.trim().split(" ");
+            switch (tokens[0]) {
+                case "pei" -> {
+                    out.println("id name SampleEngine");
+                    out.println(EngineProtocol.HELLO_OK);
+                }
+                case "isready" -> out.println(EngineProtocol.READY_OK);
+                case "parade" -> parseCards(tokens, paradeColors, paradeValues);
+                case "hand" -> parseCards(tokens, handColors, handValues);
+                case "go" -> out.println(EngineProtocol.BEST_MOVE + " "
+                        + (1 + ("discard".equals(tokens[1]) ? lowestCard() : cheapestPlay())));
+                case "quit" -> {
+                    out.flush();
+                    return;
+                }
+                default -> {
+                    // newgame, position, open and stop need no work here
+                }
+            }
+            out.flush();
+        }
+    }
+
+    // ============================ Decisions ============================
+    /**
+     * @return The index of the hand card whose play takes the fewest points.
+     */
+    private int cheapestPlay() {
+        int best = 0;
+        int bestCost = Integer.MAX_VALUE;
+        for (int i = 0; i < handValues.size(); i++) {
+            int cost = takeCost(handColors.get(i), handValues.get(i));
+            if (cost < bestCost) {
+                bestCost = cost;
+                best = i;
+            }
+        }
+        return best;
+    }
+
+    /**
+     * Sums the values of the parade cards the given card would take. The
+     * played card protects as many cards as its value, counted from the end.
+     */
+    private int takeCost(String color, int value) {
+        int cost = 0;
+        int exposed = Math.max(paradeValues.size() - value, 0);
+        for (int i = 0; i < exposed; i++) {
+            if (paradeColors.get(i).equals(color) || paradeValues.get(i) <= value) {
+                cost += paradeValues.get(i) + 1; // +1 so zeros still count as cards
+            }
+        }
+        return cost;
+    }
+
+    private int lowestCard() {
+        int best = 0;
+        for (int i = 1; i < handValues.size(); i++) {
+            if (handValues.get(i) < handValues.get(best)) {
+                best = i;
+            }
+        }
+        return best;
+    }
+
+    // ============================ Parsing ============================
+    private static void parseCards(String[] tokens, List<String> colors, List<Integer> values) {
+        colors.clear();
+        values.clear();
+        for (int i = 1; i < tokens.length; i++) {
+            int colon = tokens[i].indexOf(':');
+            if (colon > 0) {
+                colors.add(tokens[i].substring(0, colon));
+                values.add(Integer.parseInt(tokens[i].substring(colon + 1)));
+            }
+        }
+    }
+}
@@ -1,7 +1,10 @@
 package game.gameplay;
 
+import game.ai.Ponderer;
 import game.core.*;
 import game.gameplay.managers.QuitHandler;
+import game.input.*;
+import game.metrics.*;
 import game.renderer.*;
 import game.setup.*;
 import game.utils.*;
@@ -25,6 +28,16 @@ public class GameController {
     private final StartingPlayerDecider startingPlayerdecider;
     private final QuitHandler quitHandler;
 
+    /**
+     * Input shared by the table for prompts that belong to no single seat.
+     */
+    private final SeatInput tableInput;
+
+    /**
+     * Lets search bots think while the table waits for the humans.
+     */
+    private final Ponderer ponderer;
+
     // ============================ Constructor ============================
     /**
      * Constructs a GameController with the given game manager and scanner.
@@ -40,7 +53,17 @@ public class GameController {
         this.parade = new Parade(deck);
         this.dice = new Dice();
         this.startingPlayerdecider = new StartingPlayerDecider(dice);
-        this.quitHandler = new QuitHandler(players, scanner);
+        this.quitHandler = new QuitHandler(players);
+        this.ponderer = new Ponderer(players, parade, deck);
+
+        // All console seats share one keyboard, served by a single reader
+        InputProvider console = ScannerInputProvider.of(sc);
+        this.tableInput = new SeatInput(console, Constants.HUMAN_TURN_TIMEOUT_MS);
+        for (Player player : players) {
+            if (player.isHuman()) {
+                ((Human) player).setSeatInput(new SeatInput(console, Constants.HUMAN_TURN_TIMEOUT_MS));
+            }
+        }
     }
 
     // ============================ Instance Methods ============================
@@ -69,16 +92,20 @@ public class GameController {
                 if (players.size() == 1 || quitHandler.countHumans() == 0) {
                     gameEnds = true;
                     earlyTermination = true;
+                    EndGameEvent.emit(EndGameEvent.ALL_HUMANS_QUIT, null);
+                    GameStats.get().gameFinished();
                     break;
                 }
 
                 Player player = iterator.next();
+                long renderStart = GameMetrics.start();
                 Helper.flush();
                 GameFlowRenderer.showPlayerRound(player, players, parade, deck);
+                GameMetrics.stop(Phase.RENDER, renderStart);
 
                 // Check for quit command
                 if (quitHandler.checkForQuit(player, player.isHuman(), iterator)) {
-                    Helper.pressEnterToContinue(scanner);
+                    waitForEnter();
                     Helper.flush();
                     continue;
                 }
@@ -89,17 +116,20 @@ public class GameController {
                 PlayerRenderer.showCardDraw(player);
 
                 // Check normal game end condition
-                if (gameManager.checkEndGame()) {
+                long checkStart = GameMetrics.start();
+                boolean endReached = gameManager.checkEndGame();
+                GameMetrics.stop(Phase.CHECK_END_GAME, checkStart);
+                if (endReached) {
                     gameEnds = true;
                     int currentIndex = players.indexOf(player);
                     Player nextPlayer = players.get((currentIndex + 1) % players.size());
                     gameManager.rearrangePlayers(nextPlayer);
-                    Helper.pressEnterToContinue(scanner);
+                    waitForEnter();
                     Helper.flush();
                     break;
                 }
 
-                Helper.pressEnterToContinue(scanner);
+                waitForEnter(players.get((players.indexOf(player) + 1) % players.size()));
             }
         }
         // If the game ends due to deck running out of cards or a player collecting all colors
@@ -116,31 +146,34 @@ public class GameController {
      * and setting up the parade.
      */
     private void initializeGame() {
-        Helper.pressEnterToContinue(scanner);
+        Helper.pressEnterToContinue(tableInput);
         Helper.flush();
 
         Player firstPlayer = startingPlayerdecider.decideStartingPlayer(players);
         gameManager.rearrangePlayers(firstPlayer);
 
-        Helper.pressEnterToContinue(scanner);
+        Helper.pressEnterToContinue(tableInput);
         Helper.flush();
 
         GameFlowRenderer.showGameStart(firstPlayer);
         Helper.sleep(Constants.NORMAL_DELAY_TIME);
 
         System.out.println("\nDeck size: " + deck.getCards().size() + " cards");
+        long dealStart = GameMetrics.start();
         deck.shuffle();
-        GameFlowRenderer.showCardDealing();
         dealCardsToPlayers();
-        Helper.sleep(Constants.NORMAL_DELAY_TIME);
-
         parade.initializeParade();
+        GameMetrics.stop(Phase.DEAL, dealStart);
+        GameStats.get().gameStarted();
+
+        GameFlowRenderer.showCardDealing();
+        Helper.sleep(Constants.NORMAL_DELAY_TIME);
         GameFlowRenderer.showParadeInitialization();
         Helper.sleep(Constants.NORMAL_DELAY_TIME);
         ParadeRenderer.showParade(parade);
         Helper.sleep(Constants.NORMAL_DELAY_TIME);
 
-        Helper.pressEnterToContinue(scanner);
+        Helper.pressEnterToContinue(tableInput);
     }
 
 // ============================ Turn Processing ============================
@@ -151,13 +184,51 @@ public class GameController {
      * @param player The player whose turn it is.
      */
     private void playTurn(Player player) {
+        TurnEvent event = new TurnEvent();
+        event.begin();
+        long turnStart = GameMetrics.start();
         if (player.isHuman()) {
             PlayerRenderer.showClosedCards(player);
+            ponderer.start(player);
         }
         player.playCard(parade, scanner);
+        ponderer.stop();
+        Card playedCard = parade.getLastPlayedCard();
         Helper.sleep(Constants.NORMAL_DELAY_TIME);
+
+        long drawStart = GameMetrics.start();
         List<Card> drawnCards = player.drawCardsFromParade(parade);
+        GameMetrics.stop(Phase.DRAW_FROM_PARADE, drawStart);
+
+        long renderStart = GameMetrics.start();
         PlayerRenderer.showReceivedCards(player, drawnCards);
+        GameMetrics.stop(Phase.RENDER, renderStart);
+        GameMetrics.stop(Phase.PLAY_TURN, turnStart);
+        GameStats.get().turnPlayed(parade.getCards().size());
+        event.end();
+        if (event.shouldCommit()) {
+            event.fillAndCommit(player, playedCard, drawnCards, parade);
+        }
+    }
+
+    /**
+     * Waits for Enter while the computer players think ahead.
+     *
+     * @param next The player who moves after the wait.
+     */
+    private void waitForEnter(Player next) {
+        ponderer.start(next);
+        waitForEnter();
+        ponderer.stop();
+    }
+
+    /**
+     * Waits for Enter and records the time spent waiting on the humans.
+     */
+    private void waitForEnter() {
+        long waitStart = GameMetrics.start();
+        Helper.pressEnterToContinue(tableInput);
+        GameMetrics.stop(Phase.HUMAN_WAIT, waitStart);
     }
 
 // ============================ Game Conclusion ============================
@@ -171,7 +242,7 @@ public class GameController {
 
             GameFlowRenderer.showPlayerRound(player, players, parade, deck);
             playTurn(player);
-            Helper.pressEnterToContinue(scanner);
+            waitForEnter();
         }
         addFinalTwoCards();
     }
@@ -186,8 +257,10 @@ public class GameController {
             Helper.sleep(Constants.NORMAL_DELAY_TIME);
             GameFlowRenderer.showOpenCards(players);
             GameFlowRenderer.showTurnHeader(player.getName());
+            long discardStart = GameMetrics.start();
             player.finalPlay(scanner);
-            Helper.pressEnterToContinue(scanner);
+            GameMetrics.stop(Phase.FINAL_DISCARD, discardStart);
+            waitForEnter();
         }
         concludeGame();
     }
@@ -201,7 +274,7 @@ public class GameController {
      */
     private void dealCardsToPlayers() {
         for (Player player : players) {
-            for (int i = 0; i < Constants.CARDS_TO_DEAL; i++) {
+            for (int i = 0; i < gameManager.getRules().getHandSize(); i++) {
                 player.drawCardFromDeck(deck);
             }
         }
@@ -221,16 +294,21 @@ public class GameController {
         GamePhaseRenderer.showFlippingPhase();
         Helper.sleep(Constants.NORMAL_DELAY_TIME);
 
+        long flipStart = GameMetrics.start();
         Map<Player, List<Card>> flippedCards = gameManager.flipCards();
+        GameMetrics.stop(Phase.FLIP_CARDS, flipStart);
         GameFlowRenderer.showFlippedCards(flippedCards, players);
         Helper.typewrite("\n✅ Final Scores Have Been Calculated! ✅\n", Constants.TYPEWRITE_DURATION);
-        Helper.pressEnterToContinue(scanner);
+        waitForEnter();
 
         Helper.flush();
         // GameFlowRenderer.showFlippedCards(flippedCards, players);
         GameFlowRenderer.showFlippedCards(flippedCards, players);
         gameManager.calculateScores();
+        long winnerStart = GameMetrics.start();
         Player winner = gameManager.determineWinner();
+        GameMetrics.stop(Phase.DETERMINE_WINNER, winnerStart);
+        GameStats.get().gameFinished();
         Podium.showPodium(players, winner);
     }
 }
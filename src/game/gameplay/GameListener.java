@@ -0,0 +1,43 @@
+package game.gameplay;
+
+import game.core.*;
+import java.util.List;
+
+/**
+ * Receives the events of a {@link GameStateMachine}. All methods do nothing by
+ * default so listeners only override what they need.
+ */
+public interface GameListener {
+
+    /**
+     * Called once the cards are dealt and the parade is set up.
+     */
+    default void onGameStart(List<Player> players, Parade parade) {
+    }
+
+    /**
+     * Called after a player played a card and took cards from the parade.
+     * The list of taken cards is reused for the next turn; copy it to keep it.
+     */
+    default void onCardPlayed(Player player, Card card, List<Card> taken) {
+    }
+
+    /**
+     * Called when the end condition is reached and the last round begins.
+     */
+    default void onLastRound() {
+    }
+
+    /**
+     * Called after a player moved a card to their open cards in the final
+     * phase.
+     */
+    default void onCardDiscarded(Player player, Card card) {
+    }
+
+    /**
+     * Called when the scores are final and the winner is known.
+     */
+    default void onGameOver(List<Player> players, Player winner) {
+    }
+}
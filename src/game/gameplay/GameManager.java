@@ -15,18 +15,40 @@ public class GameManager {
 
     // ============================ Constructor ============================
     /**
-     * Constructs a GameManager with the given players and deck.
+     * Constructs a GameManager with the given players and deck. The game is
+     * played by the deck's {@link RuleSet}.
      *
      * @param players The list of players in the game.
      * @param deck    The deck used in the game.
      */
     public GameManager(List<Player> players, Deck deck) {
+        this(players, deck, false);
+    }
+
+    /**
+     * Constructs a GameManager whose managers optionally render nothing. Headless
+     * managers are used where no console is attached, such as server tables.
+     *
+     * @param players  The list of players in the game.
+     * @param deck     The deck used in the game.
+     * @param headless true to suppress all console output and animations.
+     */
+    public GameManager(List<Player> players, Deck deck, boolean headless) {
         this.deck = deck;
         this.playerManager = new PlayerManager(players);
-        this.endGameChecker = new EndGameChecker(players, deck);
-        this.cardFlipper = new CardFlipper(players);
-        this.winnerDeterminer = new WinnerDeterminer(players);
+        this.endGameChecker = new EndGameChecker(players, deck, headless);
+        this.cardFlipper = new CardFlipper(players, deck.getRules(), headless);
+        this.winnerDeterminer = new WinnerDeterminer(players, headless);
         this.scoreCalculator = new ScoreCalculator();
+
+        for (Player player : players) {
+            player.setRules(deck.getRules());
+            if (player instanceof Computer) {
+                ((Computer) player).seat(players, deck);
+            } else if (player instanceof Human) {
+                ((Human) player).seat(players, deck);
+            }
+        }
     }
 
     // ============================ Instance Methods (Game Logic) ============================
@@ -47,6 +69,15 @@ public class GameManager {
         return cardFlipper.flipCards();
     }
 
+    /**
+     * Flips cards like {@link #flipCards()} without reporting which.
+     *
+     * @return The number of cards flipped.
+     */
+    public int applyFlips() {
+        return cardFlipper.applyFlips();
+    }
+
     /**
      * Determines the final winner of the game after evaluating scores and applying tiebreakers.
      *
@@ -78,6 +109,10 @@ public class GameManager {
         return deck;
     }
 
+    public RuleSet getRules() {
+        return deck.getRules();
+    }
+
     public List<Player> getPlayers() {
         return playerManager.getPlayers();
     }
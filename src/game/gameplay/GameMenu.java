@@ -35,7 +35,7 @@ public class GameMenu {
             showMenuOptions();
 
             try {
-                String choice = scanner.next().trim();
+                String choice = Helper.readLine(scanner).trim();
                 int userChoice = Integer.parseInt(choice);
 
                 switch (userChoice) {
@@ -67,9 +67,10 @@ public class GameMenu {
         Helper.flush();
 
         PlayerSetup setup = new PlayerSetup(scanner);
-        int playerCount = setup.askForNumberOfPlayers();
+        RuleSet rules = setup.askForRuleSet();
+        int playerCount = setup.askForNumberOfPlayers(rules);
         List<Player> players = setup.createPlayers(playerCount);
-        Deck deck = new Deck();
+        Deck deck = new Deck(rules);
 
         GameManager gameManager = new GameManager(players, deck);
         GameController game = new GameController(gameManager, scanner);
@@ -85,12 +86,12 @@ public class GameMenu {
      */
     public boolean askForAnotherGame() {
         System.out.print("\n✨ Do you want to play another game? (y/n): ");
-        String input = scanner.nextLine().trim().toLowerCase();
+        String input = Helper.readLine(scanner).trim().toLowerCase();
 
         while (!input.matches("yes|no|y|n")) {
             System.out.print("❌ Invalid input. Please enter 'yes' or 'no'.\n");
             System.out.print("\nDo you want to play another game? (yes/no): ");
-            input = scanner.nextLine().trim().toLowerCase();
+            input = Helper.readLine(scanner).trim().toLowerCase();
         }
 
         if (input.equals("yes") || input.equals("y")) {
@@ -0,0 +1,114 @@
+package game.gameplay;
+
+import game.core.*;
+import java.util.*;
+
+/**
+ * Everything needed to replay a game exactly: the rules, the seats in the
+ * order they started, every hand as dealt, the starting parade, the deck in
+ * order and every move made. Cards are copies, so flipping at the end of the
+ * game does not change the record.
+ */
+public final class GameRecord {
+
+    // ============================ Instance Variables ============================
+    private final RuleSet rules;
+    private final List<String> names;
+    private final List<List<Card>> hands;
+    private final List<Card> parade;
+    private final List<Card> deck;
+    private final List<Move> moves;
+
+    // ============================ Constructor ============================
+    /**
+     * @param rules  The rules of the game.
+     * @param names  The players' names, in the order of the first round.
+     * @param hands  Every seat's hand as dealt.
+     * @param parade The starting parade, oldest card first.
+     * @param deck   The deck after dealing, in the order of
+     *               {@link Deck#getCards()}.
+     * @param moves  The moves, in the order they were made.
+     */
+    public GameRecord(RuleSet rules, List<String> names, List<List<Card>> hands, List<Card> parade,
+            List<Card> deck, List<Move> moves) {
+        this.rules = rules;
+        this.names = List.copyOf(names);
+        List<List<Card>> handCopies = new ArrayList<>(hands.size());
+        for (List<Card> hand : hands) {
+            handCopies.add(List.copyOf(hand));
+        }
+        this.hands = Collections.unmodifiableList(handCopies);
+        this.parade = List.copyOf(parade);
+        this.deck = List.copyOf(deck);
+        this.moves = List.copyOf(moves);
+    }
+
+    // ============================ Getters ============================
+    public RuleSet getRules() {
+        return rules;
+    }
+
+    public int getSeats() {
+        return names.size();
+    }
+
+    public String getName(int seat) {
+        return names.get(seat);
+    }
+
+    public List<Card> getHand(int seat) {
+        return hands.get(seat);
+    }
+
+    public List<Card> getParade() {
+        return parade;
+    }
+
+    public List<Card> getDeck() {
+        return deck;
+    }
+
+    public List<Move> getMoves() {
+        return moves;
+    }
+
+    // ============================ Move ============================
+    /**
+     * One card a seat played into the parade or, in the final phase, moved
+     * to its open cards.
+     */
+    public static final class Move {
+
+        private final int seat;
+        private final Card card;
+        private final boolean discard;
+
+        /**
+         * @param seat    The seat that moved, as numbered in the record.
+         * @param card    The card.
+         * @param discard true for a final discard, false for a play.
+         */
+        public Move(int seat, Card card, boolean discard) {
+            this.seat = seat;
+            this.card = card;
+            this.discard = discard;
+        }
+
+        public int getSeat() {
+            return seat;
+        }
+
+        public Card getCard() {
+            return card;
+        }
+
+        public boolean isDiscard() {
+            return discard;
+        }
+
+        @Override
+        public String toString() {
+            return seat + (discard ? " discards " : " plays ") + card.getColor() + ":" + card.getValue();
+        }
+    }
+}
@@ -0,0 +1,132 @@
+package game.gameplay;
+
+import game.core.*;
+import java.util.*;
+
+/**
+ * Records a game as it is played, for analysis afterwards. Events are passed
+ * on to another listener, so a table can record and render at once:
+ * <pre>
+ * GameRecorder recorder = new GameRecorder(game, renderer);
+ * game.setListener(recorder);
+ * </pre>
+ */
+public class GameRecorder implements GameListener {
+
+    private static final GameListener NO_LISTENER = new GameListener() {
+    };
+
+    // ============================ Instance Variables ============================
+    private final GameStateMachine game;
+    private final GameListener next;
+
+    /**
+     * The players in the order of the first round; their positions are the
+     * seat numbers of the record.
+     */
+    private final List<Player> seats = new ArrayList<>();
+    private final List<List<Card>> hands = new ArrayList<>();
+    private final List<Card> parade = new ArrayList<>();
+    private final List<Card> deck = new ArrayList<>();
+    private final List<GameRecord.Move> moves = new ArrayList<>();
+    private boolean started;
+    private boolean finished;
+
+    // ============================ Constructors ============================
+    /**
+     * @param game The game to record, whose deck is read when it starts.
+     */
+    public GameRecorder(GameStateMachine game) {
+        this(game, NO_LISTENER);
+    }
+
+    /**
+     * @param game The game to record.
+     * @param next The listener every event is passed on to.
+     */
+    public GameRecorder(GameStateMachine game, GameListener next) {
+        this.game = game;
+        this.next = next;
+    }
+
+    // ============================ Events ============================
+    @Override
+    public void onGameStart(List<Player> players, Parade parade) {
+        seats.addAll(players);
+        for (Player player : players) {
+            hands.add(copy(player.getClosedCards()));
+        }
+        this.parade.addAll(copy(parade.getCards()));
+        deck.addAll(copy(game.getDeck().getCards()));
+        started = true;
+        next.onGameStart(players, parade);
+    }
+
+    @Override
+    public void onCardPlayed(Player player, Card card, List<Card> taken) {
+        moves.add(new GameRecord.Move(seatOf(player), copy(card), false));
+        next.onCardPlayed(player, card, taken);
+    }
+
+    @Override
+    public void onLastRound() {
+        next.onLastRound();
+    }
+
+    @Override
+    public void onCardDiscarded(Player player, Card card) {
+        moves.add(new GameRecord.Move(seatOf(player), copy(card), true));
+        next.onCardDiscarded(player, card);
+    }
+
+    @Override
+    public void onGameOver(List<Player> players, Player winner) {
+        finished = true;
+        next.onGameOver(players, winner);
+    }
+
+    // ============================ Record ============================
+    /**
+     * Builds the record of the moves so far; usually called once the game
+     * is over.
+     *
+     * @return The record.
+     * @throws IllegalStateException if the game has not started.
+     */
+    public GameRecord getRecord() {
+        if (!started) {
+            throw new IllegalStateException("The game has not started yet.");
+        }
+        List<String> names = new ArrayList<>(seats.size());
+        for (Player player : seats) {
+            names.add(player.getName());
+        }
+        return new GameRecord(game.getRules(), names, hands, parade, deck, moves);
+    }
+
+    public boolean isFinished() {
+        return finished;
+    }
+
+    // ============================ Helpers ============================
+    private int seatOf(Player player) {
+        for (int seat = 0; seat < seats.size(); seat++) {
+            if (seats.get(seat) == player) {
+                return seat;
+            }
+        }
+        throw new IllegalStateException(player.getName() + " is not seated at this game.");
+    }
+
+    private static Card copy(Card card) {
+        return new Card(card.getColor(), card.getColorIndex(), card.getValue());
+    }
+
+    private static List<Card> copy(List<Card> cards) {
+        List<Card> copies = new ArrayList<>(cards.size());
+        for (Card card : cards) {
+            copies.add(copy(card));
+        }
+        return copies;
+    }
+}
@@ -0,0 +1,113 @@
+package game.gameplay;
+
+import game.core.*;
+import game.metrics.GameMetrics;
+import java.util.*;
+
+/**
+ * Runs many {@link GameStateMachine}s cooperatively on the calling thread.
+ * Each round gives every unfinished game one transition, so no game needs a
+ * thread or a stack of its own. Games waiting for a human move simply keep
+ * their place until the move arrives.
+ *
+ * Usage: {@code java -cp classes game.gameplay.GameScheduler [games] [playersPerGame]}
+ */
+public class GameScheduler {
+
+    // ============================ Instance Variables ============================
+    private final ArrayDeque<GameStateMachine> games;
+    private long transitions;
+
+    // ============================ Constructor ============================
+    public GameScheduler() {
+        this.games = new ArrayDeque<>();
+    }
+
+    // ============================ Scheduling ============================
+    public void add(GameStateMachine game) {
+        games.add(game);
+    }
+
+    /**
+     * Gives each game one step, round-robin, and drops finished games.
+     *
+     * @return The number of games still running.
+     */
+    public int runRound() {
+        for (int i = games.size(); i > 0; i--) {
+            GameStateMachine game = games.poll();
+            if (game.step()) {
+                transitions++;
+            }
+            if (!game.isFinished()) {
+                games.add(game);
+            }
+        }
+        return games.size();
+    }
+
+    /**
+     * Runs rounds until every game has finished or is blocked on a human.
+     */
+    public void runAll() {
+        while (!games.isEmpty()) {
+            long before = transitions;
+            runRound();
+            if (transitions == before) {
+                return; // Everything left is waiting for human moves
+            }
+        }
+    }
+
+    public int size() {
+        return games.size();
+    }
+
+    public long getTransitions() {
+        return transitions;
+    }
+
+    // ============================ Measurement ============================
+    /**
+     * Starts the given number of bot-only games, reports the heap retained per
+     * game after dealing, then interleaves all games to the end.
+     */
+    public static void main(String[] args) {
+        int gameCount = args.length > 0 ? Integer.parseInt(args[0]) : 10_000;
+        int playersPerGame = args.length > 1 ? Integer.parseInt(args[1]) : 4;
+        Random random = new Random();
+
+        long before = usedHeap();
+        GameScheduler scheduler = new GameScheduler();
+        for (int g = 0; g < gameCount; g++) {
+            List<Player> players = new ArrayList<>(playersPerGame);
+            for (int p = 1; p <= playersPerGame; p++) {
+                players.add(new Computer("Bot " + p));
+            }
+            GameStateMachine game = new GameStateMachine(players, random);
+            game.step(); // Deal the cards so the measurement covers a live game
+            scheduler.add(game);
+        }
+        long after = usedHeap();
+
+        long start = System.nanoTime();
+        scheduler.runAll();
+        double seconds = (System.nanoTime() - start) / 1e9;
+
+        System.out.println("=".repeat(40));
+        System.out.printf("Games:            %d x %d players%n", gameCount, playersPerGame);
+        System.out.printf("Heap per game:    %d bytes%n", (after - before) / gameCount);
+        System.out.printf("Transitions:      %d (%.0f/s)%n", scheduler.getTransitions(), scheduler.getTransitions() / seconds);
+        System.out.printf("Games completed:  %.0f games/s%n", gameCount / seconds);
+        System.out.println("=".repeat(40));
+        GameMetrics.report().forEach(System.out::println);
+    }
+
+    private static long usedHeap() {
+        Runtime runtime = Runtime.getRuntime();
+        for (int i = 0; i < 3; i++) {
+            System.gc();
+        }
+        return runtime.totalMemory() - runtime.freeMemory();
+    }
+}
@@ -0,0 +1,320 @@
+package game.gameplay;
+
+import game.core.*;
+import game.metrics.*;
+import java.util.*;
+
+/**
+ * The rules of one game as an explicit state machine. Each call to
+ * {@link #step()} performs exactly one transition (dealing, one turn, one
+ * final discard, flipping or announcing the result) and returns, so a single
+ * thread can interleave any number of games without keeping a stack per game.
+ *
+ * Computer seats choose their own cards. Human seats wait until a move is
+ * given with {@link #submitMove(int)}; until then the game does not advance.
+ * The machine renders nothing; observers subscribe through a
+ * {@link GameListener}.
+ */
+public class GameStateMachine {
+
+    // ============================ Game States ============================
+    public enum State {
+        SETUP, TURN, LAST_ROUND, FINAL_DISCARD, FLIPPING, RESULTS, FINISHED
+    }
+
+    private static final GameListener NO_LISTENER = new GameListener() {
+    };
+
+    // ============================ Instance Variables ============================
+    private final List<Player> players;
+    private final RuleSet rules;
+    private final Deck deck;
+    private final Parade parade;
+    private final GameManager gameManager;
+    private final Random random;
+    private GameListener listener;
+
+    /**
+     * Cards taken in the current turn, reused every turn so the turn loop
+     * allocates nothing.
+     */
+    private final List<Card> taken;
+
+    private State state;
+    private int turn;
+    private int discardsLeft;
+    private int pendingMove;
+    private Player winner;
+
+    // ============================ Constructor ============================
+    /**
+     * Constructs a game for the given players with a fresh deck.
+     *
+     * @param players The players, in seating order.
+     * @param random  The source of randomness for the starting player and
+     *                shuffling.
+     */
+    public GameStateMachine(List<Player> players, Random random) {
+        this(players, random, RuleSet.BASE);
+    }
+
+    /**
+     * Constructs a game of a variant for the given players with a fresh deck.
+     *
+     * @param players The players, in seating order.
+     * @param random  The source of randomness for the starting player and
+     *                shuffling.
+     * @param rules   The rules of the game.
+     * @throws IllegalArgumentException if the rules do not allow this many
+     * players.
+     */
+    public GameStateMachine(List<Player> players, Random random, RuleSet rules) {
+        if (players.size() < rules.getMinPlayers() || players.size() > rules.getMaxPlayers()) {
+            throw new IllegalArgumentException(rules.getName() + " is played by "
+                    + rules.getMinPlayers() + " to " + rules.getMaxPlayers() + " players.");
+        }
+        this.players = players;
+        this.rules = rules;
+        this.deck = new Deck(rules);
+        this.parade = new Parade(deck);
+        this.gameManager = new GameManager(players, deck, true);
+        this.random = random;
+        this.taken = new ArrayList<>(deck.size());
+        this.listener = NO_LISTENER;
+        this.state = State.SETUP;
+        this.pendingMove = -1;
+    }
+
+    // ============================ Transitions ============================
+    /**
+     * Advances the game by exactly one transition.
+     *
+     * @return true if the game advanced, false if it is finished or waiting
+     * for a human move.
+     */
+    public boolean step() {
+        switch (state) {
+            case SETUP -> setUp();
+            case TURN, LAST_ROUND -> {
+                return playTurn();
+            }
+            case FINAL_DISCARD -> {
+                return discard();
+            }
+            case FLIPPING -> flip();
+            case RESULTS -> announceResults();
+            case FINISHED -> {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Gives the move of the human seat that is waiting to act.
+     *
+     * @param index The zero-based index of the card in the player's hand.
+     * @throws IllegalStateException    if no human seat is waiting.
+     * @throws IllegalArgumentException if the index is not in the hand.
+     */
+    public void submitMove(int index) {
+        if (!isAwaitingMove()) {
+            throw new IllegalStateException("No player is waiting for a move.");
+        }
+        if (index < 0 || index >= getCurrentPlayer().getClosedCards().size()) {
+            throw new IllegalArgumentException("No card at index " + index);
+        }
+        pendingMove = index;
+    }
+
+    /**
+     * @return true if a human seat has to act before the game can advance.
+     */
+    public boolean isAwaitingMove() {
+        return isMoveState() && getCurrentPlayer().isHuman() && pendingMove < 0;
+    }
+
+    public boolean isFinished() {
+        return state == State.FINISHED;
+    }
+
+    // ============================ State Handlers ============================
+    private void setUp() {
+        long start = GameMetrics.start();
+        Player firstPlayer = players.get(random.nextInt(players.size()));
+        gameManager.rearrangePlayers(firstPlayer);
+
+        deck.shuffle(random);
+        for (Player player : players) {
+            for (int i = 0; i < rules.getHandSize(); i++) {
+                player.drawCardFromDeck(deck);
+            }
+        }
+        parade.initializeParade();
+        GameMetrics.stop(Phase.DEAL, start);
+        GameStats.get().gameStarted();
+
+        state = State.TURN;
+        turn = 0;
+        listener.onGameStart(players, parade);
+    }
+
+    /**
+     * Plays the current player's turn. Turns in the last round do not draw
+     * from the deck.
+     */
+    private boolean playTurn() {
+        Player player = getCurrentPlayer();
+        TurnEvent event = new TurnEvent();
+        event.begin();
+        long start = GameMetrics.start();
+        int index = nextMove(player);
+        if (index < 0) {
+            return false;
+        }
+
+        Card card = player.playCardAt(index, parade);
+        long drawStart = GameMetrics.start();
+        player.drawCardsFromParade(parade, taken);
+        GameMetrics.stop(Phase.DRAW_FROM_PARADE, drawStart);
+        listener.onCardPlayed(player, card, taken);
+        GameMetrics.stop(Phase.PLAY_TURN, start);
+        GameStats.get().turnPlayed(parade.size());
+        // The enabled check stays here, not in fillAndCommit: once step()
+        // has inlined this method there may be no room left to inline
+        // fillAndCommit, and passing it the event would stop the event from
+        // being scalar-replaced when recording is off
+        event.end();
+        if (event.shouldCommit()) {
+            event.fillAndCommit(player, card, taken, parade);
+        }
+
+        if (state == State.LAST_ROUND) {
+            turn++;
+            if (turn == players.size()) {
+                state = State.FINAL_DISCARD;
+                turn = 0;
+                discardsLeft = rules.getFinalPlayMoves();
+            }
+            return true;
+        }
+
+        player.drawCardFromDeck(deck);
+        long checkStart = GameMetrics.start();
+        boolean endReached = gameManager.checkEndGame();
+        GameMetrics.stop(Phase.CHECK_END_GAME, checkStart);
+        if (endReached) {
+            Player nextPlayer = players.get((turn + 1) % players.size());
+            gameManager.rearrangePlayers(nextPlayer);
+            state = State.LAST_ROUND;
+            turn = 0;
+            listener.onLastRound();
+        } else {
+            turn = (turn + 1) % players.size();
+        }
+        return true;
+    }
+
+    /**
+     * Moves one card of the current player to their open cards.
+     */
+    private boolean discard() {
+        Player player = getCurrentPlayer();
+        long start = GameMetrics.start();
+        int index = nextMove(player);
+        if (index < 0) {
+            return false;
+        }
+
+        Card card = player.discardCardAt(index);
+        listener.onCardDiscarded(player, card);
+        GameMetrics.stop(Phase.FINAL_DISCARD, start);
+
+        discardsLeft--;
+        if (discardsLeft == 0) {
+            turn++;
+            discardsLeft = rules.getFinalPlayMoves();
+            if (turn == players.size()) {
+                state = State.FLIPPING;
+            }
+        }
+        return true;
+    }
+
+    private void flip() {
+        long start = GameMetrics.start();
+        gameManager.applyFlips();
+        GameMetrics.stop(Phase.FLIP_CARDS, start);
+        gameManager.calculateScores();
+        state = State.RESULTS;
+    }
+
+    private void announceResults() {
+        long start = GameMetrics.start();
+        winner = gameManager.determineWinner();
+        GameMetrics.stop(Phase.DETERMINE_WINNER, start);
+        GameStats.get().gameFinished();
+        state = State.FINISHED;
+        listener.onGameOver(players, winner);
+    }
+
+    // ============================ Helpers ============================
+    private boolean isMoveState() {
+        return state == State.TURN || state == State.LAST_ROUND || state == State.FINAL_DISCARD;
+    }
+
+    /**
+     * Returns the move of the given player: computers decide on the spot,
+     * humans use the submitted move, or -1 if none was submitted yet.
+     */
+    private int nextMove(Player player) {
+        if (!player.isHuman()) {
+            Computer computer = (Computer) player;
+            return state == State.FINAL_DISCARD
+                    ? computer.chooseDiscardIndex()
+                    : computer.chooseCardIndex(parade);
+        }
+        int move = pendingMove;
+        pendingMove = -1;
+        return move;
+    }
+
+    // ============================ Getters & Setters ============================
+    public State getState() {
+        return state;
+    }
+
+    /**
+     * @return The player whose move the current state is about.
+     */
+    public Player getCurrentPlayer() {
+        return players.get(turn);
+    }
+
+    public List<Player> getPlayers() {
+        return players;
+    }
+
+    public Parade getParade() {
+        return parade;
+    }
+
+    public Deck getDeck() {
+        return deck;
+    }
+
+    public RuleSet getRules() {
+        return rules;
+    }
+
+    /**
+     * @return The winner, or null while the game is still running.
+     */
+    public Player getWinner() {
+        return winner;
+    }
+
+    public void setListener(GameListener listener) {
+        this.listener = listener == null ? NO_LISTENER : listener;
+    }
+}
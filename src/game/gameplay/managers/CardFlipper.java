@@ -2,7 +2,6 @@ package game.gameplay.managers;
 
 import game.core.*;
 import game.renderer.GameFlowRenderer;
-import game.utils.Constants;
 import java.util.*;
 
 /**
@@ -17,6 +16,23 @@ public class CardFlipper {
      */
     private final List<Player> players;
 
+    /**
+     * The rules that decide the colors, the flipped value and the two player
+     * rule.
+     */
+    private final RuleSet rules;
+
+    /**
+     * Whether flipping messages are suppressed.
+     */
+    private final boolean headless;
+
+    /**
+     * Players holding the most cards of the color being flipped, reused for
+     * every color.
+     */
+    private final List<Player> maxPlayers;
+
     // ============================ Constructor ============================
 
     /**
@@ -25,44 +41,97 @@ public class CardFlipper {
      * @param players The list of players in the game.
      */
     public CardFlipper(List<Player> players) {
+        this(players, false);
+    }
+
+    /**
+     * Constructs a CardFlipper that optionally renders nothing.
+     *
+     * @param players  The list of players in the game.
+     * @param headless true to suppress all console output.
+     */
+    public CardFlipper(List<Player> players, boolean headless) {
+        this(players, RuleSet.BASE, headless);
+    }
+
+    /**
+     * Constructs a CardFlipper for a game played by the given rules.
+     *
+     * @param players  The list of players in the game.
+     * @param rules    The rules of the game.
+     * @param headless true to suppress all console output.
+     */
+    public CardFlipper(List<Player> players, RuleSet rules, boolean headless) {
         this.players = players;
+        this.rules = rules;
+        this.headless = headless;
+        this.maxPlayers = new ArrayList<>(players.size());
     }
 
     // ======================== Instance Methods (Flipping) ========================
 
     public Map<Player, List<Card>> flipCards() {
         Map<Player, List<Card>> flippedCards = new HashMap<>();
+        flip(flippedCards);
+        return flippedCards;
+    }
+
+    /**
+     * Flips the same cards as {@link #flipCards()} without reporting which,
+     * for headless games that do not show them. Allocates nothing.
+     *
+     * @return The number of cards flipped.
+     */
+    public int applyFlips() {
+        return flip(null);
+    }
 
-        for (String color : Constants.COLORS) {
-            List<Player> maxPlayers = findPlayersWithMaxCards(color);
-            GameFlowRenderer.showMaxPlayersForColor(color, maxPlayers);
+    // ========================== Helper Methods (Private Instance Methods) ===========================
 
-            for (Player player : maxPlayers) {
-                List<Card> cardsToFlip = player.getOpenCards().get(color);
-                flippedCards.putIfAbsent(player, new ArrayList<>());
-                for (Card card : cardsToFlip) {
-                    card.setValue(Constants.FLIPPED_CARD_VALUE);
-                    flippedCards.get(player).add(card);
+    /**
+     * Flips the cards of every color's majority holders.
+     *
+     * @param flippedCards The map to record flipped cards in, or null.
+     * @return The number of cards flipped.
+     */
+    private int flip(Map<Player, List<Card>> flippedCards) {
+        int flipped = 0;
+        for (int colorIndex = 0; colorIndex < rules.getColorCount(); colorIndex++) {
+            String color = rules.getColor(colorIndex);
+            List<Player> holders = findPlayersWithMaxCards(colorIndex);
+            if (!headless) {
+                GameFlowRenderer.showMaxPlayersForColor(color, holders);
+            }
+
+            for (int p = 0; p < holders.size(); p++) {
+                Player player = holders.get(p);
+                List<Card> cardsToFlip = player.getOpenCards(colorIndex);
+                if (flippedCards != null) {
+                    flippedCards.computeIfAbsent(player, key -> new ArrayList<>()).addAll(cardsToFlip);
+                }
+                for (int i = 0; i < cardsToFlip.size(); i++) {
+                    cardsToFlip.get(i).setValue(rules.getFlippedCardValue());
                 }
+                flipped += cardsToFlip.size();
             }
         }
-        return flippedCards;
+        return flipped;
     }
 
-    // ========================== Helper Methods (Private Instance Methods) ===========================
-
     /**
      * @return A list of players with the maximum number of cards of the
-     * specified color
+     * specified color. The list is reused for the next color.
      */
-    private List<Player> findPlayersWithMaxCards(String color) {
+    private List<Player> findPlayersWithMaxCards(int colorIndex) {
+        String color = rules.getColor(colorIndex);
         int max = 0;
-        List<Player> maxPlayers = new ArrayList<>();
+        maxPlayers.clear();
         boolean allPlayersTied = true;
-        int firstPlayerCount = getCardCountForColor(players.get(0), color);
+        int firstPlayerCount = players.get(0).getOpenCardCount(colorIndex);
 
-        for (Player player : players) {
-            int count = getCardCountForColor(player, color);
+        for (int i = 0; i < players.size(); i++) {
+            Player player = players.get(i);
+            int count = player.getOpenCardCount(colorIndex);
             if (count != firstPlayerCount) allPlayersTied = false;
 
             if (count > max) {
@@ -74,50 +143,44 @@ public class CardFlipper {
             }
         }
 
-        GameFlowRenderer.showMaxCardsForColor(color,max);
+        if (!headless) {
+            GameFlowRenderer.showMaxCardsForColor(color, max);
+        }
         if (allPlayersTied) {
-            GameFlowRenderer.showNoFlippingDueToTie(color);
+            if (!headless) {
+                GameFlowRenderer.showNoFlippingDueToTie(color);
+            }
             return Collections.emptyList();
         }
 
         if (players.size() == 2) {
-            applyTwoPlayerRule(color, maxPlayers);
+            applyTwoPlayerRule(colorIndex, maxPlayers);
         }
 
         return maxPlayers;
     }
 
-    /**
-     * Returns the number of open cards of the specified color in the player's
-     * hand.
-     *
-     * @param player The player whose open cards are being counted.
-     * @param color  The color of the cards being counted.
-     * @return The number of cards of the specified color in the player's hand.
-     */
-    private int getCardCountForColor(Player player, String color) {
-        return player.getOpenCards().getOrDefault(color, Collections.emptyList()).size();
-    }
-
     /**
      * If there are only two players and the difference in the number of open cards of the
-     * specified color is less than MIN_DIFFERENCE_FOR_TWO_PLAYERS and not 0,
+     * specified color is less than the rules' minimum difference and not 0,
      * then this method applies the two player rule: it clears the list of max players and
      * shows the two player rule message.
      *
-     * @param color      The color of the cards being counted.
+     * @param colorIndex The index of the color of the cards being counted.
      * @param maxPlayers The list of players with the max number of cards of the specified
      *                   color.
      */
-    private void applyTwoPlayerRule(String color, List<Player> maxPlayers) {
+    private void applyTwoPlayerRule(int colorIndex, List<Player> maxPlayers) {
         Player p1 = players.get(0);
         Player p2 = players.get(1);
         int difference = Math.abs(
-            getCardCountForColor(p1, color) - getCardCountForColor(p2, color)
+            p1.getOpenCardCount(colorIndex) - p2.getOpenCardCount(colorIndex)
         );
 
-        if (difference < Constants.MIN_DIFFERENCE_FOR_TWO_PLAYERS && difference != 0) {
-            GameFlowRenderer.show2PlayerRules();
+        if (difference < rules.getMinDifferenceForTwoPlayers() && difference != 0) {
+            if (!headless) {
+                GameFlowRenderer.show2PlayerRules();
+            }
             maxPlayers.clear();
         }
     }
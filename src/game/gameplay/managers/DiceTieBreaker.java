@@ -9,6 +9,7 @@ import java.util.*;
  */
 public class DiceTieBreaker {
     private final Dice dice;
+    private final boolean headless;
 
     // ============================ Constructor ============================
 
@@ -16,7 +17,17 @@ public class DiceTieBreaker {
      * Constructs a DiceTieBreaker with a new Dice instance.
      */
     public DiceTieBreaker() {
+        this(false);
+    }
+
+    /**
+     * Constructs a DiceTieBreaker that optionally rolls without animation.
+     *
+     * @param headless true to suppress all console output and animations.
+     */
+    public DiceTieBreaker(boolean headless) {
         this.dice = new Dice();
+        this.headless = headless;
     }
 
     // ============================ Instance Method ============================
@@ -31,7 +42,9 @@ public class DiceTieBreaker {
     public Player resolveTie(List<Player> tiedPlayers) {
         Map<Player, Integer> rolls = rollDice(tiedPlayers);
         sortPlayersByRolls(tiedPlayers, rolls);
-        showResults(tiedPlayers, rolls);
+        if (!headless) {
+            showResults(tiedPlayers, rolls);
+        }
         return tiedPlayers.get(0);
     }
 
@@ -46,10 +59,14 @@ public class DiceTieBreaker {
     private Map<Player, Integer> rollDice(List<Player> players) {
         Map<Player, Integer> results = new HashMap<>();
 
-        System.out.println("\n🎲 Breaking tie with dice rolls...");
+        if (!headless) {
+            System.out.println("\n🎲 Breaking tie with dice rolls...");
+        }
         for (Player p : players) {
             int roll = dice.roll();
-            dice.animateRoll(p.getName(), roll);
+            if (!headless) {
+                dice.animateRoll(p.getName(), roll);
+            }
             results.put(p, roll);
         }
         return results;
@@ -1,8 +1,8 @@
 package game.gameplay.managers;
 
 import game.core.*;
+import game.metrics.*;
 import game.renderer.GameFlowRenderer;
-import game.utils.Constants;
 import java.util.*;
 
 /**
@@ -20,6 +20,11 @@ public class EndGameChecker {
      */
     private final Deck deck;
 
+    /**
+     * Whether end game messages are suppressed.
+     */
+    private final boolean headless;
+
     // ============================ Constructor ============================
 
     /**
@@ -29,8 +34,20 @@ public class EndGameChecker {
      * @param deck    The deck used in the game.
      */
     public EndGameChecker(List<Player> players, Deck deck) {
+        this(players, deck, false);
+    }
+
+    /**
+     * Constructs an EndGameChecker that optionally renders nothing.
+     *
+     * @param players  The list of players in the game.
+     * @param deck     The deck used in the game.
+     * @param headless true to suppress all console output.
+     */
+    public EndGameChecker(List<Player> players, Deck deck, boolean headless) {
         this.players = players;
         this.deck = deck;
+        this.headless = headless;
     }
 
     // ============================ Instance Method ============================
@@ -43,7 +60,11 @@ public class EndGameChecker {
      */
     public boolean checkEndGame() {
         if (isDeckEmpty()) {
-            GameFlowRenderer.showDeckEmpty();
+            GameStats.get().deckExhausted();
+            EndGameEvent.emit(EndGameEvent.DECK_EXHAUSTED, null);
+            if (!headless) {
+                GameFlowRenderer.showDeckEmpty();
+            }
             return true;
         }
         return checkAllColorsCollected();
@@ -66,9 +87,14 @@ public class EndGameChecker {
      * @return true if a player has all colors, false otherwise.
      */
     private boolean checkAllColorsCollected() {
-        for (Player p : players) {
+        for (int i = 0; i < players.size(); i++) {
+            Player p = players.get(i);
             if (hasAllColors(p)) {
-                GameFlowRenderer.showAllColorsCollected(p);
+                GameStats.get().allColorsCollected();
+                EndGameEvent.emit(EndGameEvent.ALL_COLORS, p.getName());
+                if (!headless) {
+                    GameFlowRenderer.showAllColorsCollected(p);
+                }
                 return true;
             }
         }
@@ -82,16 +108,6 @@ public class EndGameChecker {
      * @return true if the player has all card colors, false otherwise.
      */
     private boolean hasAllColors(Player player) {
-        Map<String, List<Card>> openCards = player.getOpenCards();
-        if (openCards.size() != Constants.TOTAL_COLORS) {
-            return false;
-        }
-
-        for (List<Card> cards : openCards.values()) {
-            if (cards.isEmpty()) {
-                return false;
-            }
-        }
-        return true;
+        return player.getCollectedColors() == deck.getRules().getColorCount();
     }
 }
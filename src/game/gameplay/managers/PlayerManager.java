@@ -34,12 +34,8 @@ public class PlayerManager {
         int index = players.indexOf(startingPlayer);
         if (index == -1) return;
 
-        List<Player> rearranged = new ArrayList<>(players.size());
-        rearranged.addAll(players.subList(index, players.size()));
-        rearranged.addAll(players.subList(0, index));
-        
-        players.clear();
-        players.addAll(rearranged);
+        // Rotate in place so the starting player comes first
+        Collections.rotate(players, -index);
     }
 
     /**
@@ -1,6 +1,8 @@
 package game.gameplay.managers;
 
 import game.core.*;
+import game.input.SeatInput;
+import game.metrics.GameStats;
 import game.renderer.*;
 import game.utils.*;
 import java.util.*;
@@ -17,22 +19,16 @@ public class QuitHandler {
      */
     private final List<Player> players;
 
-    /**
-     * The scanner for user input.
-     */
-    private final Scanner scanner;
-
     // ============================ Constructor ============================
 
     /**
-     * Constructs a QuitHandler with the list of players and a scanner.
+     * Constructs a QuitHandler with the list of players. Humans answer
+     * through their seat input.
      *
      * @param players The list of players in the game.
-     * @param scanner The scanner for user input.
      */
-    public QuitHandler(List<Player> players, Scanner scanner) {
+    public QuitHandler(List<Player> players) {
         this.players = players;
-        this.scanner = scanner;
     }
 
     // ============================ Instance Methods ============================
@@ -46,24 +42,27 @@ public class QuitHandler {
      */
     public boolean checkForQuit(Player player, boolean isHuman, Iterator<Player> iterator) {
         if (isHuman) {
-            // Show quit option
+            SeatInput seat = ((Human) player).getSeatInput();
+
+            // Show quit option; running out of time plays the round
             GameFlowRenderer.showQuitOption();
-            String input = scanner.nextLine().trim();
+            String input = seat.readLine("").trim();
 
             // Check if the input is "quit" (case insensitive)
             if (input.equalsIgnoreCase("quit")) {
 
                 // Confirm quit
                 GameFlowRenderer.confirmQuit();
-                String confirm = scanner.nextLine().trim().toLowerCase();
+                String confirm = seat.readLine("n").trim().toLowerCase();
                 while (!confirm.matches("y|n|yes|no")) {
                     System.out.print("Invalid input. Please enter 'y' or 'n': ");
-                    confirm = scanner.nextLine().trim().toLowerCase();
+                    confirm = seat.readLine("n").trim().toLowerCase();
                 }
 
                 // If the player confirms, remove them from the game, else the game will continue as normal
                 if (confirm.equals("y") || confirm.equals("yes")) {
                     System.out.println("\n" + player.getName() + " chose to quit the game.");
+                    GameStats.get().playerQuit();
                     iterator.remove();
                     int humanCount = countHumans();
                     if (players.size() == 1 || humanCount == 0) {
@@ -22,6 +22,11 @@ public class WinnerDeterminer {
      */
     private final DiceTieBreaker diceTieBreaker;
 
+    /**
+     * Whether tie-breaker messages are suppressed.
+     */
+    private final boolean headless;
+
     // ============================ Constructor ============================
 
     /**
@@ -30,8 +35,19 @@ public class WinnerDeterminer {
      * @param players The list of players in the game.
      */
     public WinnerDeterminer(List<Player> players) {
+        this(players, false);
+    }
+
+    /**
+     * Constructs a WinnerDeterminer that optionally renders nothing.
+     *
+     * @param players  The list of players in the game.
+     * @param headless true to suppress all console output and animations.
+     */
+    public WinnerDeterminer(List<Player> players, boolean headless) {
         this.players = players;
-        this.diceTieBreaker = new DiceTieBreaker();
+        this.headless = headless;
+        this.diceTieBreaker = new DiceTieBreaker(headless);
     }
     // ============================ Public Instance Methods ============================
 
@@ -46,7 +62,7 @@ public class WinnerDeterminer {
         // Get all the players with same score
         List<Player> playersWithSameScore = getPotentialWinners();
 
-        if (playersWithSameScore.size() > 1) {
+        if (playersWithSameScore.size() > 1 && !headless) {
             GameFlowRenderer.showTieBreaker(playersWithSameScore);
         }
 
@@ -0,0 +1,27 @@
+package game.input;
+
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * Source of text input for one or more seats. Requests never block: the
+ * returned future completes when the line arrives, so the game can wait with
+ * a timeout instead of parking a thread per player.
+ */
+public interface InputProvider {
+
+    /**
+     * Requests the next line of input.
+     *
+     * @return A future completed with the line, without its line terminator.
+     */
+    CompletableFuture<String> nextLine();
+
+    /**
+     * Tells the provider that nobody is waiting for the given request any
+     * more. A line that arrives for an abandoned request is discarded instead
+     * of answering a later prompt.
+     *
+     * @param request A future previously returned by {@link #nextLine()}.
+     */
+    void abandon(CompletableFuture<String> request);
+}
@@ -0,0 +1,112 @@
+package game.input;
+
+import java.util.*;
+import java.util.concurrent.*;
+
+/**
+ * Serves lines from a {@link Scanner} on a dedicated daemon reader thread.
+ * At most one read is outstanding at a time, so several seats sharing one
+ * keyboard never race for the same line.
+ *
+ * There is one provider per scanner, obtained with {@link #of(Scanner)}, and
+ * every read of the scanner must go through it: a read abandoned on a
+ * timeout keeps the reader waiting on the scanner, and only the provider
+ * knows to hand its line to the next prompt.
+ */
+public class ScannerInputProvider implements InputProvider {
+
+    // ============================ Instance Variables ============================
+    private static final long READER_IDLE_SECONDS = 30;
+
+    private static final Map<Scanner, ScannerInputProvider> PROVIDERS = new WeakHashMap<>();
+
+    private final Scanner scanner;
+    private final ExecutorService reader;
+
+    /**
+     * The read currently in progress, if any.
+     */
+    private CompletableFuture<String> pending;
+    private boolean pendingAbandoned;
+
+    // ============================ Constructor ============================
+    /**
+     * @param scanner The scanner to read lines from.
+     * @param name    The name of the reader thread.
+     */
+    private ScannerInputProvider(Scanner scanner, String name) {
+        this.scanner = scanner;
+        ThreadPoolExecutor executor = new ThreadPoolExecutor(1, 1, READER_IDLE_SECONDS, TimeUnit.SECONDS,
+                new LinkedBlockingQueue<>(), runnable -> {
+                    Thread thread = new Thread(runnable, name);
+                    thread.setDaemon(true);
+                    return thread;
+                });
+        executor.allowCoreThreadTimeOut(true); // No idle thread left behind between games
+        this.reader = executor;
+    }
+
+    /**
+     * @param scanner The scanner to read lines from.
+     * @return The provider of the scanner, created on first use.
+     */
+    public static synchronized ScannerInputProvider of(Scanner scanner) {
+        return PROVIDERS.computeIfAbsent(scanner, key -> new ScannerInputProvider(key, "console-input"));
+    }
+
+    /**
+     * Waits for the next line without a time limit, for prompts outside a
+     * seat's turn such as the menus.
+     *
+     * @return The line read.
+     * @throws NoSuchElementException if the input was closed.
+     */
+    public String readLine() {
+        return new SeatInput(this, 0).readLine("");
+    }
+
+    // ============================ InputProvider ============================
+    @Override
+    public synchronized CompletableFuture<String> nextLine() {
+        // A read still in progress answers the newest prompt
+        if (pending != null && !pending.isDone()) {
+            pendingAbandoned = false;
+            return pending;
+        }
+
+        CompletableFuture<String> request = new CompletableFuture<>();
+        pending = request;
+        pendingAbandoned = false;
+        reader.execute(() -> {
+            try {
+                String line = scanner.nextLine();
+                if (!isAbandoned(request)) {
+                    request.complete(line);
+                }
+            } catch (NoSuchElementException | IllegalStateException e) {
+                request.completeExceptionally(e);
+            }
+        });
+        return request;
+    }
+
+    @Override
+    public synchronized void abandon(CompletableFuture<String> request) {
+        if (request == pending) {
+            pendingAbandoned = true;
+        }
+    }
+
+    // ============================ Helpers ============================
+    /**
+     * Drops the line of an abandoned read so the next prompt starts a fresh
+     * one.
+     */
+    private synchronized boolean isAbandoned(CompletableFuture<String> request) {
+        if (request == pending && pendingAbandoned) {
+            request.cancel(false);
+            return true;
+        }
+        return false;
+    }
+}
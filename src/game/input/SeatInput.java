@@ -0,0 +1,83 @@
+package game.input;
+
+import java.util.concurrent.*;
+
+/**
+ * Input for one seat at the table. Wraps an {@link InputProvider} with the
+ * seat's time limit: when the player does not answer in time, the supplied
+ * fallback answer is used instead and the late line is discarded.
+ */
+public class SeatInput {
+
+    // ============================ Instance Variables ============================
+    private final InputProvider provider;
+
+    /**
+     * Time allowed per answer in milliseconds; 0 waits forever.
+     */
+    private long timeoutMillis;
+    private boolean timedOut;
+
+    // ============================ Constructor ============================
+    /**
+     * Constructs the input of a seat.
+     *
+     * @param provider      The provider the seat's lines come from.
+     * @param timeoutMillis Time allowed per answer in milliseconds, 0 for none.
+     */
+    public SeatInput(InputProvider provider, long timeoutMillis) {
+        this.provider = provider;
+        this.timeoutMillis = timeoutMillis;
+    }
+
+    // ============================ Instance Methods ============================
+    /**
+     * Waits for the seat's next line within the time limit.
+     *
+     * @param fallback The answer used when the time limit expires.
+     * @return The line entered, or the fallback on timeout.
+     * @throws java.util.NoSuchElementException if the input was closed.
+     */
+    public String readLine(String fallback) {
+        CompletableFuture<String> request = provider.nextLine();
+        timedOut = false;
+        try {
+            return timeoutMillis > 0
+                    ? request.get(timeoutMillis, TimeUnit.MILLISECONDS)
+                    : request.get();
+        } catch (TimeoutException e) {
+            provider.abandon(request);
+            timedOut = true;
+            return fallback;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt(); // Restore the interrupted status
+            provider.abandon(request);
+            timedOut = true;
+            return fallback;
+        } catch (CancellationException e) {
+            timedOut = true;
+            return fallback;
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof RuntimeException) {
+                throw (RuntimeException) e.getCause();
+            }
+            throw new IllegalStateException(e.getCause());
+        }
+    }
+
+    /**
+     * @return true if the last read ended with the fallback answer.
+     */
+    public boolean hasTimedOut() {
+        return timedOut;
+    }
+
+    // ============================ Getters & Setters ============================
+    public long getTimeoutMillis() {
+        return timeoutMillis;
+    }
+
+    public void setTimeoutMillis(long timeoutMillis) {
+        this.timeoutMillis = timeoutMillis;
+    }
+}
@@ -0,0 +1,33 @@
+package game.metrics;
+
+import jdk.jfr.*;
+
+/**
+ * Flight recorder event for one computer decision. The event's duration is
+ * the time the strategy used.
+ */
+@Name("game.AiDecision")
+@Label("AI Decision")
+@Category("Parade Game")
+@Description("A computer player choosing a card")
+@StackTrace(false)
+public class AiDecisionEvent extends Event {
+
+    @Label("Player")
+    public String player;
+
+    @Label("Strategy")
+    public String strategy;
+
+    @Label("Discard")
+    @Description("true for a final-phase discard, false for a play into the parade")
+    public boolean discard;
+
+    @Label("Candidates")
+    @Description("Cards the strategy could choose from")
+    public int candidates;
+
+    @Label("Rollouts")
+    @Description("Rollouts or search nodes used, 0 for strategies that do not search")
+    public long rollouts;
+}
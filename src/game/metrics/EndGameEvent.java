@@ -0,0 +1,40 @@
+package game.metrics;
+
+import jdk.jfr.*;
+
+/**
+ * Flight recorder event for the moment a game reaches its end condition.
+ */
+@Name("game.EndGame")
+@Label("End Game")
+@Category("Parade Game")
+@Description("The reason a game entered its last round or ended early")
+@StackTrace(false)
+public class EndGameEvent extends Event {
+
+    public static final String DECK_EXHAUSTED = "deck exhausted";
+    public static final String ALL_COLORS = "all colors";
+    public static final String ALL_HUMANS_QUIT = "all humans quit";
+
+    @Label("Reason")
+    public String reason;
+
+    @Label("Player")
+    @Description("The player who collected all colors, if that was the reason")
+    public String player;
+
+    /**
+     * Commits an instant event with the given reason if the event is enabled.
+     *
+     * @param reason One of the reason constants.
+     * @param player The player concerned, or null.
+     */
+    public static void emit(String reason, String player) {
+        EndGameEvent event = new EndGameEvent();
+        if (event.shouldCommit()) {
+            event.reason = reason;
+            event.player = player;
+            event.commit();
+        }
+    }
+}
@@ -0,0 +1,97 @@
+package game.metrics;
+
+import java.util.*;
+
+/**
+ * Process-wide latency histograms, one per {@link Phase}. Game code brackets
+ * a phase with {@link #start()} and {@link #stop(Phase, long)}; any thread
+ * can take a snapshot at any time without pausing the games.
+ *
+ * <pre>
+ * long start = GameMetrics.start();
+ * gameManager.checkEndGame();
+ * GameMetrics.stop(Phase.CHECK_END_GAME, start);
+ * </pre>
+ */
+public final class GameMetrics {
+
+    private static final Phase[] PHASES = Phase.values();
+    private static final LatencyHistogram[] HISTOGRAMS = new LatencyHistogram[PHASES.length];
+    private static volatile boolean enabled = true;
+
+    static {
+        for (int i = 0; i < HISTOGRAMS.length; i++) {
+            HISTOGRAMS[i] = new LatencyHistogram();
+        }
+    }
+
+    private GameMetrics() {
+    }
+
+    // ============================ Recording ============================
+    /**
+     * @return The start timestamp of a phase, or 0 if recording is disabled.
+     */
+    public static long start() {
+        return enabled ? System.nanoTime() : 0;
+    }
+
+    /**
+     * Records the time since the given start timestamp for a phase.
+     *
+     * @param phase The phase that ended.
+     * @param start The value returned by {@link #start()}.
+     */
+    public static void stop(Phase phase, long start) {
+        if (start != 0) {
+            HISTOGRAMS[phase.ordinal()].record(System.nanoTime() - start);
+        }
+    }
+
+    /**
+     * Records a duration that was measured elsewhere.
+     *
+     * @param phase The phase that ended.
+     * @param nanos The duration in nanoseconds.
+     */
+    public static void record(Phase phase, long nanos) {
+        if (enabled) {
+            HISTOGRAMS[phase.ordinal()].record(nanos);
+        }
+    }
+
+    public static void setEnabled(boolean enabled) {
+        GameMetrics.enabled = enabled;
+    }
+
+    public static void reset() {
+        for (LatencyHistogram histogram : HISTOGRAMS) {
+            histogram.reset();
+        }
+    }
+
+    // ============================ Snapshots ============================
+    /**
+     * @return A snapshot of every phase, in the order of {@link Phase}.
+     */
+    public static Map<Phase, HistogramSnapshot> snapshot() {
+        Map<Phase, HistogramSnapshot> snapshots = new EnumMap<>(Phase.class);
+        for (Phase phase : PHASES) {
+            snapshots.put(phase, HISTOGRAMS[phase.ordinal()].snapshot());
+        }
+        return snapshots;
+    }
+
+    /**
+     * @return One line per phase that has been recorded at least once.
+     */
+    public static List<String> report() {
+        List<String> lines = new ArrayList<>();
+        for (Map.Entry<Phase, HistogramSnapshot> entry : snapshot().entrySet()) {
+            if (entry.getValue().getCount() > 0) {
+                lines.add(String.format("%-16s %s", entry.getKey(), entry.getValue()));
+            }
+        }
+        return lines;
+    }
+}
@@ -0,0 +1,192 @@
+package game.metrics;
+
+import java.lang.management.ManagementFactory;
+import java.util.concurrent.atomic.LongAdder;
+import javax.management.*;
+
+/**
+ * Running counters of all games in this process, readable over JMX. Every
+ * counter is a {@link LongAdder}, so game threads that update the same
+ * counter at once do not contend; only the rarely called getters add the
+ * cells up.
+ */
+public class GameStats implements GameStatsMXBean {
+
+    public static final String OBJECT_NAME = "game:type=GameStats";
+
+    private static final GameStats INSTANCE = new GameStats();
+
+    // ============================ Counters ============================
+    private final LongAdder gamesStarted = new LongAdder();
+    private final LongAdder gamesFinished = new LongAdder();
+    private final LongAdder gamesAbandoned = new LongAdder();
+    private final LongAdder turns = new LongAdder();
+    private final LongAdder paradeLengthSum = new LongAdder();
+    private final LongAdder takes = new LongAdder();
+    private final LongAdder cardsTaken = new LongAdder();
+    private final LongAdder deckExhaustedEndings = new LongAdder();
+    private final LongAdder allColorsEndings = new LongAdder();
+    private final LongAdder aiDecisions = new LongAdder();
+    private final LongAdder aiNanos = new LongAdder();
+    private final LongAdder quits = new LongAdder();
+
+    private GameStats() {
+    }
+
+    /**
+     * @return The counters of this process.
+     */
+    public static GameStats get() {
+        return INSTANCE;
+    }
+
+    /**
+     * Publishes the counters in the platform MBean server. Calling it again
+     * has no effect.
+     */
+    public static void register() {
+        try {
+            ObjectName name = new ObjectName(OBJECT_NAME);
+            MBeanServer server = ManagementFactory.getPlatformMBeanServer();
+            if (!server.isRegistered(name)) {
+                server.registerMBean(INSTANCE, name);
+            }
+        } catch (JMException e) {
+            System.out.println("⚠️ Could not publish game statistics over JMX: " + e.getMessage());
+        }
+    }
+
+    // ============================ Recording ============================
+    public void gameStarted() {
+        gamesStarted.increment();
+    }
+
+    public void gameFinished() {
+        gamesFinished.increment();
+    }
+
+    public void gameAbandoned() {
+        gamesAbandoned.increment();
+    }
+
+    /**
+     * @param paradeLength The parade length after the turn.
+     */
+    public void turnPlayed(int paradeLength) {
+        turns.increment();
+        paradeLengthSum.add(paradeLength);
+    }
+
+    /**
+     * @param cards The number of cards taken from the parade.
+     */
+    public void cardsTaken(int cards) {
+        takes.increment();
+        cardsTaken.add(cards);
+    }
+
+    public void deckExhausted() {
+        deckExhaustedEndings.increment();
+    }
+
+    public void allColorsCollected() {
+        allColorsEndings.increment();
+    }
+
+    /**
+     * @param nanos The time a computer player took to decide.
+     */
+    public void aiDecided(long nanos) {
+        aiDecisions.increment();
+        aiNanos.add(nanos);
+    }
+
+    public void playerQuit() {
+        quits.increment();
+    }
+
+    // ============================ Management Interface ============================
+    @Override
+    public long getActiveGames() {
+        return Math.max(gamesStarted.sum() - gamesFinished.sum() - gamesAbandoned.sum(), 0);
+    }
+
+    @Override
+    public long getGamesStarted() {
+        return gamesStarted.sum();
+    }
+
+    @Override
+    public long getGamesFinished() {
+        return gamesFinished.sum();
+    }
+
+    @Override
+    public long getGamesAbandoned() {
+        return gamesAbandoned.sum();
+    }
+
+    @Override
+    public long getTurns() {
+        return turns.sum();
+    }
+
+    @Override
+    public long getTakes() {
+        return takes.sum();
+    }
+
+    @Override
+    public double getAverageCardsPerTake() {
+        return average(cardsTaken, takes);
+    }
+
+    @Override
+    public long getDeckExhaustedEndings() {
+        return deckExhaustedEndings.sum();
+    }
+
+    @Override
+    public long getAllColorsEndings() {
+        return allColorsEndings.sum();
+    }
+
+    @Override
+    public double getAverageParadeLength() {
+        return average(paradeLengthSum, turns);
+    }
+
+    @Override
+    public long getAiDecisions() {
+        return aiDecisions.sum();
+    }
+
+    @Override
+    public double getAverageAiMicrosPerMove() {
+        return average(aiNanos, aiDecisions) / 1e3;
+    }
+
+    @Override
+    public long getQuits() {
+        return quits.sum();
+    }
+
+    /**
+     * Sets every counter back to zero. Games running during the reset may
+     * leave the active game count off until they end.
+     */
+    @Override
+    public void reset() {
+        for (LongAdder adder : new LongAdder[]{gamesStarted, gamesFinished, gamesAbandoned, turns,
+                paradeLengthSum, takes, cardsTaken, deckExhaustedEndings, allColorsEndings,
+                aiDecisions, aiNanos, quits}) {
+            adder.reset();
+        }
+    }
+
+    // ============================ Helpers ============================
+    private static double average(LongAdder sum, LongAdder count) {
+        long n = count.sum();
+        return n == 0 ? 0 : (double) sum.sum() / n;
+    }
+}
@@ -0,0 +1,50 @@
+package game.metrics;
+
+/**
+ * Management interface of the live game counters, published over JMX as
+ * {@code game:type=GameStats}. All values are totals since start-up or the
+ * last {@link #reset()}, except where noted. Reading a value never
+ * changes another.
+ */
+public interface GameStatsMXBean {
+
+    long getActiveGames();
+
+    long getGamesStarted();
+
+    long getGamesFinished();
+
+    /**
+     * @return Games left before the end, for example by a disconnect.
+     */
+    long getGamesAbandoned();
+
+    /**
+     * @return Turns played. Scrapers derive the rate from two readings.
+     */
+    long getTurns();
+
+    /**
+     * @return The number of times a player took cards from the parade.
+     */
+    long getTakes();
+
+    double getAverageCardsPerTake();
+
+    long getDeckExhaustedEndings();
+
+    long getAllColorsEndings();
+
+    /**
+     * @return The average parade length after a turn.
+     */
+    double getAverageParadeLength();
+
+    long getAiDecisions();
+
+    double getAverageAiMicrosPerMove();
+
+    long getQuits();
+
+    void reset();
+}
@@ -0,0 +1,82 @@
+package game.metrics;
+
+/**
+ * An immutable copy of a {@link LatencyHistogram} at one moment. Percentiles
+ * are reported as the midpoint of the bucket they fall into.
+ */
+public class HistogramSnapshot {
+
+    // ============================ Instance Variables ============================
+    private final long[] counts;
+    private final long count;
+    private final long sum;
+    private final long max;
+
+    // ============================ Constructor ============================
+    HistogramSnapshot(long[] counts, long sum, long max) {
+        this.counts = counts;
+        long total = 0;
+        for (long c : counts) {
+            total += c;
+        }
+        this.count = total;
+        this.sum = sum;
+        this.max = max;
+    }
+
+    // ============================ Statistics ============================
+    public long getCount() {
+        return count;
+    }
+
+    /**
+     * @return The sum of all recorded durations in nanoseconds.
+     */
+    public long getSum() {
+        return sum;
+    }
+
+    public long getMax() {
+        return max;
+    }
+
+    /**
+     * @return The mean duration in nanoseconds, or 0 if nothing was recorded.
+     */
+    public double getMean() {
+        return count == 0 ? 0 : (double) sum / count;
+    }
+
+    /**
+     * Returns the duration below which the given fraction of recordings fall.
+     *
+     * @param quantile A fraction between 0 and 1, for example 0.99.
+     * @return The duration in nanoseconds, or 0 if nothing was recorded.
+     */
+    public long getPercentile(double quantile) {
+        if (count == 0) {
+            return 0;
+        }
+        long rank = Math.max(1, (long) Math.ceil(quantile * count));
+        long seen = 0;
+        for (int bucket = 0; bucket < counts.length; bucket++) {
+            seen += counts[bucket];
+            if (seen >= rank) {
+                long low = LatencyHistogram.lowestValueOf(bucket);
+                long high = LatencyHistogram.highestValueOf(bucket);
+                return Math.min(low + (high - low) / 2, max);
+            }
+        }
+        return max;
+    }
+
+    /**
+     * @return A one-line summary with count, mean, p50, p99 and max in
+     * microseconds.
+     */
+    @Override
+    public String toString() {
+        return String.format("count=%d mean=%.1fus p50=%.1fus p99=%.1fus max=%.1fus",
+                count, getMean() / 1e3, getPercentile(0.50) / 1e3, getPercentile(0.99) / 1e3, max / 1e3);
+    }
+}
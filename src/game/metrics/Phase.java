@@ -0,0 +1,19 @@
+package game.metrics;
+
+/**
+ * The phases of a game whose duration is recorded. Phases may nest: a turn
+ * includes the bot's thinking or the wait for the human, its rendering and
+ * taking cards from the parade.
+ */
+public enum Phase {
+    DEAL,
+    PLAY_TURN,
+    BOT_THINK,
+    HUMAN_WAIT,
+    DRAW_FROM_PARADE,
+    CHECK_END_GAME,
+    FINAL_DISCARD,
+    FLIP_CARDS,
+    DETERMINE_WINNER,
+    RENDER
+}
@@ -0,0 +1,22 @@
+package game.metrics;
+
+import jdk.jfr.*;
+
+/**
+ * Flight recorder event for rendering a spectator frame. The event's
+ * duration is the rendering time.
+ */
+@Name("game.Render")
+@Label("Render")
+@Category("Parade Game")
+@Description("A frame rendered for spectators")
+@StackTrace(false)
+public class RenderEvent extends Event {
+
+    @Label("Table")
+    public int table;
+
+    @Label("Bytes")
+    @DataAmount
+    public long bytes;
+}
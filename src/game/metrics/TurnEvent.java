@@ -0,0 +1,48 @@
+package game.metrics;
+
+import game.core.*;
+import java.util.List;
+import jdk.jfr.*;
+
+/**
+ * Flight recorder event for one turn: a card played into the parade and the
+ * cards taken from it. The event's duration covers the whole turn, including
+ * the decision.
+ */
+@Name("game.Turn")
+@Label("Turn")
+@Category("Parade Game")
+@Description("A card played into the parade and the cards taken from it")
+@StackTrace(false)
+public class TurnEvent extends Event {
+
+    @Label("Player")
+    public String player;
+
+    @Label("Card Played")
+    public String card;
+
+    @Label("Cards Taken")
+    public int cardsTaken;
+
+    @Label("Parade Length")
+    @Description("Cards left in the parade after the turn")
+    public int paradeLength;
+
+    /**
+     * Fills in and commits the event. The caller has already ended the event
+     * and checked {@link #shouldCommit()}.
+     *
+     * @param player The player who took the turn.
+     * @param card   The card played.
+     * @param taken  The cards taken from the parade.
+     * @param parade The parade after the turn.
+     */
+    public void fillAndCommit(Player player, Card card, List<Card> taken, Parade parade) {
+        this.player = player.getName();
+        this.card = card.getColor() + ":" + card.getValue();
+        this.cardsTaken = taken.size();
+        this.paradeLength = parade.size();
+        commit();
+    }
+}
@@ -71,6 +71,8 @@ public class CardUI {
             case "grey" -> "🔘";
             case "orange" -> "🟠";
             case "blue" -> "🔵";
+            case "yellow" -> "🟡";
+            case "brown" -> "🟤";
             default -> "🃏";
         };
     }
@@ -85,6 +87,8 @@ public class CardUI {
             case "orange" -> colorCode + "│   🦁    │" + RESET;
             case "purple" -> colorCode + "│   🦄    │" + RESET;
             case "grey" -> colorCode + "│   🐺    │" + RESET;
+            case "yellow" -> colorCode + "│   🐝    │" + RESET;
+            case "brown" -> colorCode + "│   🐻    │" + RESET;
             default -> colorCode + "│   ❓    │" + RESET;
         };
     }
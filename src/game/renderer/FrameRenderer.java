@@ -0,0 +1,56 @@
+package game.renderer;
+
+import game.core.*;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.*;
+
+/**
+ * FrameRenderer turns a game event into a spectator frame: a compact text
+ * snapshot of the table after the event. Each frame is rendered once and
+ * returned as a read-only buffer, so any number of spectators can share it
+ * without copying. Because every frame is a full snapshot, a spectator that
+ * misses frames catches up with the next one.
+ */
+public class FrameRenderer {
+
+    /**
+     * Renders the table state after an event.
+     *
+     * @param tableId  The id of the table.
+     * @param sequence The number of the frame within the table.
+     * @param event    A one-line description of the event.
+     * @param players  The players in seating order.
+     * @param parade   The parade.
+     * @param deck     The deck.
+     * @return A read-only buffer holding the encoded frame.
+     */
+    public static ByteBuffer renderFrame(int tableId, long sequence, String event,
+            List<Player> players, Parade parade, Deck deck) {
+        StringBuilder frame = new StringBuilder(256);
+        frame.append("FRAME ").append(tableId).append(' ').append(sequence).append('\n');
+        frame.append("EVENT ").append(event).append('\n');
+        frame.append("DECK ").append(deck.size()).append('\n');
+
+        frame.append("PARADE");
+        appendCards(frame, parade.getCards());
+        frame.append('\n');
+
+        for (Player player : players) {
+            frame.append("OPEN ").append(player.getName());
+            for (List<Card> cards : player.getOpenCards().values()) {
+                appendCards(frame, cards);
+            }
+            frame.append('\n');
+        }
+        frame.append("END\n");
+
+        return ByteBuffer.wrap(frame.toString().getBytes(StandardCharsets.UTF_8)).asReadOnlyBuffer();
+    }
+
+    private static void appendCards(StringBuilder frame, List<Card> cards) {
+        for (Card card : cards) {
+            frame.append(' ').append(card.getColor()).append(':').append(card.getValue());
+        }
+    }
+}
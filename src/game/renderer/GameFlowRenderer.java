@@ -96,7 +96,7 @@ public class GameFlowRenderer {
     public static void showFlippedCards(Map<Player, List<Card>> flippedCards, List<Player> players) {
         for (Player p : players) {
             System.out.println("\n" + p.getName() + " open cards after flipping:");
-            for (String color : Constants.COLORS) {
+            for (String color : p.getRules().getColors()) {
                 List<Card> openCards = p.getOpenCards().getOrDefault(color, new ArrayList<>());
                 System.out.print(color + " cards: ");
                 if (openCards.isEmpty()) {
@@ -1,5 +1,6 @@
 package game.renderer;
 
+import game.ai.MoveHints;
 import game.core.*;
 import game.utils.Constants;
 import game.utils.Helper;
@@ -122,6 +123,39 @@ public class PlayerRenderer {
     }
 
     
+    /**
+     * Announces that a player ran out of time and a card was chosen for them.
+     *
+     * @param name The name of the player.
+     */
+    public static void showTimeUp(String name) {
+        System.out.println("\n⏰ Time is up! A card was picked for " + name + ".");
+    }
+
+    /**
+     * Displays the hints for every card in the hand: the cards it takes, the
+     * points they are worth and the expected final rank.
+     *
+     * @param hints The hints of the current turn.
+     */
+    public static void showHints(MoveHints hints) {
+        MovePreview preview = hints.getPreview();
+        System.out.printf("%n💡 Hints (%d rollouts per card):%n", hints.getMinRollouts());
+        for (int i = 0; i < preview.getHandSize(); i++) {
+            StringBuilder takes = new StringBuilder();
+            for (int k = 0; k < preview.getTakenCount(i); k++) {
+                Card card = preview.getTaken(i, k);
+                takes.append(k == 0 ? "" : ", ").append(card.getColor()).append(' ').append(card.getValue());
+            }
+            Card card = preview.getCard(i);
+            double rank = hints.getExpectedRank(i);
+            System.out.printf("  [%d] %-10s takes %-30s +%-3d expected rank %s%n", i + 1,
+                    card.getColor() + " " + card.getValue(), takes.length() == 0 ? "nothing" : takes,
+                    preview.getTakenValue(i), Double.isNaN(rank) ? "?" : String.format("%.2f", rank));
+        }
+        System.out.println();
+    }
+
     /**
      * Displays the player's closed cards (hand) in a horizontal layout, with
      * each card's index displayed above it.
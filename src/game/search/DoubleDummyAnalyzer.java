@@ -0,0 +1,508 @@
+package game.search;
+
+import game.core.*;
+import game.gameplay.GameRecord;
+import game.utils.Constants;
+import java.util.*;
+import java.util.concurrent.*;
+
+/**
+ * Reviews a finished game the way double-dummy solvers review bridge deals:
+ * with every hand and the order of the deck known, it finds the best card for
+ * each turn that was played and how much lead the card actually played gave
+ * up.
+ *
+ * Each turn is searched with alpha-beta from the mover's side. With more than
+ * two players the others are taken to play against the mover together (the
+ * paranoid assumption), which keeps the search two-sided; with two players it
+ * is plain minimax. The score is the mover's lead, the best other score minus
+ * its own, with the final flips applied. At the end of the game every seat
+ * makes the final discards that suit it best, one seat after the other.
+ *
+ * Results go into the shared {@link TranspositionTable} under the canonical
+ * hash of the position, so searches of later turns, of other root moves and
+ * of other games' identical positions up to renamed colors reuse each other.
+ * The root moves of a turn are searched in parallel, one deeper turn at a
+ * time for as long as the time per turn allows; late turns are searched to
+ * the end of the game and come out exact.
+ */
+public class DoubleDummyAnalyzer {
+
+    /**
+     * Sets analysis keys apart from anything else in the shared table.
+     */
+    private static final long SALT = 0x44444D4D59L;
+    private static final int INFINITY = Short.MAX_VALUE;
+
+    // ============================ Instance Variables ============================
+    private final int moveTimeMs;
+    private final int maxDepth;
+    private final TranspositionTable table;
+    private final ExecutorService executor;
+    private final ThreadLocal<Worker> workers = new ThreadLocal<>();
+
+    // ============================ Constructors ============================
+    public DoubleDummyAnalyzer() {
+        this(Constants.ANALYSIS_MOVE_TIME_MS, Constants.ANALYSIS_MAX_DEPTH,
+                TranspositionTable.shared(), ForkJoinPool.commonPool());
+    }
+
+    /**
+     * @param moveTimeMs The search time per turn in milliseconds.
+     * @param maxDepth   The deepest search in turns.
+     * @param table      The transposition table to share results through.
+     * @param executor   Runs the root moves in parallel.
+     */
+    public DoubleDummyAnalyzer(int moveTimeMs, int maxDepth, TranspositionTable table, ExecutorService executor) {
+        if (moveTimeMs < 1 || maxDepth < 1) {
+            throw new IllegalArgumentException("Search time and depth must be positive.");
+        }
+        this.moveTimeMs = moveTimeMs;
+        this.maxDepth = Math.min(maxDepth, SearchPosition.MAX_CHANGES / 4);
+        this.table = table;
+        this.executor = executor;
+    }
+
+    // ============================ Analysis ============================
+    /**
+     * Analyzes every turn of a recorded game in which a card was played.
+     * Final discards are not analyzed.
+     *
+     * @param record The game.
+     * @return One analysis per turn, in order.
+     * @throws InterruptedException if interrupted while waiting for the search.
+     */
+    public List<TurnAnalysis> analyze(GameRecord record) throws InterruptedException {
+        table.newSearch();
+        List<TurnAnalysis> turns = new ArrayList<>();
+        List<GameRecord.Move> moves = record.getMoves();
+        for (int turn = 0; turn < moves.size() && !moves.get(turn).isDiscard(); turn++) {
+            turns.add(analyzeTurn(record, turn));
+        }
+        return turns;
+    }
+
+    /**
+     * Analyzes one turn of a recorded game.
+     *
+     * @param record The game.
+     * @param turn   The index of the move to analyze, which must be a play.
+     * @return The analysis.
+     * @throws InterruptedException if interrupted while waiting for the search.
+     */
+    public TurnAnalysis analyzeTurn(GameRecord record, int turn) throws InterruptedException {
+        GameRecord.Move move = record.getMoves().get(turn);
+        if (move.isDiscard()) {
+            throw new IllegalArgumentException("Move " + turn + " is a final discard.");
+        }
+        Worker root = worker(record);
+        root.replay(record, turn);
+        int seat = move.getSeat();
+        if (root.seat != seat) {
+            throw new IllegalArgumentException("The record has seat " + seat + " play out of turn at move " + turn);
+        }
+
+        // The distinct cards in the hand are the root moves
+        SearchPosition position = root.position;
+        int[] codes = new int[position.getHandSize(seat)];
+        int count = 0;
+        for (int i = 0; i < position.getHandSize(seat); i++) {
+            int code = position.getHandCard(seat, i);
+            if (!contains(codes, count, code)) {
+                codes[count++] = code;
+            }
+        }
+        int playedCode = position.codeOf(move.getCard());
+
+        long deadline = System.nanoTime() + moveTimeMs * 1_000_000L;
+        int[] values = null;
+        int depthReached = 0;
+        boolean exact = false;
+        for (int depth = 1; depth <= maxDepth && !exact; depth++) {
+            int[] iteration = searchRoot(record, turn, codes, count, depth, deadline);
+            if (iteration == null) {
+                break;
+            }
+            values = Arrays.copyOf(iteration, count);
+            depthReached = depth;
+            exact = iteration[count] == 0;
+        }
+        if (values == null) {
+            // Not even one turn deep in time; search that much regardless
+            values = searchRoot(record, turn, codes, count, 1, Long.MAX_VALUE);
+            depthReached = 1;
+        }
+
+        int best = 0;
+        int played = 0;
+        for (int i = 0; i < count; i++) {
+            if (values[i] > values[best]) {
+                best = i;
+            }
+            if (codes[i] == playedCode) {
+                played = i;
+            }
+        }
+        return new TurnAnalysis(turn, seat, record.getName(seat), move.getCard(), cardOf(position, codes[best]),
+                values[played], values[best], depthReached, exact);
+    }
+
+    /**
+     * Searches every root move to the given depth in parallel.
+     *
+     * @return The value of every move followed by 1 if any line was cut off
+     * at the depth and 0 if all reached the end, or null if time ran out.
+     */
+    private int[] searchRoot(GameRecord record, int turn, int[] codes, int count, int depth, long deadline)
+            throws InterruptedException {
+        List<Callable<int[]>> tasks = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            int code = codes[i];
+            tasks.add(() -> {
+                Worker worker = worker(record);
+                worker.replay(record, turn);
+                return worker.searchMove(code, depth, deadline);
+            });
+        }
+        int[] result = new int[count + 1];
+        List<Future<int[]>> futures = executor.invokeAll(tasks);
+        for (int i = 0; i < count; i++) {
+            int[] outcome;
+            try {
+                outcome = futures.get(i).get();
+            } catch (ExecutionException e) {
+                throw new IllegalStateException("Analysis failed", e.getCause());
+            }
+            if (outcome == null) {
+                return null;
+            }
+            result[i] = outcome[0];
+            result[count] |= outcome[1];
+        }
+        return result;
+    }
+
+    // ============================ Helpers ============================
+    private Worker worker(GameRecord record) {
+        Worker worker = workers.get();
+        if (worker == null || worker.rules != record.getRules() || worker.seats != record.getSeats()) {
+            worker = new Worker(record.getRules(), record.getSeats(), table);
+            workers.set(worker);
+        }
+        return worker;
+    }
+
+    private static Card cardOf(SearchPosition position, int code) {
+        int color = position.colorOf(code);
+        RuleSet rules = position.getRules();
+        return new Card(rules.getColor(color), color, position.valueOf(code));
+    }
+
+    private static boolean contains(int[] codes, int count, int code) {
+        for (int i = 0; i < count; i++) {
+            if (codes[i] == code) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    // ============================ Search ============================
+    /**
+     * One thread's position, canonicalizer and search state.
+     */
+    private static final class Worker {
+
+        private static final int TIME_CHECK_MASK = 1023;
+
+        private final RuleSet rules;
+        private final int seats;
+        private final SearchPosition position;
+        private final StateCanonicalizer canonicalizer;
+        private final TranspositionTable table;
+
+        /**
+         * Moves per turn of the line, as cards and as canonical cards.
+         */
+        private final int[][] moves;
+        private final int[][] canonicalMoves;
+
+        private int seat;
+        private int perspective;
+        private boolean lastRound;
+        private int lastRoundLeft;
+
+        private long deadline;
+        private boolean aborted;
+        private boolean cutoff;
+        private long nodes;
+
+        Worker(RuleSet rules, int seats, TranspositionTable table) {
+            this.rules = rules;
+            this.seats = seats;
+            this.position = new SearchPosition(rules, seats);
+            this.canonicalizer = new StateCanonicalizer(rules, true);
+            this.table = table;
+            this.moves = new int[SearchPosition.MAX_CHANGES][rules.getHandSize()];
+            this.canonicalMoves = new int[SearchPosition.MAX_CHANGES][rules.getHandSize()];
+        }
+
+        /**
+         * Sets the position up as it was before a move of the record.
+         */
+        void replay(GameRecord record, int turn) {
+            position.reset();
+            for (int s = 0; s < seats; s++) {
+                for (Card card : record.getHand(s)) {
+                    position.addToHand(s, card);
+                }
+            }
+            for (Card card : record.getParade()) {
+                position.addToParade(card);
+            }
+            position.setDeck(record.getDeck());
+
+            seat = 0;
+            lastRound = false;
+            List<GameRecord.Move> moves = record.getMoves();
+            for (int i = 0; i < turn; i++) {
+                int code = position.codeOf(moves.get(i).getCard());
+                position.playFromHand(seat, indexOf(seat, code));
+                advance();
+            }
+            position.clearHistory();
+        }
+
+        /**
+         * Searches the position after one root move.
+         *
+         * @return The value and 1 if the search was cut off at the depth, or
+         * null if time ran out.
+         */
+        int[] searchMove(int code, int depth, long deadline) {
+            this.deadline = deadline;
+            this.perspective = seat;
+            aborted = false;
+            cutoff = false;
+            int mover = seat;
+            position.playFromHand(mover, indexOf(mover, code));
+            int value = afterTurn(mover, 1, depth, -INFINITY, INFINITY);
+            position.undo();
+            return aborted ? null : new int[] {value, cutoff ? 1 : 0};
+        }
+
+        // ============================ Nodes ============================
+        private int search(int mover, int ply, int depth, int alpha, int beta) {
+            if ((++nodes & TIME_CHECK_MASK) == 0 && System.nanoTime() > deadline) {
+                aborted = true;
+            }
+            if (aborted) {
+                return 0;
+            }
+            if (ply == depth) {
+                cutoff = true;
+                return position.lead(perspective);
+            }
+
+            long context = SALT << 24 ^ (long) perspective << 16 ^ mover << 8 ^ (lastRound ? lastRoundLeft + 1 : 0);
+            long key = canonicalizer.canonicalize(position, context);
+            long entry = table.probe(key);
+            int hint = -1;
+            if (entry != TranspositionTable.MISS) {
+                int stored = TranspositionTable.depth(entry);
+                if (stored >= depth - ply) {
+                    if (stored != TranspositionTable.MAX_DEPTH) {
+                        // A value from a search that stopped short of the end
+                        cutoff = true;
+                    }
+                    int value = TranspositionTable.value(entry);
+                    int bound = TranspositionTable.bound(entry);
+                    if (bound == TranspositionTable.EXACT
+                            || bound == TranspositionTable.LOWER && value >= beta
+                            || bound == TranspositionTable.UPPER && value <= alpha) {
+                        return value;
+                    }
+                }
+                hint = TranspositionTable.move(entry);
+            }
+
+            int count = orderMoves(mover, ply, hint);
+            if (count == 0) {
+                return position.lead(perspective);
+            }
+            int[] codes = moves[ply];
+            boolean maximizing = mover == perspective;
+            int originalAlpha = alpha;
+            int originalBeta = beta;
+            boolean outerCutoff = cutoff;
+            cutoff = false;
+
+            int best = maximizing ? -INFINITY : INFINITY;
+            int bestMove = TranspositionTable.NO_MOVE;
+            for (int i = 0; i < count; i++) {
+                position.playFromHand(mover, indexOf(mover, codes[i]));
+                int value = afterTurn(mover, ply + 1, depth, alpha, beta);
+                position.undo();
+                if (aborted) {
+                    return 0;
+                }
+                if (maximizing ? value > best : value < best) {
+                    best = value;
+                    bestMove = canonicalMoves[ply][i];
+                }
+                if (maximizing) {
+                    alpha = Math.max(alpha, value);
+                } else {
+                    beta = Math.min(beta, value);
+                }
+                if (alpha >= beta) {
+                    break;
+                }
+            }
+
+            int bound = best <= originalAlpha ? TranspositionTable.UPPER
+                    : best >= originalBeta ? TranspositionTable.LOWER : TranspositionTable.EXACT;
+            table.store(key, best, cutoff ? depth - ply : TranspositionTable.MAX_DEPTH, bound, bestMove);
+            cutoff |= outerCutoff;
+            return best;
+        }
+
+        /**
+         * Finishes a turn: the mover draws, the end of the game may begin,
+         * and the next seat plays.
+         */
+        private int afterTurn(int mover, int ply, int depth, int alpha, int beta) {
+            boolean wasLastRound = lastRound;
+            int wasLastRoundLeft = lastRoundLeft;
+            boolean drew = step(mover);
+            int value = lastRound && lastRoundLeft == 0
+                    ? finalDiscards()
+                    : search((mover + 1) % seats, ply, depth, alpha, beta);
+            if (drew) {
+                position.undo();
+            }
+            lastRound = wasLastRound;
+            lastRoundLeft = wasLastRoundLeft;
+            return value;
+        }
+
+        /**
+         * Every seat in turn makes the final discards that give it the best
+         * lead; the result is the analyzed seat's lead.
+         */
+        private int finalDiscards() {
+            int changes = position.changes();
+            for (int s = 0; s < seats; s++) {
+                int discards = Math.min(rules.getFinalPlayMoves(), position.getHandSize(s));
+                for (int d = 0; d < discards; d++) {
+                    int bestIndex = 0;
+                    int best = Integer.MIN_VALUE;
+                    for (int i = 0; i < position.getHandSize(s); i++) {
+                        position.discard(s, i);
+                        int lead = position.lead(s);
+                        position.undo();
+                        if (lead > best) {
+                            best = lead;
+                            bestIndex = i;
+                        }
+                    }
+                    position.discard(s, bestIndex);
+                }
+            }
+            int value = position.lead(perspective);
+            while (position.changes() > changes) {
+                position.undo();
+            }
+            return value;
+        }
+
+        // ============================ Helpers ============================
+        /**
+         * Applies the end of a turn to the flow: a draw outside the last
+         * round, and the start or progress of the last round.
+         *
+         * @return true if a card was drawn.
+         */
+        private boolean step(int mover) {
+            boolean drew = false;
+            if (lastRound) {
+                lastRoundLeft--;
+            } else {
+                if (position.getDeckSize() > 0) {
+                    position.drawCard(mover);
+                    drew = true;
+                }
+                if (position.getDeckSize() == 0 || anyoneHasAllColors()) {
+                    lastRound = true;
+                    lastRoundLeft = seats;
+                }
+            }
+            return drew;
+        }
+
+        /**
+         * Moves the replay on by one played turn.
+         */
+        private void advance() {
+            step(seat);
+            seat = (seat + 1) % seats;
+        }
+
+        /**
+         * Fills the moves of a turn: distinct cards, the table's best move
+         * first and then the cards that take least.
+         *
+         * @return The number of moves.
+         */
+        private int orderMoves(int mover, int ply, int hint) {
+            int[] codes = moves[ply];
+            int[] canonical = canonicalMoves[ply];
+            int count = 0;
+            for (int i = 0; i < position.getHandSize(mover); i++) {
+                int code = position.getHandCard(mover, i);
+                if (!contains(codes, count, code)) {
+                    codes[count] = code;
+                    canonical[count] = canonicalizer.toCanonical(position.colorOf(code)) * position.getValueCount()
+                            + position.valueOf(code) - rules.getMinCardValue();
+                    count++;
+                }
+            }
+            for (int i = 1; i < count; i++) {
+                int code = codes[i];
+                int canonicalCode = canonical[i];
+                int rank = rank(code, canonicalCode, hint);
+                int j = i - 1;
+                while (j >= 0 && rank(codes[j], canonical[j], hint) > rank) {
+                    codes[j + 1] = codes[j];
+                    canonical[j + 1] = canonical[j];
+                    j--;
+                }
+                codes[j + 1] = code;
+                canonical[j + 1] = canonicalCode;
+            }
+            return count;
+        }
+
+        private int rank(int code, int canonicalCode, int hint) {
+            return canonicalCode == hint ? -1 : position.takeCost(code);
+        }
+
+        private int indexOf(int s, int code) {
+            for (int i = 0; i < position.getHandSize(s); i++) {
+                if (position.getHandCard(s, i) == code) {
+                    return i;
+                }
+            }
+            throw new IllegalStateException("Seat " + s + " does not hold card " + code);
+        }
+
+        private boolean anyoneHasAllColors() {
+            for (int s = 0; s < seats; s++) {
+                if (position.hasAllColors(s)) {
+                    return true;
+                }
+            }
+            return false;
+        }
+    }
+}
@@ -0,0 +1,57 @@
+package game.search;
+
+import game.ai.*;
+import game.core.*;
+import game.gameplay.*;
+import game.utils.Constants;
+import java.util.*;
+import java.util.concurrent.ForkJoinPool;
+
+/**
+ * Plays a headless game between computer players, records it and prints the
+ * double-dummy review of every turn: the card played, the best card, the lead
+ * given up and how deep the search went.
+ *
+ * Usage: {@code java -cp out game.search.GameReview [players] [seed] [analysisMs] [rules]}
+ */
+public class GameReview {
+
+    public static void main(String[] args) throws InterruptedException {
+        int playerCount = args.length > 0 ? Integer.parseInt(args[0]) : 2;
+        long seed = args.length > 1 ? Long.parseLong(args[1]) : System.nanoTime();
+        int analysisMs = args.length > 2 ? Integer.parseInt(args[2]) : Constants.ANALYSIS_MOVE_TIME_MS;
+        RuleSet rules = args.length > 3 ? RuleSet.preset(args[3]) : RuleSet.BASE;
+
+        // One searching bot against random ones, so the review has mistakes to find
+        Random random = new Random(seed);
+        List<Player> players = new ArrayList<>(playerCount);
+        players.add(new Computer("Expectimax", new ExpectimaxStrategy(5)));
+        for (int p = 1; p < playerCount; p++) {
+            players.add(new Computer("Random " + p, new RandomStrategy(random)));
+        }
+        GameStateMachine game = new GameStateMachine(players, random, rules);
+        GameRecorder recorder = new GameRecorder(game);
+        game.setListener(recorder);
+        while (game.step()) {
+            // Every seat is a computer, so the game runs to the end
+        }
+
+        long start = System.nanoTime();
+        DoubleDummyAnalyzer analyzer = new DoubleDummyAnalyzer(analysisMs, Constants.ANALYSIS_MAX_DEPTH,
+                TranspositionTable.shared(), ForkJoinPool.commonPool());
+        List<TurnAnalysis> turns = analyzer.analyze(recorder.getRecord());
+        double seconds = (System.nanoTime() - start) / 1e9;
+
+        System.out.println("=".repeat(60));
+        System.out.printf("%3s  %-12s %-10s %-10s %4s  %s%n", "#", "Player", "Played", "Best", "Loss", "Search");
+        Map<String, Integer> losses = new LinkedHashMap<>();
+        for (TurnAnalysis turn : turns) {
+            System.out.println(turn);
+            losses.merge(turn.getPlayer(), turn.getLoss(), Integer::sum);
+        }
+        System.out.println("=".repeat(60));
+        losses.forEach((name, loss) -> System.out.printf("%-12s total loss %d%n", name, loss));
+        System.out.printf("Winner: %s, %d turns analyzed in %.2f s (seed %d)%n",
+                game.getWinner().getName(), turns.size(), seconds, seed);
+    }
+}
@@ -0,0 +1,262 @@
+package game.search;
+
+import game.core.*;
+import java.io.*;
+import java.nio.*;
+import java.nio.channels.FileChannel;
+import java.nio.file.*;
+import java.util.*;
+
+/**
+ * First moves worked out ahead of time by {@link OpeningBookBuilder} and
+ * looked up by bots in place of a search.
+ *
+ * A deal almost never repeats exactly: the parade and hand alone, even with
+ * the colors renamed to canonical order, make billions of openings. So an
+ * opening is keyed by what each hand card is and would do instead: its value
+ * and the band of points it would take from the parade ({@link #TAKE_BANDS}).
+ * Colors do not appear at all, so the key is canonical under renaming them,
+ * and hands whose cards do the same share an entry. The features of the hand
+ * are sorted, the book stores the best card as its place in that order, and
+ * the key also folds in the number of players, the parade length and the
+ * deck size.
+ *
+ * Only keys whose searches agreed clearly make it into the book (see
+ * {@link OpeningBookBuilder}), since hands that share a key can still differ
+ * in colors and majorities.
+ *
+ * The book file holds a header, the keys sorted and the moves, and is
+ * memory-mapped read-only, so lookups are a binary search in the page cache
+ * that allocates nothing and tables share one copy. Lookups are thread-safe.
+ *
+ * The book is an experiment and no level plays one: so few keys pass the
+ * vote that a book practically never hits. A bot plays one only when given
+ * it with {@link game.ai.ExpectimaxStrategy#setOpeningBook(OpeningBook)}.
+ */
+public final class OpeningBook {
+
+    private static final int MAGIC = 0x50424B32; // "PBK2"
+    private static final int HEADER_BYTES = 16;
+    private static final long SEED = 0x3C6EF372FE94F82BL;
+
+    /**
+     * The most points each band of taken points holds; more than the last
+     * is one band of its own.
+     */
+    private static final int[] TAKE_BANDS = {0, 3, 7, 12, 20};
+    private static final ThreadLocal<Keyer> KEYERS = new ThreadLocal<>();
+
+    // ============================ Instance Variables ============================
+    private final ByteBuffer buffer;
+    private final long rulesKey;
+    private final int entries;
+    private final int movesOffset;
+
+    // ============================ Constructor ============================
+    private OpeningBook(ByteBuffer buffer) throws IOException {
+        this.buffer = buffer;
+        if (buffer.capacity() < HEADER_BYTES || buffer.getInt(0) != MAGIC) {
+            throw new IOException("Not an opening book.");
+        }
+        this.entries = buffer.getInt(4);
+        this.rulesKey = buffer.getLong(8);
+        long moves = HEADER_BYTES + (long) entries * Long.BYTES;
+        if (entries < 0 || buffer.capacity() < moves + entries) {
+            throw new IOException("The opening book is truncated or corrupt.");
+        }
+        this.movesOffset = (int) moves;
+    }
+
+    // ============================ Files ============================
+    /**
+     * Maps a book file into memory.
+     *
+     * @param file The book file.
+     * @return The book.
+     * @throws IOException if the file cannot be read or is not a book.
+     */
+    public static OpeningBook open(Path file) throws IOException {
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            // The mapping stays valid after the channel is closed
+            return new OpeningBook(channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size()));
+        }
+    }
+
+    /**
+     * Writes a book file.
+     *
+     * @param file  The file to write.
+     * @param rules The rules the openings were searched under.
+     * @param keys  The opening keys, sorted ascending without repeats.
+     * @param moves The best move of each key, as its place among the sorted
+     *              hand features.
+     * @throws IOException if the file cannot be written.
+     */
+    public static void write(Path file, RuleSet rules, long[] keys, byte[] moves) throws IOException {
+        try (DataOutputStream out = new DataOutputStream(new BufferedOutputStream(Files.newOutputStream(file)))) {
+            out.writeInt(MAGIC);
+            out.writeInt(keys.length);
+            out.writeLong(rulesKey(rules));
+            for (long key : keys) {
+                out.writeLong(key);
+            }
+            out.write(moves, 0, keys.length);
+        }
+    }
+
+    // ============================ Lookup ============================
+    /**
+     * Looks the player's move up if the game is still at its opening.
+     *
+     * @param self    The player to move.
+     * @param parade  The current parade.
+     * @param players All players at the table, in turn order.
+     * @param deck    The deck, used for its size only.
+     * @return A zero-based index into the player's closed cards, or -1 if the
+     * position is not an opening or not in the book.
+     */
+    public int lookup(Player self, Parade parade, List<Player> players, Deck deck) {
+        if (rulesKey(self.getRules()) != rulesKey || !isOpening(self, players)) {
+            return -1;
+        }
+        Keyer keyer = keyerFor(self.getRules());
+        long key = keyer.key(self, parade, players, deck.size());
+
+        int low = 0;
+        int high = entries - 1;
+        while (low <= high) {
+            int mid = (low + high) >>> 1;
+            long found = buffer.getLong(HEADER_BYTES + mid * Long.BYTES);
+            if (found < key) {
+                low = mid + 1;
+            } else if (found > key) {
+                high = mid - 1;
+            } else {
+                int rank = Byte.toUnsignedInt(buffer.get(movesOffset + mid));
+                return rank >= 0 && rank < keyer.handSize ? keyer.indexAt(rank) : -1;
+            }
+        }
+        return -1;
+    }
+
+    /**
+     * Tells whether a position is an opening: the player holds a full hand
+     * and nobody has taken a card from the parade yet.
+     *
+     * @param self    The player to move.
+     * @param players All players at the table.
+     * @return true if the book may hold the position.
+     */
+    public static boolean isOpening(Player self, List<Player> players) {
+        if (self.getClosedCards().size() != self.getRules().getHandSize()) {
+            return false;
+        }
+        for (int p = 0; p < players.size(); p++) {
+            if (players.get(p).getTotalOpenCards() > 0) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * @return This thread's keyer for the rules.
+     */
+    static Keyer keyerFor(RuleSet rules) {
+        Keyer keyer = KEYERS.get();
+        if (keyer == null || keyer.rules != rules) {
+            keyer = new Keyer(rules);
+            KEYERS.set(keyer);
+        }
+        return keyer;
+    }
+
+    /**
+     * @return The number of openings in the book.
+     */
+    public int size() {
+        return entries;
+    }
+
+    /**
+     * @return The band of the points a card takes.
+     */
+    private static int takeBand(int points) {
+        int band = 0;
+        while (band < TAKE_BANDS.length && points > TAKE_BANDS[band]) {
+            band++;
+        }
+        return band;
+    }
+
+    private static long rulesKey(RuleSet rules) {
+        return Hashing.mix(rules.getName().hashCode() ^ (long) rules.getColorCount() << 32
+                ^ (long) rules.getDecks() << 40 ^ (long) rules.getHandSize() << 48);
+    }
+
+    // ============================ Keys ============================
+    /**
+     * Works out opening keys with buffers kept between calls. Not
+     * thread-safe; each thread keeps its own.
+     */
+    static final class Keyer {
+        private final RuleSet rules;
+        private final MovePreview preview;
+
+        /**
+         * The features of every hand card, each followed by its hand index in
+         * the low bits, sorted.
+         */
+        private final long[] features;
+        private int handSize;
+
+        Keyer(RuleSet rules) {
+            this.rules = rules;
+            this.preview = new MovePreview(rules);
+            this.features = new long[rules.getHandSize()];
+        }
+
+        /**
+         * Computes the key of an opening and sorts the hand features, so
+         * {@link #indexAt} and {@link #rankOf} translate moves afterwards.
+         *
+         * @return The 64-bit opening key.
+         */
+        long key(Player self, Parade parade, List<Player> players, int deckSize) {
+            preview.preview(parade, self, players);
+            handSize = preview.getHandSize();
+            for (int i = 0; i < handSize; i++) {
+                Card card = preview.getCard(i);
+                long feature = (long) card.getValue() << 16 | (long) takeBand(preview.getTakenValue(i)) << 8;
+                features[i] = feature | i;
+            }
+            Arrays.sort(features, 0, handSize);
+
+            long hash = SEED ^ players.size() * 0x9E3779B97F4A7C15L ^ (long) parade.size() << 8 ^ (long) deckSize << 20;
+            for (int i = 0; i < handSize; i++) {
+                hash = Hashing.mix(hash ^ features[i] >>> 8);
+            }
+            return hash;
+        }
+
+        /**
+         * @return The hand index of the card at a place among the sorted
+         * features.
+         */
+        int indexAt(int rank) {
+            return (int) (features[rank] & 0xFF);
+        }
+
+        /**
+         * @return The place of a hand card among the sorted features.
+         */
+        int rankOf(int handIndex) {
+            for (int rank = 0; rank < handSize; rank++) {
+                if (indexAt(rank) == handIndex) {
+                    return rank;
+                }
+            }
+            throw new IllegalArgumentException("No card at hand index " + handIndex);
+        }
+    }
+}
@@ -0,0 +1,209 @@
+package game.search;
+
+import game.ai.*;
+import game.core.*;
+import game.gameplay.GameStateMachine;
+import game.utils.Constants;
+import java.io.IOException;
+import java.nio.file.*;
+import java.util.*;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Builds an {@link OpeningBook} offline. Worker threads deal games, at one
+ * table size or at random ones, and search every opening with a long think
+ * time; each search is a vote for its card in the opening's key. The book
+ * keeps the card with the most votes per key, but only for keys with at
+ * least {@link Constants#OPENING_BOOK_MIN_VOTES} votes whose winner leads
+ * the runner-up by {@link Constants#OPENING_BOOK_MIN_MARGIN} of them: hands
+ * that share a key differ in colors and majorities, and a split vote means
+ * the key does not settle the move.
+ *
+ * Hands with the same key come up more often the more openings are searched
+ * and the fewer table sizes they are spread over: for two players, a book of
+ * 100,000 openings holds about one in five of them and a book of a million
+ * about half.
+ *
+ * Usage: {@code java -cp out game.search.OpeningBookBuilder [positions] [moveTimeMs] [threads] [rules] [file] [players]}
+ */
+public class OpeningBookBuilder {
+
+    // ============================ Instance Variables ============================
+    private final RuleSet rules;
+    private final ExpectimaxStrategy search;
+    private final int positions;
+    private final int players;
+    private final AtomicInteger searched = new AtomicInteger();
+
+    // ============================ Constructor ============================
+    /**
+     * @param rules      The rules to build the book for.
+     * @param moveTimeMs The think time per opening in milliseconds.
+     * @param positions  The number of openings to search.
+     * @param players    The table size to search, or 0 for every size the
+     *                   rules allow.
+     */
+    public OpeningBookBuilder(RuleSet rules, int moveTimeMs, int positions, int players) {
+        this.rules = rules;
+        this.search = new ExpectimaxStrategy(moveTimeMs);
+        this.positions = positions;
+        this.players = players;
+    }
+
+    public static void main(String[] args) throws Exception {
+        int positions = args.length > 0 ? Integer.parseInt(args[0]) : Constants.OPENING_BOOK_POSITIONS;
+        int moveTimeMs = args.length > 1 ? Integer.parseInt(args[1]) : Constants.OPENING_BOOK_MOVE_TIME_MS;
+        int threads = args.length > 2 ? Integer.parseInt(args[2]) : Runtime.getRuntime().availableProcessors();
+        RuleSet rules = args.length > 3 ? RuleSet.preset(args[3]) : RuleSet.BASE;
+        Path file = Paths.get(args.length > 4 ? args[4] : Constants.OPENING_BOOK_FILE);
+        int players = args.length > 5 ? Integer.parseInt(args[5]) : 0;
+
+        long start = System.nanoTime();
+        OpeningBookBuilder builder = new OpeningBookBuilder(rules, moveTimeMs, positions, players);
+        Map<Long, int[]> votes = builder.build(threads);
+        int entries = builder.write(file, votes);
+        double seconds = (System.nanoTime() - start) / 1e9;
+
+        System.out.printf("📖 %d openings searched for %d ms each on %d threads in %.0f s%n",
+                Math.min(builder.searched.get(), positions), moveTimeMs, threads, seconds);
+        System.out.printf("📖 %d of %d keys written to %s (%d KB), the rest without a clear vote%n",
+                entries, votes.size(), file, Files.size(file) / 1024);
+    }
+
+    // ============================ Building ============================
+    /**
+     * Searches the openings on a pool of threads.
+     *
+     * @param threads The number of worker threads.
+     * @return The votes per opening key, one count per place among the
+     * sorted hand features.
+     */
+    public Map<Long, int[]> build(int threads) throws InterruptedException, ExecutionException {
+        ExecutorService pool = Executors.newFixedThreadPool(threads);
+        try {
+            List<Future<Map<Long, int[]>>> futures = new ArrayList<>();
+            for (int t = 0; t < threads; t++) {
+                long seed = Constants.RANDOM.nextLong();
+                futures.add(pool.submit(() -> work(new Random(seed))));
+            }
+            Map<Long, int[]> votes = new HashMap<>();
+            for (Future<Map<Long, int[]>> future : futures) {
+                future.get().forEach((key, counts) -> votes.merge(key, counts, (a, b) -> {
+                    for (int i = 0; i < a.length; i++) {
+                        a[i] += b[i];
+                    }
+                    return a;
+                }));
+            }
+            return votes;
+        } finally {
+            pool.shutdown();
+        }
+    }
+
+    /**
+     * Deals games and searches their openings until enough are searched.
+     * Every opening is played as searched, and the game is left once a
+     * card is taken from the parade.
+     */
+    private Map<Long, int[]> work(Random random) {
+        Map<Long, int[]> votes = new HashMap<>();
+        int handSize = rules.getHandSize();
+
+        while (searched.get() < positions) {
+            int seats = players > 0
+                    ? players
+                    : rules.getMinPlayers() + random.nextInt(rules.getMaxPlayers() - rules.getMinPlayers() + 1);
+            boolean[] over = new boolean[1];
+            ComputerStrategy recorder = new ComputerStrategy() {
+                @Override
+                public int chooseCard(Player self, Parade parade, List<Player> players, Deck deck) {
+                    if (!OpeningBook.isOpening(self, players) || searched.getAndIncrement() >= positions) {
+                        // The game is left after this move
+                        over[0] = true;
+                        return 0;
+                    }
+                    int index = search.chooseCard(self, parade, players, deck);
+                    OpeningBook.Keyer keyer = OpeningBook.keyerFor(rules);
+                    long key = keyer.key(self, parade, players, deck.size());
+                    votes.computeIfAbsent(key, k -> new int[handSize])[keyer.rankOf(index)]++;
+                    return index;
+                }
+
+                @Override
+                public int chooseDiscard(Player self, List<Player> players, Deck deck) {
+                    over[0] = true;
+                    return 0;
+                }
+            };
+
+            List<Player> table = new ArrayList<>(seats);
+            for (int p = 0; p < seats; p++) {
+                table.add(new Computer("Bot " + (p + 1), recorder));
+            }
+            GameStateMachine game = new GameStateMachine(table, random, rules);
+            while (!over[0] && game.step()) {
+                // Steps until the openings are over
+            }
+        }
+        return votes;
+    }
+
+    /**
+     * Keeps the card with the most votes per key where the vote was clear,
+     * and writes the book.
+     *
+     * @return The number of keys written.
+     */
+    private int write(Path file, Map<Long, int[]> votes) throws IOException {
+        long[] keys = new long[votes.size()];
+        byte[] moves = new byte[votes.size()];
+        int count = 0;
+        for (Map.Entry<Long, int[]> entry : votes.entrySet()) {
+            int best = clearWinner(entry.getValue());
+            if (best >= 0) {
+                keys[count] = entry.getKey();
+                moves[count++] = (byte) best;
+            }
+        }
+        // Sort the keys and their moves together
+        Integer[] order = new Integer[count];
+        for (int i = 0; i < count; i++) {
+            order[i] = i;
+        }
+        Arrays.sort(order, Comparator.comparingLong(i -> keys[i]));
+        long[] sortedKeys = new long[count];
+        byte[] sortedMoves = new byte[count];
+        for (int i = 0; i < count; i++) {
+            sortedKeys[i] = keys[order[i]];
+            sortedMoves[i] = moves[order[i]];
+        }
+        OpeningBook.write(file, rules, sortedKeys, sortedMoves);
+        return count;
+    }
+
+    /**
+     * @return The place with the most votes, or -1 if there are too few
+     * votes or the runner-up is too close.
+     */
+    private static int clearWinner(int[] counts) {
+        int best = 0;
+        int total = counts[0];
+        for (int rank = 1; rank < counts.length; rank++) {
+            total += counts[rank];
+            if (counts[rank] > counts[best]) {
+                best = rank;
+            }
+        }
+        int second = 0;
+        for (int rank = 0; rank < counts.length; rank++) {
+            if (rank != best) {
+                second = Math.max(second, counts[rank]);
+            }
+        }
+        boolean clear = total >= Constants.OPENING_BOOK_MIN_VOTES
+                && counts[best] - second >= Constants.OPENING_BOOK_MIN_MARGIN * total;
+        return clear ? best : -1;
+    }
+}
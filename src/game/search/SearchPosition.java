@@ -0,0 +1,631 @@
+package game.search;
+
+import game.core.*;
+import java.util.*;
+
+/**
+ * A compact game position that searches change and change back millions of
+ * times. Cards are small integer codes, {@code color * values + value - min},
+ * and everything the rules need is kept as counts:
+ *
+ * - the parade as an array of codes, in order;
+ * - every seat's open cards as a count and a value sum per color, which is
+ *   all that scoring, flipping and the end-of-game check look at;
+ * - every seat's hand as an array of codes, for the hands the searcher knows;
+ * - the unseen cards, the multiset of cards in the deck and in hands the
+ *   searcher does not know, and how many of them are still in the deck;
+ * - or, when every card is known, the deck itself in order.
+ *
+ * Every change is pushed onto a stack and {@link #undo()} reverts the last
+ * one, so a search walks the tree without copying positions. The stack and
+ * all buffers are sized up front; nothing is allocated while searching.
+ * A position is not thread-safe, so each search thread keeps its own.
+ */
+public final class SearchPosition {
+
+    /**
+     * The number of changes the undo stack holds.
+     */
+    public static final int MAX_CHANGES = 512;
+
+    // ============================ Changes ============================
+    private static final int PLAY = 0;
+    private static final int DISCARD = 1;
+    private static final int DRAW = 2;
+    private static final int REVEAL = 3;
+    private static final int DRAW_KNOWN = 4;
+
+    /**
+     * Marks a play whose card came from the unseen cards, not from a hand.
+     */
+    private static final int UNSEEN = -1;
+
+    // ============================ Rules ============================
+    private final RuleSet rules;
+    private final int colorCount;
+    private final int valueCount;
+    private final int minValue;
+    private final int cardTypes;
+    private final int seats;
+
+    // ============================ Position ============================
+    private final int[] parade;
+    private int paradeLength;
+
+    private final int[][] openCounts;
+    private final int[][] openSums;
+    private final int[] collectedColors;
+
+    private final int[][] hands;
+    private final int[] handSizes;
+
+    private final int[] unseen;
+    private int unseenTotal;
+    private int deckSize;
+
+    /**
+     * The deck in order when it is known, drawn from the end like the real
+     * one.
+     */
+    private final int[] deck;
+    private boolean deckKnown;
+
+    // ============================ Undo Stack ============================
+    private final int[] kinds = new int[MAX_CHANGES];
+    private final int[] changeSeats = new int[MAX_CHANGES];
+    private final int[] changeCodes = new int[MAX_CHANGES];
+    private final int[] handIndexes = new int[MAX_CHANGES];
+
+    /**
+     * The parade before each play, and where each play's copy starts.
+     */
+    private final int[] savedParades;
+    private final int[] savedStarts = new int[MAX_CHANGES];
+    private final int[] savedLengths = new int[MAX_CHANGES];
+    private int savedTop;
+    private int top;
+
+    // ============================ Constructor ============================
+    /**
+     * Creates an empty position for a table.
+     *
+     * @param rules The rules of the game.
+     * @param seats The number of players.
+     */
+    public SearchPosition(RuleSet rules, int seats) {
+        this.rules = rules;
+        this.colorCount = rules.getColorCount();
+        this.valueCount = rules.getMaxCardValue() - rules.getMinCardValue() + 1;
+        this.minValue = rules.getMinCardValue();
+        this.cardTypes = colorCount * valueCount;
+        this.seats = seats;
+
+        int deckSize = rules.getDeckSize();
+        this.parade = new int[deckSize];
+        this.openCounts = new int[seats][colorCount];
+        this.openSums = new int[seats][colorCount];
+        this.collectedColors = new int[seats];
+        this.hands = new int[seats][deckSize];
+        this.handSizes = new int[seats];
+        this.unseen = new int[cardTypes];
+        this.deck = new int[deckSize];
+        // Room for a quarter of the changes to be plays into a parade of the whole deck
+        this.savedParades = new int[deckSize * MAX_CHANGES / 4];
+    }
+
+    // ============================ Loading ============================
+    /**
+     * Loads what one seat can see of a game: the parade, everybody's open
+     * cards and its own hand. Every other card is unseen.
+     *
+     * @param self    The seat whose hand is known.
+     * @param parade  The parade.
+     * @param players The players, in turn order.
+     * @param deck    The deck, for its size; null counts every unseen card
+     *                as still in the deck.
+     */
+    public void load(int self, Parade parade, List<Player> players, Deck deck) {
+        reset();
+        List<Card> paradeCards = parade.getCards();
+        for (int i = 0; i < paradeCards.size(); i++) {
+            addToParade(paradeCards.get(i));
+        }
+        for (int seat = 0; seat < seats; seat++) {
+            Player player = players.get(seat);
+            for (int color = 0; color < colorCount; color++) {
+                List<Card> open = player.getOpenCards(color);
+                for (int i = 0; i < open.size(); i++) {
+                    int code = codeOf(open.get(i));
+                    addOpen(seat, code);
+                    see(code);
+                }
+            }
+        }
+        List<Card> hand = players.get(self).getClosedCards();
+        for (int i = 0; i < hand.size(); i++) {
+            int code = codeOf(hand.get(i));
+            hands[self][handSizes[self]++] = code;
+            see(code);
+        }
+        deckSize = deck == null ? unseenTotal : deck.size();
+    }
+
+    /**
+     * Empties the position: no parade, no hands, no open cards, and every
+     * card of the game unseen and in the deck.
+     */
+    public void reset() {
+        paradeLength = 0;
+        for (int seat = 0; seat < seats; seat++) {
+            Arrays.fill(openCounts[seat], 0);
+            Arrays.fill(openSums[seat], 0);
+            collectedColors[seat] = 0;
+            handSizes[seat] = 0;
+        }
+        Arrays.fill(unseen, rules.getDecks());
+        unseenTotal = cardTypes * rules.getDecks();
+        deckSize = unseenTotal;
+        deckKnown = false;
+        clearHistory();
+    }
+
+    /**
+     * Appends a card to the end of the parade, taking it out of the unseen
+     * cards.
+     *
+     * @param card The card.
+     */
+    public void addToParade(Card card) {
+        int code = codeOf(card);
+        parade[paradeLength++] = code;
+        see(code);
+    }
+
+    /**
+     * Gives a seat a known hand card, taking it out of the unseen cards.
+     * Searches with every card known load the other hands this way.
+     *
+     * @param seat The seat.
+     * @param card The card in its hand.
+     */
+    public void addToHand(int seat, Card card) {
+        int code = codeOf(card);
+        hands[seat][handSizes[seat]++] = code;
+        see(code);
+    }
+
+    /**
+     * Makes the order of the deck known, as in the analysis of a recorded
+     * game. Draws then use {@link #drawCard(int)}.
+     *
+     * @param cards The deck in the order of {@link Deck#getCards()}; the
+     *              last card is drawn first.
+     */
+    public void setDeck(List<Card> cards) {
+        for (int i = 0; i < cards.size(); i++) {
+            int code = codeOf(cards.get(i));
+            deck[i] = code;
+            see(code);
+        }
+        deckSize = cards.size();
+        deckKnown = true;
+    }
+
+    /**
+     * Forgets the changes made so far, so they become the starting point
+     * and can no longer be undone.
+     */
+    public void clearHistory() {
+        top = 0;
+        savedTop = 0;
+    }
+
+    // ============================ Changes ============================
+    /**
+     * Plays a card from a seat's hand into the parade and gives the seat the
+     * cards it takes.
+     *
+     * @param seat      The seat playing.
+     * @param handIndex The index of the card in the seat's hand.
+     * @return The number of cards taken.
+     */
+    public int playFromHand(int seat, int handIndex) {
+        int[] hand = hands[seat];
+        int code = hand[handIndex];
+        hand[handIndex] = hand[--handSizes[seat]];
+        return play(seat, code, handIndex);
+    }
+
+    /**
+     * Plays one of the unseen cards for a seat whose hand is not known.
+     *
+     * @param seat The seat playing.
+     * @param code The card played, which must be unseen.
+     * @return The number of cards taken.
+     */
+    public int playUnseen(int seat, int code) {
+        unseen[code]--;
+        unseenTotal--;
+        return play(seat, code, UNSEEN);
+    }
+
+    /**
+     * Moves a card from a seat's hand to its open cards, as in the final
+     * discard.
+     *
+     * @param seat      The seat discarding.
+     * @param handIndex The index of the card in the seat's hand.
+     */
+    public void discard(int seat, int handIndex) {
+        int[] hand = hands[seat];
+        int code = hand[handIndex];
+        hand[handIndex] = hand[--handSizes[seat]];
+        addOpen(seat, code);
+        push(DISCARD, seat, code, handIndex);
+    }
+
+    /**
+     * Draws a card off the deck without saying which; it stays among the
+     * unseen cards until {@link #reveal(int, int)}.
+     */
+    public void drawFromDeck() {
+        deckSize--;
+        push(DRAW, 0, 0, 0);
+    }
+
+    /**
+     * Draws the top card of a known deck into a seat's hand.
+     *
+     * @param seat The seat drawing.
+     */
+    public void drawCard(int seat) {
+        int code = deck[--deckSize];
+        hands[seat][handSizes[seat]++] = code;
+        push(DRAW_KNOWN, seat, code, 0);
+    }
+
+    /**
+     * Puts an unseen card into a seat's known hand.
+     *
+     * @param seat The seat.
+     * @param code The card, which must be unseen.
+     */
+    public void reveal(int seat, int code) {
+        unseen[code]--;
+        unseenTotal--;
+        hands[seat][handSizes[seat]++] = code;
+        push(REVEAL, seat, code, 0);
+    }
+
+    /**
+     * Reverts the last change.
+     */
+    public void undo() {
+        top--;
+        int seat = changeSeats[top];
+        int code = changeCodes[top];
+        switch (kinds[top]) {
+            case PLAY:
+                savedTop = savedStarts[top];
+                paradeLength = savedLengths[top];
+                System.arraycopy(savedParades, savedTop, parade, 0, paradeLength);
+                // The open cards got every card of the old parade that is not in the new one
+                removeOpenTaken(seat);
+                putBack(seat, code, handIndexes[top]);
+                break;
+            case DISCARD:
+                removeOpen(seat, code);
+                putBack(seat, code, handIndexes[top]);
+                break;
+            case DRAW:
+                deckSize++;
+                break;
+            case DRAW_KNOWN:
+                handSizes[seat]--;
+                deckSize++;
+                break;
+            case REVEAL:
+                handSizes[seat]--;
+                unseen[code]++;
+                unseenTotal++;
+                break;
+            default:
+                throw new IllegalStateException("Unknown change: " + kinds[top]);
+        }
+    }
+
+    /**
+     * @return The number of changes that can still be undone.
+     */
+    public int changes() {
+        return top;
+    }
+
+    // ============================ Queries ============================
+    /**
+     * Computes the value of the cards a card would take if played now,
+     * without playing it. Cheap enough to order moves with.
+     *
+     * @param code The card.
+     * @return The summed value of the cards it would take.
+     */
+    public int takeCost(int code) {
+        int color = code / valueCount;
+        int value = code % valueCount + minValue;
+        int cost = 0;
+        // The card would be at paradeLength, and protects the value cards before it
+        int toCount = Math.max(paradeLength - value, 0);
+        for (int i = 0; i < toCount; i++) {
+            int card = parade[i];
+            int cardValue = card % valueCount + minValue;
+            if (card / valueCount == color || cardValue <= value) {
+                cost += cardValue;
+            }
+        }
+        return cost;
+    }
+
+    /**
+     * Computes a seat's score as if the game ended now: the values of its
+     * open cards, with every color it holds the majority of flipped.
+     *
+     * @param seat The seat.
+     * @return The score; lower is better.
+     */
+    public int score(int seat) {
+        int score = 0;
+        for (int color = 0; color < colorCount; color++) {
+            int count = openCounts[seat][color];
+            if (count > 0) {
+                score += flips(seat, color) ? count * rules.getFlippedCardValue() : openSums[seat][color];
+            }
+        }
+        return score;
+    }
+
+    /**
+     * Scores a position from one seat's side: the best other seat's score
+     * minus its own, so higher is better and a positive value leads.
+     *
+     * @param seat The seat.
+     * @return The lead of the seat.
+     */
+    public int lead(int seat) {
+        int own = score(seat);
+        int best = Integer.MAX_VALUE;
+        for (int other = 0; other < seats; other++) {
+            if (other != seat) {
+                best = Math.min(best, score(other));
+            }
+        }
+        return best == Integer.MAX_VALUE ? -own : best - own;
+    }
+
+    /**
+     * @return The largest difference {@link #lead(int)} can take in this
+     * game: the value of every card.
+     */
+    public int maxLead() {
+        int bound = 0;
+        for (int value = minValue; value <= rules.getMaxCardValue(); value++) {
+            bound += Math.max(Math.abs(value), Math.abs(rules.getFlippedCardValue()));
+        }
+        return bound * colorCount * rules.getDecks();
+    }
+
+    /**
+     * @return true if the seat holds open cards of every color, which ends
+     * the game.
+     */
+    public boolean hasAllColors(int seat) {
+        return collectedColors[seat] == colorCount;
+    }
+
+    public RuleSet getRules() {
+        return rules;
+    }
+
+    public int getSeats() {
+        return seats;
+    }
+
+    public int getCardTypes() {
+        return cardTypes;
+    }
+
+    public int getDeckSize() {
+        return deckSize;
+    }
+
+    public int getParadeLength() {
+        return paradeLength;
+    }
+
+    /**
+     * @return The card at a position of the parade, 0 being the oldest.
+     */
+    public int getParadeCard(int position) {
+        return parade[position];
+    }
+
+    /**
+     * @return The card at a position of a known deck; the card at
+     * {@code getDeckSize() - 1} is drawn next.
+     */
+    public int getDeckCard(int position) {
+        return deck[position];
+    }
+
+    public boolean isDeckKnown() {
+        return deckKnown;
+    }
+
+    public int getHandSize(int seat) {
+        return handSizes[seat];
+    }
+
+    /**
+     * @return The card at an index of a seat's hand.
+     */
+    public int getHandCard(int seat, int handIndex) {
+        return hands[seat][handIndex];
+    }
+
+    /**
+     * @return How many copies of a card are unseen.
+     */
+    public int getUnseen(int code) {
+        return unseen[code];
+    }
+
+    public int getUnseenTotal() {
+        return unseenTotal;
+    }
+
+    public int getOpenCount(int seat, int color) {
+        return openCounts[seat][color];
+    }
+
+    public int getOpenSum(int seat, int color) {
+        return openSums[seat][color];
+    }
+
+    public int getColorCount() {
+        return colorCount;
+    }
+
+    public int getValueCount() {
+        return valueCount;
+    }
+
+    // ============================ Card Codes ============================
+    /**
+     * @return The code of a card.
+     */
+    public int codeOf(Card card) {
+        return card.getColorIndex() * valueCount + card.getValue() - minValue;
+    }
+
+    public int colorOf(int code) {
+        return code / valueCount;
+    }
+
+    public int valueOf(int code) {
+        return code % valueCount + minValue;
+    }
+
+    // ============================ Helpers ============================
+    private int play(int seat, int code, int handIndex) {
+        // Save the parade so undo can restore the order exactly
+        if (savedTop + paradeLength > savedParades.length) {
+            throw new IllegalStateException("Search line holds too many parades.");
+        }
+        savedStarts[top] = savedTop;
+        savedLengths[top] = paradeLength;
+        System.arraycopy(parade, 0, savedParades, savedTop, paradeLength);
+        savedTop += paradeLength;
+        push(PLAY, seat, code, handIndex);
+
+        int color = code / valueCount;
+        int value = code % valueCount + minValue;
+        int toCount = Math.max(paradeLength - value, 0);
+        int kept = 0;
+        for (int i = 0; i < paradeLength; i++) {
+            int card = parade[i];
+            if (i < toCount && (card / valueCount == color || card % valueCount + minValue <= value)) {
+                addOpen(seat, card);
+            } else {
+                parade[kept++] = card;
+            }
+        }
+        int taken = paradeLength - kept;
+        parade[kept] = code;
+        paradeLength = kept + 1;
+        return taken;
+    }
+
+    /**
+     * Takes back the open cards a play gave, given the parade before it.
+     */
+    private void removeOpenTaken(int seat) {
+        int code = changeCodes[top];
+        int color = code / valueCount;
+        int value = code % valueCount + minValue;
+        int toCount = Math.max(paradeLength - value, 0);
+        for (int i = 0; i < toCount; i++) {
+            int card = parade[i];
+            if (card / valueCount == color || card % valueCount + minValue <= value) {
+                removeOpen(seat, card);
+            }
+        }
+    }
+
+    private void putBack(int seat, int code, int handIndex) {
+        if (handIndex == UNSEEN) {
+            unseen[code]++;
+            unseenTotal++;
+            return;
+        }
+        int[] hand = hands[seat];
+        hand[handSizes[seat]++] = hand[handIndex];
+        hand[handIndex] = code;
+    }
+
+    private void push(int kind, int seat, int code, int handIndex) {
+        if (top == MAX_CHANGES) {
+            throw new IllegalStateException("Search deeper than " + MAX_CHANGES + " changes.");
+        }
+        kinds[top] = kind;
+        changeSeats[top] = seat;
+        changeCodes[top] = code;
+        handIndexes[top] = handIndex;
+        top++;
+    }
+
+    private void addOpen(int seat, int code) {
+        int color = code / valueCount;
+        if (openCounts[seat][color]++ == 0) {
+            collectedColors[seat]++;
+        }
+        openSums[seat][color] += code % valueCount + minValue;
+    }
+
+    private void removeOpen(int seat, int code) {
+        int color = code / valueCount;
+        if (--openCounts[seat][color] == 0) {
+            collectedColors[seat]--;
+        }
+        openSums[seat][color] -= code % valueCount + minValue;
+    }
+
+    private void see(int code) {
+        unseen[code]--;
+        unseenTotal--;
+    }
+
+    /**
+     * @return true if the seat's cards of the color would be flipped, by the
+     * same rules as the card flipper.
+     */
+    private boolean flips(int seat, int color) {
+        int count = openCounts[seat][color];
+        boolean allTied = true;
+        for (int other = 0; other < seats; other++) {
+            int otherCount = openCounts[other][color];
+            if (otherCount > count) {
+                return false;
+            }
+            if (otherCount != count) {
+                allTied = false;
+            }
+        }
+        if (allTied) {
+            return false;
+        }
+        if (seats == 2) {
+            int difference = count - openCounts[1 - seat][color];
+            return difference >= rules.getMinDifferenceForTwoPlayers();
+        }
+        return true;
+    }
+}
@@ -0,0 +1,255 @@
+package game.search;
+
+import game.core.*;
+import java.util.*;
+
+/**
+ * Maps game states to a canonical form under renaming of the colors. No rule
+ * depends on which color is which, so two states that differ only by a
+ * permutation of the colors play identically; searches, transposition
+ * tables and opening caches can store one entry for all of them (up to 720
+ * for the six colors of the base game).
+ *
+ * Every card of a state is an item: where it is (parade, a player's hand, a
+ * player's open cards or the deck), its position where order matters, and
+ * its value. The items of one color, sorted, are that color's signature, and
+ * the canonical color order sorts the colors by signature. Colors with equal
+ * signatures hold exactly the same cards, so it does not matter which of
+ * them comes first. The canonical hash folds the signatures in canonical
+ * order into 64 bits.
+ *
+ * Hands and open cards count as multisets, so the order of a hand does not
+ * change the hash. The deck counts as a sequence or as a multiset, depending
+ * on whether its order is known.
+ *
+ * An instance reuses its buffers and allocates nothing per call; it is not
+ * thread-safe, so each search thread keeps its own.
+ */
+public final class StateCanonicalizer {
+
+    // ============================ Item Encoding ============================
+    private static final int PARADE = 1;
+    private static final int HAND = 2;
+    private static final int OPEN = 3;
+    private static final int DECK = 4;
+
+    private static final long SEED = 0x2545F4914F6CDD1DL;
+
+    // ============================ Instance Variables ============================
+    private final int colorCount;
+    private final int minValue;
+    private final boolean deckOrdered;
+
+    /**
+     * The items of every color, and how many each holds.
+     */
+    private final int[][] signatures;
+    private final int[] lengths;
+
+    /**
+     * Colors in canonical order, and the canonical position of every color.
+     */
+    private final int[] order;
+    private final int[] canonical;
+
+    // ============================ Constructor ============================
+    /**
+     * @param rules       The rules whose colors are permuted.
+     * @param deckOrdered true if the order of the deck is part of the state,
+     *                    as in analysis with every card known; false if only
+     *                    which cards remain is.
+     */
+    public StateCanonicalizer(RuleSet rules, boolean deckOrdered) {
+        this.colorCount = rules.getColorCount();
+        this.minValue = rules.getMinCardValue();
+        this.deckOrdered = deckOrdered;
+        // Every card of a color, plus an open-cards item per seat for search positions
+        this.signatures = new int[colorCount][rules.getCardsPerColor() + rules.getMaxPlayers()];
+        this.lengths = new int[colorCount];
+        this.order = new int[colorCount];
+        this.canonical = new int[colorCount];
+    }
+
+    // ============================ Canonicalization ============================
+    /**
+     * Computes the canonical color order of a state and returns its canonical
+     * hash. States that differ only by renamed colors get the same hash.
+     * Afterwards {@link #toCanonical(int)} and {@link #fromCanonical(int)}
+     * translate colors between the state and its canonical form.
+     *
+     * @param parade  The parade.
+     * @param players The players, in turn order.
+     * @param deck    The remaining deck, or null to leave it out.
+     * @param turn    The index of the player to move.
+     * @return The 64-bit canonical hash.
+     */
+    public long canonicalize(Parade parade, List<Player> players, Deck deck, int turn) {
+        Arrays.fill(lengths, 0);
+
+        List<Card> paradeCards = parade.getCards();
+        for (int i = 0; i < paradeCards.size(); i++) {
+            add(PARADE, i, paradeCards.get(i));
+        }
+        for (int p = 0; p < players.size(); p++) {
+            Player player = players.get(p);
+            List<Card> hand = player.getClosedCards();
+            for (int i = 0; i < hand.size(); i++) {
+                add(HAND, p, hand.get(i));
+            }
+            for (int color = 0; color < colorCount; color++) {
+                List<Card> open = player.getOpenCards(color);
+                for (int i = 0; i < open.size(); i++) {
+                    add(OPEN, p, open.get(i));
+                }
+            }
+        }
+        if (deck != null) {
+            List<Card> cards = deck.getCards();
+            for (int i = 0; i < cards.size(); i++) {
+                add(DECK, deckOrdered ? i : 0, cards.get(i));
+            }
+        }
+
+        long seed = SEED ^ players.size() * 0x9E3779B97F4A7C15L ^ turn;
+        return fold(Hashing.mix(seed ^ (deck == null ? -1 : deck.size())));
+    }
+
+    /**
+     * Computes the canonical hash of a search position, with every known
+     * hand and the deck in order if it is known. Open cards count by their
+     * number and value sum per color, which is all the rules look at from
+     * then on, so positions that differ only in which open cards make up a
+     * sum share a hash.
+     *
+     * @param position The position.
+     * @param context  Whatever else tells positions apart, such as the seat
+     *                 to move; it is mixed into the hash.
+     * @return The 64-bit canonical hash.
+     */
+    public long canonicalize(SearchPosition position, long context) {
+        Arrays.fill(lengths, 0);
+
+        for (int i = 0; i < position.getParadeLength(); i++) {
+            add(PARADE, i, position, position.getParadeCard(i));
+        }
+        for (int seat = 0; seat < position.getSeats(); seat++) {
+            for (int i = 0; i < position.getHandSize(seat); i++) {
+                add(HAND, seat, position, position.getHandCard(seat, i));
+            }
+            for (int color = 0; color < colorCount; color++) {
+                int count = position.getOpenCount(seat, color);
+                if (count > 0) {
+                    add(color, OPEN << 28 | seat << 20 | count << 12 | position.getOpenSum(seat, color) & 0xFFF);
+                }
+            }
+        }
+        if (position.isDeckKnown()) {
+            for (int i = 0; i < position.getDeckSize(); i++) {
+                add(DECK, deckOrdered ? i : 0, position, position.getDeckCard(i));
+            }
+        } else {
+            for (int code = 0; code < position.getCardTypes(); code++) {
+                for (int copy = 0; copy < position.getUnseen(code); copy++) {
+                    add(DECK, 0, position, code);
+                }
+            }
+        }
+
+        long seed = SEED ^ position.getSeats() * 0x9E3779B97F4A7C15L ^ context;
+        return fold(Hashing.mix(seed ^ position.getDeckSize()));
+    }
+
+    /**
+     * @param colorIndex A color of the last canonicalized state.
+     * @return The color it becomes in the canonical form.
+     */
+    public int toCanonical(int colorIndex) {
+        return canonical[colorIndex];
+    }
+
+    /**
+     * @param canonicalColor A color of the canonical form.
+     * @return The color of the last canonicalized state it stands for.
+     */
+    public int fromCanonical(int canonicalColor) {
+        return order[canonicalColor];
+    }
+
+    // ============================ Helpers ============================
+    /**
+     * Sorts the signatures, puts the colors in canonical order and folds the
+     * signatures into the hash in that order.
+     */
+    private long fold(long hash) {
+        for (int color = 0; color < colorCount; color++) {
+            Arrays.sort(signatures[color], 0, lengths[color]);
+        }
+        sortColors();
+
+        for (int rank = 0; rank < colorCount; rank++) {
+            int color = order[rank];
+            int[] signature = signatures[color];
+            for (int i = 0; i < lengths[color]; i++) {
+                hash = Hashing.mix(hash ^ signature[i]);
+            }
+            // Close the color, so items cannot slide from one color to the next
+            hash = Hashing.mix(hash ^ ((long) lengths[color] << 32 | rank));
+        }
+        return hash;
+    }
+
+    /**
+     * Appends an item to its color's signature: the place in the top bits,
+     * then the position, then the value.
+     */
+    private void add(int place, int position, Card card) {
+        add(card.getColorIndex(), place << 28 | position << 12 | (card.getValue() - minValue));
+    }
+
+    private void add(int place, int position, SearchPosition search, int code) {
+        add(search.colorOf(code), place << 28 | position << 12 | (search.valueOf(code) - minValue));
+    }
+
+    private void add(int color, int item) {
+        int[] signature = signatures[color];
+        if (lengths[color] == signature.length) {
+            // Only when a state holds more cards of a color than the rules deal
+            signatures[color] = signature = Arrays.copyOf(signature, signature.length * 2);
+        }
+        signature[lengths[color]++] = item;
+    }
+
+    /**
+     * Orders the colors by signature with an insertion sort; there are only a
+     * handful of them.
+     */
+    private void sortColors() {
+        for (int i = 0; i < colorCount; i++) {
+            int color = i;
+            int j = i - 1;
+            while (j >= 0 && compare(order[j], color) > 0) {
+                order[j + 1] = order[j];
+                j--;
+            }
+            order[j + 1] = color;
+        }
+        for (int rank = 0; rank < colorCount; rank++) {
+            canonical[order[rank]] = rank;
+        }
+    }
+
+    /**
+     * Compares two signatures lexicographically, a shorter prefix first.
+     */
+    private int compare(int a, int b) {
+        int[] first = signatures[a];
+        int[] second = signatures[b];
+        int length = Math.min(lengths[a], lengths[b]);
+        for (int i = 0; i < length; i++) {
+            if (first[i] != second[i]) {
+                return Integer.compare(first[i], second[i]);
+            }
+        }
+        return Integer.compare(lengths[a], lengths[b]);
+    }
+}
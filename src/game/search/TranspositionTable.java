@@ -0,0 +1,308 @@
+package game.search;
+
+import game.utils.Constants;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.VarHandle;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * A fixed-size table of search results keyed by canonical state hash, shared
+ * by every search in the process so bots on different tables reuse each
+ * other's work.
+ *
+ * All entries live in one {@code long[]} allocated up front, so the table
+ * never grows and never creates garbage. The array is split into buckets of
+ * {@value #SLOTS} slots, 64 bytes, one cache line each. A slot is two longs:
+ * the packed entry and the key XORed with it. Readers and writers never lock;
+ * when two threads write the same slot at once and the halves end up from
+ * different writes, the XOR no longer gives the key and the slot reads as a
+ * miss, which is all a search needs from a cache.
+ *
+ * When a bucket is full the new entry replaces the slot that is worth least:
+ * the shallowest search, with older entries counting {@value #AGE_PENALTY}
+ * plies less per generation since they were stored. Generations follow a
+ * process clock, one per {@link Constants#TRANSPOSITION_GENERATION_MS}, not
+ * the searches, so many tables searching at once age entries no faster than
+ * one.
+ *
+ * An entry is a single long, read with {@link #value(long)},
+ * {@link #depth(long)}, {@link #bound(long)} and {@link #move(long)}, so a
+ * probe allocates nothing.
+ */
+public final class TranspositionTable {
+
+    // ============================ Bounds ============================
+    public static final int EXACT = 1;
+    public static final int LOWER = 2;
+    public static final int UPPER = 3;
+
+    /**
+     * Returned by {@link #probe(long)} when the state is not in the table.
+     */
+    public static final long MISS = 0;
+
+    public static final int NO_MOVE = -1;
+    public static final int MAX_DEPTH = 0xFF;
+
+    // ============================ Layout ============================
+    private static final int SLOTS = 4;
+    private static final int LONGS_PER_BUCKET = SLOTS * 2;
+    private static final int BUCKET_BYTES = LONGS_PER_BUCKET * Long.BYTES;
+    private static final int AGE_PENALTY = 8;
+    private static final int GENERATIONS = 1 << 16; // wraps after 18 hours at a generation per second
+
+    // Entry bits: value 0-15, depth 16-23, bound 24-25, move + 1 32-47, generation 48-63
+    private static final int DEPTH_SHIFT = 16;
+    private static final int BOUND_SHIFT = 24;
+    private static final int MOVE_SHIFT = 32;
+    private static final int GENERATION_SHIFT = 48;
+
+    private static final VarHandle SLOT = MethodHandles.arrayElementVarHandle(long[].class);
+
+    // ============================ Instance Variables ============================
+    private final long[] table;
+    private final int bucketMask;
+    private volatile int generation;
+    private final AtomicLong generationStart = new AtomicLong(System.nanoTime());
+
+    private final LongAdder probes = new LongAdder();
+    private final LongAdder hits = new LongAdder();
+
+    // ============================ Constructor ============================
+    /**
+     * Creates a table that uses at most the given memory. The bucket count is
+     * rounded down to a power of two.
+     *
+     * @param maxBytes The memory ceiling in bytes.
+     * @throws IllegalArgumentException if not even one bucket fits.
+     */
+    public TranspositionTable(long maxBytes) {
+        if (maxBytes < BUCKET_BYTES) {
+            throw new IllegalArgumentException("A transposition table needs at least " + BUCKET_BYTES + " bytes.");
+        }
+        long buckets = Long.highestOneBit(Math.min(maxBytes / BUCKET_BYTES, Integer.MAX_VALUE / LONGS_PER_BUCKET));
+        this.table = new long[(int) buckets * LONGS_PER_BUCKET];
+        this.bucketMask = (int) buckets - 1;
+    }
+
+    // ============================ Shared Table ============================
+    private static long sharedBytes = Constants.TRANSPOSITION_TABLE_MB * 1024L * 1024L;
+    private static TranspositionTable shared;
+
+    /**
+     * @return The table shared by all searches in this process, created on
+     * first use with the configured size.
+     */
+    public static synchronized TranspositionTable shared() {
+        if (shared == null) {
+            shared = new TranspositionTable(sharedBytes);
+        }
+        return shared;
+    }
+
+    /**
+     * Sets the memory ceiling of the shared table.
+     *
+     * @param megabytes The size in megabytes.
+     * @throws IllegalStateException if the shared table is already in use.
+     */
+    public static synchronized void configureShared(int megabytes) {
+        if (shared != null) {
+            throw new IllegalStateException("The shared transposition table is already in use.");
+        }
+        if (megabytes < 1) {
+            throw new IllegalArgumentException("The transposition table needs at least 1 MB.");
+        }
+        sharedBytes = megabytes * 1024L * 1024L;
+    }
+
+    // ============================ Probing and Storing ============================
+    /**
+     * Looks a state up.
+     *
+     * @param key The canonical hash of the state.
+     * @return The entry, or {@link #MISS}.
+     */
+    public long probe(long key) {
+        probes.increment();
+        int base = bucketOf(key);
+        for (int slot = base; slot < base + LONGS_PER_BUCKET; slot += 2) {
+            long data = (long) SLOT.getOpaque(table, slot + 1);
+            if (data != MISS && ((long) SLOT.getOpaque(table, slot) ^ data) == key) {
+                hits.increment();
+                return data;
+            }
+        }
+        return MISS;
+    }
+
+    /**
+     * Stores the result of a search. A result already stored for the state
+     * is only overwritten by an exact one or a search at least as deep,
+     * however old it is; otherwise the least valuable slot of the bucket
+     * makes room.
+     *
+     * @param key   The canonical hash of the state.
+     * @param value The score, clamped to 16 bits.
+     * @param depth The depth searched, clamped to {@value #MAX_DEPTH}.
+     * @param bound {@link #EXACT}, {@link #LOWER} or {@link #UPPER}.
+     * @param move  The best move found, between 0 and 65534, or {@link #NO_MOVE}.
+     */
+    public void store(long key, int value, int depth, int bound, int move) {
+        if (bound < EXACT || bound > UPPER) {
+            throw new IllegalArgumentException("Unknown bound: " + bound);
+        }
+        int current = generation;
+        long data = pack(value, depth, bound, current, move);
+        int base = bucketOf(key);
+
+        int victim = base;
+        int victimWorth = Integer.MAX_VALUE;
+        for (int slot = base; slot < base + LONGS_PER_BUCKET; slot += 2) {
+            long old = (long) SLOT.getOpaque(table, slot + 1);
+            if (old == MISS) {
+                write(slot, key, data);
+                return;
+            }
+            if (((long) SLOT.getOpaque(table, slot) ^ old) == key) {
+                if (bound == EXACT || depth >= depth(old)) {
+                    write(slot, key, data);
+                }
+                return;
+            }
+            int worth = depth(old) - AGE_PENALTY * ((current - generation(old)) & (GENERATIONS - 1));
+            if (worth < victimWorth) {
+                victim = slot;
+                victimWorth = worth;
+            }
+        }
+        write(victim, key, data);
+    }
+
+    /**
+     * Tells the table a search starts. The generation moves on only once
+     * {@link Constants#TRANSPOSITION_GENERATION_MS} have passed since it
+     * last did, however many searches start in between, so entries age with
+     * time and give way to new ones.
+     */
+    public void newSearch() {
+        long start = generationStart.get();
+        long now = System.nanoTime();
+        if (now - start >= Constants.TRANSPOSITION_GENERATION_MS * 1_000_000L
+                && generationStart.compareAndSet(start, now)) {
+            generation = (generation + 1) & (GENERATIONS - 1);
+        }
+    }
+
+    /**
+     * Empties the table. Searches running at the same time may keep some of
+     * their entries.
+     */
+    public void clear() {
+        for (int i = 0; i < table.length; i++) {
+            SLOT.setOpaque(table, i, 0L);
+        }
+        probes.reset();
+        hits.reset();
+    }
+
+    // ============================ Entry Fields ============================
+    /**
+     * @return The score of an entry.
+     */
+    public static int value(long entry) {
+        return (short) entry;
+    }
+
+    /**
+     * @return The depth an entry was searched to.
+     */
+    public static int depth(long entry) {
+        return (int) (entry >>> DEPTH_SHIFT) & 0xFF;
+    }
+
+    /**
+     * @return {@link #EXACT}, {@link #LOWER} or {@link #UPPER}.
+     */
+    public static int bound(long entry) {
+        return (int) (entry >>> BOUND_SHIFT) & 0x3;
+    }
+
+    /**
+     * @return The best move of an entry, or {@link #NO_MOVE}.
+     */
+    public static int move(long entry) {
+        return ((int) (entry >>> MOVE_SHIFT) & 0xFFFF) - 1;
+    }
+
+    // ============================ Statistics ============================
+    /**
+     * @return The number of entries the table holds at most.
+     */
+    public int capacity() {
+        return table.length / 2;
+    }
+
+    /**
+     * @return The memory taken by the entries in bytes.
+     */
+    public long sizeInBytes() {
+        return (long) table.length * Long.BYTES;
+    }
+
+    /**
+     * @return The share of probes that found their state, between 0 and 1.
+     */
+    public double hitRate() {
+        long count = probes.sum();
+        return count == 0 ? 0 : (double) hits.sum() / count;
+    }
+
+    /**
+     * Estimates how full the table is from its first thousand slots.
+     *
+     * @return The share of sampled slots holding an entry of the current
+     * generation, between 0 and 1.
+     */
+    public double usage() {
+        int sampled = Math.min(capacity(), 1000);
+        int used = 0;
+        for (int i = 0; i < sampled; i++) {
+            long data = (long) SLOT.getOpaque(table, 2 * i + 1);
+            if (data != MISS && generation(data) == generation) {
+                used++;
+            }
+        }
+        return (double) used / sampled;
+    }
+
+    // ============================ Helpers ============================
+    private int bucketOf(long key) {
+        // The high bits pick the bucket; the low ones are already in the check word
+        return ((int) (key >>> 32) & bucketMask) * LONGS_PER_BUCKET;
+    }
+
+    /**
+     * Writes a slot. A reader that catches it half written gets a check word
+     * that does not match the entry, and sees a miss.
+     */
+    private void write(int slot, long key, long data) {
+        SLOT.setOpaque(table, slot + 1, data);
+        SLOT.setOpaque(table, slot, key ^ data);
+    }
+
+    private static long pack(int value, int depth, int bound, int generation, int move) {
+        int clampedValue = Math.max(Short.MIN_VALUE, Math.min(Short.MAX_VALUE, value));
+        int clampedDepth = Math.max(0, Math.min(MAX_DEPTH, depth));
+        return (clampedValue & 0xFFFFL)
+                | (long) clampedDepth << DEPTH_SHIFT
+                | (long) bound << BOUND_SHIFT
+                | (long) generation << GENERATION_SHIFT
+                | ((move + 1) & 0xFFFFL) << MOVE_SHIFT;
+    }
+
+    private static int generation(long entry) {
+        return (int) (entry >>> GENERATION_SHIFT) & (GENERATIONS - 1);
+    }
+}
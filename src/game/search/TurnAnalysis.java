@@ -0,0 +1,99 @@
+package game.search;
+
+import game.core.Card;
+
+/**
+ * The verdict on one turn of a recorded game: the card played, the best card
+ * with every hand and the deck known, and the lead the played card gave up.
+ */
+public final class TurnAnalysis {
+
+    // ============================ Instance Variables ============================
+    private final int turn;
+    private final int seat;
+    private final String player;
+    private final Card played;
+    private final Card best;
+    private final int playedValue;
+    private final int bestValue;
+    private final int depth;
+    private final boolean exact;
+
+    // ============================ Constructor ============================
+    /**
+     * @param turn        The number of the turn, from 0.
+     * @param seat        The seat that played.
+     * @param player      The name of the player.
+     * @param played      The card played.
+     * @param best        The best card.
+     * @param playedValue The lead after the played card.
+     * @param bestValue   The lead after the best card.
+     * @param depth       The number of turns searched.
+     * @param exact       true if every line was searched to the end of the
+     *                    game.
+     */
+    public TurnAnalysis(int turn, int seat, String player, Card played, Card best,
+            int playedValue, int bestValue, int depth, boolean exact) {
+        this.turn = turn;
+        this.seat = seat;
+        this.player = player;
+        this.played = played;
+        this.best = best;
+        this.playedValue = playedValue;
+        this.bestValue = bestValue;
+        this.depth = depth;
+        this.exact = exact;
+    }
+
+    // ============================ Getters ============================
+    public int getTurn() {
+        return turn;
+    }
+
+    public int getSeat() {
+        return seat;
+    }
+
+    public String getPlayer() {
+        return player;
+    }
+
+    public Card getPlayed() {
+        return played;
+    }
+
+    public Card getBest() {
+        return best;
+    }
+
+    public int getPlayedValue() {
+        return playedValue;
+    }
+
+    public int getBestValue() {
+        return bestValue;
+    }
+
+    /**
+     * @return The points of lead the played card gave up against the best
+     * one; 0 when it was the best.
+     */
+    public int getLoss() {
+        return bestValue - playedValue;
+    }
+
+    public int getDepth() {
+        return depth;
+    }
+
+    public boolean isExact() {
+        return exact;
+    }
+
+    @Override
+    public String toString() {
+        return String.format("%3d  %-12s %-10s %-10s %4d  %s", turn, player,
+                played.getColor() + ":" + played.getValue(), best.getColor() + ":" + best.getValue(),
+                getLoss(), exact ? "exact" : "depth " + depth);
+    }
+}
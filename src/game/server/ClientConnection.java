@@ -0,0 +1,237 @@
+package game.server;
+
+import game.utils.Constants;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.*;
+import java.nio.charset.StandardCharsets;
+import java.util.*;
+
+/**
+ * State attached to one client socket: the partially read line, the queued
+ * output and the tables the client plays at or watches. Only the selector
+ * thread touches a connection, so nothing here is synchronized.
+ */
+public class ClientConnection {
+
+    // ============================ Instance Variables ============================
+    private final SocketChannel channel;
+    private final SelectionKey key;
+    private final ByteBuffer readBuffer;
+    private final ArrayDeque<ByteBuffer> outbound;
+
+    /**
+     * The spectator frames among the outbound buffers, oldest first. Only
+     * these may be dropped; replies to the client's own commands never are.
+     */
+    private final ArrayDeque<ByteBuffer> frames;
+
+    /**
+     * Reused array for gathering writes of several queued buffers at once.
+     */
+    private final ByteBuffer[] gathered;
+
+    /**
+     * Lines produced while handling the current input; flushed as one buffer.
+     */
+    private final StringBuilder pendingOutput;
+
+    private long lastActivity;
+    private Table table;
+    private Table watching;
+    private long droppedFrames;
+    private boolean closing;
+
+    // ============================ Constructor ============================
+    public ClientConnection(SocketChannel channel, SelectionKey key) {
+        this.channel = channel;
+        this.key = key;
+        this.readBuffer = ByteBuffer.allocate(Constants.MAX_LINE_LENGTH);
+        this.outbound = new ArrayDeque<>(2);
+        this.frames = new ArrayDeque<>(2);
+        this.gathered = new ByteBuffer[Constants.MAX_GATHERED_BUFFERS];
+        this.pendingOutput = new StringBuilder();
+        this.lastActivity = System.currentTimeMillis();
+    }
+
+    // ============================ Reading ============================
+    /**
+     * Reads available bytes and returns the complete lines received.
+     *
+     * @return The complete lines, or null if the peer closed the connection.
+     * @throws IOException if the line is too long or the read fails.
+     */
+    public List<String> readLines() throws IOException {
+        if (channel.read(readBuffer) < 0) {
+            return null;
+        }
+        lastActivity = System.currentTimeMillis();
+
+        List<String> lines = new ArrayList<>(1);
+        readBuffer.flip();
+        int start = 0;
+        for (int i = readBuffer.position(); i < readBuffer.limit(); i++) {
+            if (readBuffer.get(i) == '\n') {
+                int end = (i > start && readBuffer.get(i - 1) == '\r') ? i - 1 : i;
+                lines.add(new String(readBuffer.array(), start, end - start, StandardCharsets.UTF_8));
+                start = i + 1;
+            }
+        }
+        readBuffer.position(start);
+        readBuffer.compact();
+
+        if (!readBuffer.hasRemaining()) {
+            throw new IOException("Line longer than " + Constants.MAX_LINE_LENGTH + " bytes");
+        }
+        return lines;
+    }
+
+    // ============================ Writing ============================
+    /**
+     * Queues one line for the client. Lines are sent on the next flush.
+     */
+    public void send(String line) {
+        pendingOutput.append(line).append('\n');
+    }
+
+    /**
+     * Encodes the pending lines into a single buffer and asks the selector
+     * for write readiness.
+     */
+    public void flush() {
+        if (pendingOutput.length() == 0 || !key.isValid()) {
+            return;
+        }
+        outbound.add(ByteBuffer.wrap(pendingOutput.toString().getBytes(StandardCharsets.UTF_8)));
+        pendingOutput.setLength(0);
+        key.interestOps(key.interestOps() | SelectionKey.OP_WRITE);
+    }
+
+    /**
+     * Queues a spectator frame shared with other connections. Only a view of
+     * the frame is queued, never a copy. When the spectator falls too far
+     * behind, its oldest unsent frames are dropped; queued replies are
+     * kept.
+     *
+     * @param frame A read-only frame from the renderer.
+     */
+    public void sendFrame(ByteBuffer frame) {
+        if (!key.isValid()) {
+            return;
+        }
+        if (frames.size() >= Constants.SPECTATOR_QUEUE_FRAMES) {
+            dropOldestFrame();
+        }
+        ByteBuffer view = frame.duplicate();
+        outbound.add(view);
+        frames.add(view);
+        key.interestOps(key.interestOps() | SelectionKey.OP_WRITE);
+    }
+
+    /**
+     * Writes as much queued output as the socket accepts, gathering several
+     * buffers into each write.
+     *
+     * @return true if all output has been written.
+     */
+    public boolean writeQueued() throws IOException {
+        while (!outbound.isEmpty()) {
+            int count = 0;
+            long requested = 0;
+            for (ByteBuffer buffer : outbound) {
+                gathered[count++] = buffer;
+                requested += buffer.remaining();
+                if (count == gathered.length) {
+                    break;
+                }
+            }
+            long written = channel.write(gathered, 0, count);
+            Arrays.fill(gathered, 0, count, null);
+
+            while (!outbound.isEmpty() && !outbound.peek().hasRemaining()) {
+                // Frames leave in the order they were queued, so a written frame is the oldest
+                if (outbound.poll() == frames.peek()) {
+                    frames.poll();
+                }
+            }
+            if (written < requested) {
+                return false; // Socket buffer is full
+            }
+        }
+        key.interestOps(SelectionKey.OP_READ);
+        return true;
+    }
+
+    /**
+     * Drops the oldest frame that has not started to be written.
+     */
+    private void dropOldestFrame() {
+        for (Iterator<ByteBuffer> it = frames.iterator(); it.hasNext(); ) {
+            ByteBuffer frame = it.next();
+            if (frame.position() == 0) {
+                it.remove();
+                removeOutbound(frame);
+                droppedFrames++;
+                return;
+            }
+        }
+    }
+
+    /**
+     * Removes a buffer from the outbound queue by identity; equal buffers
+     * may hold the same bytes.
+     */
+    private void removeOutbound(ByteBuffer buffer) {
+        for (Iterator<ByteBuffer> it = outbound.iterator(); it.hasNext(); ) {
+            if (it.next() == buffer) {
+                it.remove();
+                return;
+            }
+        }
+    }
+
+    public void close() {
+        key.cancel();
+        try {
+            channel.close();
+        } catch (IOException e) {
+            // Nothing left to do for a connection that is going away
+        }
+    }
+
+    // ============================ Getters & Setters ============================
+    public long getLastActivity() {
+        return lastActivity;
+    }
+
+    public Table getTable() {
+        return table;
+    }
+
+    public void setTable(Table table) {
+        this.table = table;
+    }
+
+    public Table getWatching() {
+        return watching;
+    }
+
+    public void setWatching(Table watching) {
+        this.watching = watching;
+    }
+
+    public long getDroppedFrames() {
+        return droppedFrames;
+    }
+
+    public boolean isClosing() {
+        return closing;
+    }
+
+    /**
+     * Marks the connection to be closed once its queued output is written.
+     */
+    public void setClosing(boolean closing) {
+        this.closing = closing;
+    }
+}
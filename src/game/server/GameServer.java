@@ -0,0 +1,306 @@
+package game.server;
+
+import game.ai.Difficulty;
+import game.metrics.*;
+import game.utils.Constants;
+import java.io.IOException;
+import java.net.InetSocketAddress;
+import java.nio.channels.*;
+import java.util.*;
+
+/**
+ * TCP game server that hosts many Parade tables on a single non-blocking
+ * selector thread. Each client plays one table at a time against computer
+ * players using the line protocol described in {@link ServerProtocol}.
+ *
+ * Usage: {@code java -cp classes game.server.GameServer [port]}
+ */
+public class GameServer {
+
+    // ============================ Instance Variables ============================
+    private static final long SELECT_TIMEOUT_MS = 1000;
+
+    private final Selector selector;
+    private final ServerSocketChannel serverChannel;
+    private final Set<ClientConnection> connections;
+    private final Map<Integer, Table> tables;
+
+    private int nextTableId;
+    private int activeTables;
+    private long gamesFinished;
+    private long movesPlayed;
+
+    // ============================ Constructor ============================
+    /**
+     * Binds the server to the given port.
+     *
+     * @param port The TCP port to listen on.
+     * @throws IOException if the port cannot be bound.
+     */
+    public GameServer(int port) throws IOException {
+        this.selector = Selector.open();
+        this.serverChannel = ServerSocketChannel.open();
+        serverChannel.bind(new InetSocketAddress(port), 1024);
+        serverChannel.configureBlocking(false);
+        serverChannel.register(selector, SelectionKey.OP_ACCEPT);
+        this.connections = new HashSet<>();
+        this.tables = new HashMap<>();
+    }
+
+    public static void main(String[] args) throws IOException {
+        int port = args.length > 0 ? Integer.parseInt(args[0]) : Constants.DEFAULT_PORT;
+        GameStats.register();
+        GameServer server = new GameServer(port);
+        System.out.println("🎪 Parade server listening on port " + port);
+        server.serve();
+    }
+
+    // ============================ Event Loop ============================
+    /**
+     * Runs the selector loop until the thread is interrupted.
+     */
+    public void serve() throws IOException {
+        long lastSweep = System.currentTimeMillis();
+        while (!Thread.currentThread().isInterrupted()) {
+            selector.select(SELECT_TIMEOUT_MS);
+
+            Iterator<SelectionKey> keys = selector.selectedKeys().iterator();
+            while (keys.hasNext()) {
+                SelectionKey key = keys.next();
+                keys.remove();
+                handleKey(key);
+            }
+
+            long now = System.currentTimeMillis();
+            if (now - lastSweep >= SELECT_TIMEOUT_MS) {
+                closeIdleConnections(now);
+                lastSweep = now;
+            }
+        }
+        selector.close();
+        serverChannel.close();
+    }
+
+    private void handleKey(SelectionKey key) {
+        if (!key.isValid()) {
+            return;
+        }
+        if (key.isAcceptable()) {
+            accept();
+            return;
+        }
+
+        ClientConnection connection = (ClientConnection) key.attachment();
+        try {
+            if (key.isReadable()) {
+                List<String> lines = connection.readLines();
+                if (lines == null) {
+                    disconnect(connection);
+                    return;
+                }
+                for (String line : lines) {
+                    handleLine(connection, line);
+                }
+                connection.flush();
+            }
+            if (key.isValid() && key.isWritable()) {
+                if (connection.writeQueued() && connection.isClosing()) {
+                    disconnect(connection);
+                }
+            }
+        } catch (IOException e) {
+            disconnect(connection);
+        }
+    }
+
+    private void accept() {
+        try {
+            SocketChannel channel = serverChannel.accept();
+            if (channel == null) {
+                return;
+            }
+            channel.configureBlocking(false);
+            channel.socket().setTcpNoDelay(true);
+            SelectionKey key = channel.register(selector, SelectionKey.OP_READ);
+            ClientConnection connection = new ClientConnection(channel, key);
+            key.attach(connection);
+            connections.add(connection);
+            connection.send("WELCOME");
+            connection.flush();
+        } catch (IOException e) {
+            System.out.println("❌ Failed to accept connection: " + e.getMessage());
+        }
+    }
+
+    // ============================ Command Handling ============================
+    private void handleLine(ClientConnection connection, String line) {
+        String[] parts = line.trim().split("\\s+");
+        String command = parts[0].toUpperCase();
+
+        switch (command) {
+            case "PING" -> connection.send("PONG");
+            case "NEW" -> newTable(connection, parts);
+            case "PLAY" -> play(connection, parts);
+            case "WATCH" -> watch(connection, parts);
+            case "UNWATCH" -> stopWatching(connection);
+            case "STATS" -> connection.send(stats());
+            case "METRICS" -> {
+                for (String phase : GameMetrics.report()) {
+                    connection.send("PHASE " + phase);
+                }
+                connection.send("END");
+            }
+            case "QUIT" -> {
+                leaveTable(connection);
+                connection.send("BYE");
+                connection.setClosing(true);
+            }
+            case "" -> {
+                // Empty lines only refresh the keep-alive timer
+            }
+            default -> connection.send("ERR unknown command " + parts[0]);
+        }
+    }
+
+    private void newTable(ClientConnection connection, String[] parts) {
+        if (parts.length != 3 && parts.length != 4) {
+            connection.send("ERR usage: NEW name bots [level]");
+            return;
+        }
+        int bots;
+        try {
+            bots = Integer.parseInt(parts[2]);
+        } catch (NumberFormatException e) {
+            connection.send("ERR bots must be a number");
+            return;
+        }
+        if (bots < Constants.MIN_PLAYERS - 1 || bots > Constants.MAX_PLAYERS - 1) {
+            connection.send("ERR bots must be " + (Constants.MIN_PLAYERS - 1) + "-" + (Constants.MAX_PLAYERS - 1));
+            return;
+        }
+
+        Difficulty difficulty;
+        try {
+            difficulty = parts.length == 4 ? Difficulty.of(parts[3]) : Difficulty.RANDOM;
+        } catch (IllegalArgumentException e) {
+            connection.send("ERR unknown level " + parts[3]);
+            return;
+        }
+        // Searching bots would hold up the selector thread
+        if (difficulty.searches()) {
+            connection.send("ERR level " + parts[3] + " is not hosted");
+            return;
+        }
+
+        leaveTable(connection);
+        stopWatching(connection);
+        Table table = new Table(++nextTableId, connection, parts[1], bots, difficulty);
+        connection.setTable(table);
+        tables.put(table.getId(), table);
+        activeTables++;
+        table.start();
+        finishIfDone(connection, table);
+    }
+
+    private void play(ClientConnection connection, String[] parts) {
+        Table table = connection.getTable();
+        if (table == null) {
+            connection.send("ERR no table, send NEW first");
+            return;
+        }
+        try {
+            if (table.play(Integer.parseInt(parts.length > 1 ? parts[1] : ""))) {
+                movesPlayed++;
+            }
+        } catch (NumberFormatException e) {
+            connection.send("ERR usage: PLAY n");
+            return;
+        }
+        finishIfDone(connection, table);
+    }
+
+    private void watch(ClientConnection connection, String[] parts) {
+        if (connection.getTable() != null) {
+            connection.send("ERR finish your own game before watching");
+            return;
+        }
+        Table table;
+        try {
+            table = tables.get(Integer.parseInt(parts.length > 1 ? parts[1] : ""));
+        } catch (NumberFormatException e) {
+            connection.send("ERR usage: WATCH tableId");
+            return;
+        }
+        if (table == null) {
+            connection.send("ERR no such table");
+            return;
+        }
+        stopWatching(connection);
+        table.addSpectator(connection);
+    }
+
+    private void stopWatching(ClientConnection connection) {
+        if (connection.getWatching() != null) {
+            connection.getWatching().removeSpectator(connection);
+        }
+    }
+
+    private void finishIfDone(ClientConnection connection, Table table) {
+        if (table.isFinished()) {
+            gamesFinished++;
+            leaveTable(connection);
+        }
+    }
+
+    private void leaveTable(ClientConnection connection) {
+        Table table = connection.getTable();
+        if (table != null) {
+            if (!table.isFinished()) {
+                GameStats.get().gameAbandoned();
+            }
+            table.removeAllSpectators();
+            tables.remove(table.getId());
+            connection.setTable(null);
+            activeTables--;
+        }
+    }
+
+    // ============================ Connection Management ============================
+    private void disconnect(ClientConnection connection) {
+        leaveTable(connection);
+        stopWatching(connection);
+        connections.remove(connection);
+        connection.close();
+    }
+
+    /**
+     * Closes connections that sent nothing, not even a PING, within the idle
+     * timeout.
+     */
+    private void closeIdleConnections(long now) {
+        List<ClientConnection> idle = new ArrayList<>();
+        for (ClientConnection connection : connections) {
+            if (now - connection.getLastActivity() > Constants.IDLE_TIMEOUT_MS) {
+                idle.add(connection);
+            }
+        }
+        for (ClientConnection connection : idle) {
+            disconnect(connection);
+        }
+    }
+
+    /**
+     * Reports the server counters, including the average heap used per active
+     * table (a rough figure that includes connection buffers).
+     */
+    private String stats() {
+        Runtime runtime = Runtime.getRuntime();
+        long usedHeap = runtime.totalMemory() - runtime.freeMemory();
+        return "STATS connections=" + connections.size()
+                + " tables=" + activeTables
+                + " games=" + gamesFinished
+                + " moves=" + movesPlayed
+                + " heapUsed=" + usedHeap
+                + " heapPerTable=" + (activeTables == 0 ? 0 : usedHeap / activeTables);
+    }
+}
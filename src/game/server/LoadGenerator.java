@@ -0,0 +1,216 @@
+package game.server;
+
+import game.utils.Constants;
+import java.io.IOException;
+import java.net.InetSocketAddress;
+import java.nio.ByteBuffer;
+import java.nio.channels.*;
+import java.nio.charset.StandardCharsets;
+import java.util.*;
+
+/**
+ * Local load generator for {@link GameServer}. Opens many client connections
+ * on one selector, plays random cards at every prompt and reports throughput
+ * and the latency from sending a move to receiving the next prompt.
+ *
+ * Usage: {@code java -cp classes game.server.LoadGenerator [host] [port] [clients] [gamesPerClient] [bots] [level]}
+ */
+public class LoadGenerator {
+
+    // ============================ Client State ============================
+    /**
+     * One simulated player.
+     */
+    private static class Client {
+        private final SocketChannel channel;
+        private final ByteBuffer readBuffer = ByteBuffer.allocate(4096);
+        private final StringBuilder line = new StringBuilder();
+        private int handSize;
+        private int gamesLeft;
+        private long sentAt;
+
+        Client(SocketChannel channel, int games) {
+            this.channel = channel;
+            this.gamesLeft = games;
+        }
+    }
+
+    // ============================ Instance Variables ============================
+    private final Selector selector;
+    private final Random random;
+    private final String newTable;
+    private long[] latencies;
+    private int latencyCount;
+    private long games;
+    private int openClients;
+    private String midRunStats = "unavailable";
+
+    // ============================ Constructor ============================
+    public LoadGenerator(int bots) throws IOException {
+        this(bots, null);
+    }
+
+    /**
+     * @param bots  The computer players at each table.
+     * @param level The level they play at, or null for the server's default.
+     */
+    public LoadGenerator(int bots, String level) throws IOException {
+        this.selector = Selector.open();
+        this.random = new Random();
+        this.newTable = "NEW load " + bots + (level == null ? "" : " " + level);
+        this.latencies = new long[1 << 16];
+    }
+
+    public static void main(String[] args) throws IOException {
+        String host = args.length > 0 ? args[0] : "localhost";
+        int port = args.length > 1 ? Integer.parseInt(args[1]) : Constants.DEFAULT_PORT;
+        int clients = args.length > 2 ? Integer.parseInt(args[2]) : 1000;
+        int gamesPerClient = args.length > 3 ? Integer.parseInt(args[3]) : 10;
+        int bots = args.length > 4 ? Integer.parseInt(args[4]) : 3;
+        String level = args.length > 5 ? args[5] : null;
+
+        new LoadGenerator(bots, level).run(new InetSocketAddress(host, port), clients, gamesPerClient);
+    }
+
+    // ============================ Load Run ============================
+    /**
+     * Connects all clients, plays every game and prints the report.
+     */
+    public void run(InetSocketAddress address, int clients, int gamesPerClient) throws IOException {
+        for (int i = 0; i < clients; i++) {
+            SocketChannel channel = SocketChannel.open(address);
+            channel.configureBlocking(false);
+            channel.socket().setTcpNoDelay(true);
+            channel.register(selector, SelectionKey.OP_READ, new Client(channel, gamesPerClient));
+            openClients++;
+        }
+        System.out.println("🔌 " + clients + " clients connected to " + address);
+
+        long start = System.nanoTime();
+        long halfway = (long) clients * gamesPerClient / 2;
+        boolean sampled = false;
+        while (openClients > 0) {
+            selector.select();
+            Iterator<SelectionKey> keys = selector.selectedKeys().iterator();
+            while (keys.hasNext()) {
+                SelectionKey key = keys.next();
+                keys.remove();
+                read((Client) key.attachment(), key);
+            }
+
+            // Sample server memory while every client still has a table open
+            if (!sampled && games >= halfway) {
+                midRunStats = queryStats(address);
+                sampled = true;
+            }
+        }
+        long elapsed = System.nanoTime() - start;
+
+        report(elapsed);
+    }
+
+    private void read(Client client, SelectionKey key) throws IOException {
+        if (client.channel.read(client.readBuffer) < 0) {
+            key.cancel();
+            client.channel.close();
+            openClients--;
+            return;
+        }
+        client.readBuffer.flip();
+        while (client.readBuffer.hasRemaining()) {
+            char c = (char) client.readBuffer.get();
+            if (c == '\n') {
+                handleLine(client, key, client.line.toString());
+                client.line.setLength(0);
+            } else {
+                client.line.append(c);
+            }
+        }
+        client.readBuffer.clear();
+    }
+
+    private void handleLine(Client client, SelectionKey key, String line) throws IOException {
+        if (line.equals("WELCOME")) {
+            send(client, newTable);
+        } else if (line.startsWith("HAND")) {
+            client.handSize = line.split(" ").length - 1;
+        } else if (line.equals("YOURTURN") || line.equals("DISCARD")) {
+            recordLatency(client);
+            client.sentAt = System.nanoTime();
+            send(client, "PLAY " + (random.nextInt(client.handSize) + 1));
+        } else if (line.startsWith("WINNER")) {
+            recordLatency(client);
+            games++;
+            client.gamesLeft--;
+            if (client.gamesLeft > 0) {
+                send(client, newTable);
+            } else {
+                send(client, "QUIT");
+            }
+        } else if (line.startsWith("ERR")) {
+            System.out.println("⚠️ " + line);
+        } else if (line.equals("BYE")) {
+            key.cancel();
+            client.channel.close();
+            openClients--;
+        }
+    }
+
+    private void recordLatency(Client client) {
+        if (client.sentAt == 0) {
+            return;
+        }
+        if (latencyCount == latencies.length) {
+            latencies = Arrays.copyOf(latencies, latencies.length * 2);
+        }
+        latencies[latencyCount++] = System.nanoTime() - client.sentAt;
+        client.sentAt = 0;
+    }
+
+    private void send(Client client, String line) throws IOException {
+        ByteBuffer buffer = ByteBuffer.wrap((line + "\n").getBytes(StandardCharsets.UTF_8));
+        while (buffer.hasRemaining()) {
+            client.channel.write(buffer);
+        }
+    }
+
+    // ============================ Report ============================
+    private void report(long elapsedNanos) {
+        double seconds = elapsedNanos / 1e9;
+        Arrays.sort(latencies, 0, latencyCount);
+
+        System.out.println("=".repeat(40));
+        System.out.printf("Games played:   %d (%.1f games/s)%n", games, games / seconds);
+        System.out.printf("Moves played:   %d (%.1f moves/s)%n", latencyCount, latencyCount / seconds);
+        System.out.printf("Move latency:   p50 %.1f µs, p99 %.1f µs, max %.1f µs%n",
+                percentile(0.50) / 1e3, percentile(0.99) / 1e3, percentile(1.0) / 1e3);
+        System.out.println("Server mid-run: " + midRunStats);
+        System.out.println("=".repeat(40));
+    }
+
+    private long percentile(double p) {
+        if (latencyCount == 0) {
+            return 0;
+        }
+        int index = (int) Math.min(latencyCount - 1, Math.ceil(p * latencyCount) - 1);
+        return latencies[Math.max(index, 0)];
+    }
+
+    private String queryStats(InetSocketAddress address) throws IOException {
+        try (SocketChannel channel = SocketChannel.open(address)) {
+            channel.write(ByteBuffer.wrap("STATS\n".getBytes(StandardCharsets.UTF_8)));
+            ByteBuffer buffer = ByteBuffer.allocate(1024);
+            StringBuilder reply = new StringBuilder();
+            while (channel.read(buffer) >= 0) {
+                buffer.flip();
+                reply.append(StandardCharsets.UTF_8.decode(buffer));
+                buffer.clear();
+                int stats = reply.indexOf("STATS");
+                if (stats >= 0 && reply.indexOf("\n", stats) > 0) {
+                    return reply.substring(stats, reply.indexOf("\n", stats));
+                }
+            }
+            return "unavailable";
+        }
+    }
+}
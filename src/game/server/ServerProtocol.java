@@ -0,0 +1,66 @@
+package game.server;
+
+import game.core.Card;
+import java.util.List;
+
+/**
+ * Line-based text protocol spoken between the game server and its clients.
+ * Every message is one line of space separated tokens. Cards are written as
+ * {@code Color:value}, for example {@code Red:7}.
+ *
+ * Client to server:
+ * <pre>
+ * NEW name bots [level]
+ *                 start a table with the client plus 1-5 computer players,
+ *                 random by default or at level easy, medium, hard or
+ *                 distilled
+ * PLAY n          play (or during the final phase, discard) hand card n
+ * WATCH id        receive a frame for every event at table id
+ * UNWATCH         stop watching
+ * PING            keep-alive, answered with PONG
+ * STATS           server counters
+ * METRICS         per-phase latency histograms, one PHASE line each
+ * QUIT            leave the table and close the connection
+ * </pre>
+ *
+ * Server to client:
+ * <pre>
+ * WELCOME                    sent once after connecting
+ * TABLE id name...           seating order of a new table
+ * PLAYED name card           a card was played into the parade
+ * TOOK name count card...    cards taken from the parade
+ * LASTROUND                  the end condition was reached
+ * DISCARDED name card        a card was added to the open cards
+ * HAND card...               the client's closed cards
+ * PARADE card...             the parade, oldest card first
+ * YOURTURN | DISCARD         the client must send PLAY n
+ * SCORE name points          final score of one player
+ * WINNER name                the game is over
+ * FRAME id seq ... END       spectator snapshot, see FrameRenderer
+ * PHASE name count=...       latency of one phase, after METRICS; ends with END
+ * PONG | STATS ... | ERR msg
+ * </pre>
+ */
+public final class ServerProtocol {
+
+    private ServerProtocol() {
+    }
+
+    /**
+     * Formats a single card as {@code Color:value}.
+     */
+    public static String format(Card card) {
+        return card.getColor() + ":" + card.getValue();
+    }
+
+    /**
+     * Formats a list of cards, each preceded by a space.
+     */
+    public static String formatAll(List<Card> cards) {
+        StringBuilder sb = new StringBuilder(cards.size() * 9);
+        for (Card card : cards) {
+            sb.append(' ').append(card.getColor()).append(':').append(card.getValue());
+        }
+        return sb.toString();
+    }
+}
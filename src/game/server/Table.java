@@ -0,0 +1,232 @@
+package game.server;
+
+import game.ai.Difficulty;
+import game.core.*;
+import game.gameplay.*;
+import game.metrics.*;
+import game.renderer.FrameRenderer;
+import game.utils.Constants;
+import java.nio.ByteBuffer;
+import java.util.*;
+
+/**
+ * A single game hosted by the server. The connected client owns the human
+ * seat and the remaining seats are filled with computer players.
+ *
+ * A table never blocks: every command steps the game's state machine until
+ * the human has to act again and then returns, so the server can multiplex
+ * thousands of tables on one selector thread.
+ *
+ * Spectators receive one frame per event. The frame is rendered once and
+ * the same read-only buffer is queued for every spectator.
+ */
+public class Table implements GameListener {
+
+    // ============================ Instance Variables ============================
+    private final int id;
+    private final ClientConnection owner;
+    private final Human human;
+    private final GameStateMachine game;
+
+    /**
+     * Connections watching this table; created on the first subscription.
+     */
+    private List<ClientConnection> spectators;
+    private long frameSequence;
+
+    // ============================ Constructor ============================
+    /**
+     * Constructs a table with one human seat and the given number of bots.
+     *
+     * @param id        The table id assigned by the server.
+     * @param owner     The connection that plays the human seat.
+     * @param humanName The name of the human player.
+     * @param bots      The number of computer players.
+     */
+    public Table(int id, ClientConnection owner, String humanName, int bots) {
+        this(id, owner, humanName, bots, Difficulty.RANDOM);
+    }
+
+    /**
+     * Constructs a table with one human seat and the given number of bots
+     * playing at one level.
+     *
+     * @param id         The table id assigned by the server.
+     * @param owner      The connection that plays the human seat.
+     * @param humanName  The name of the human player.
+     * @param bots       The number of computer players.
+     * @param difficulty The level the computer players play at.
+     */
+    public Table(int id, ClientConnection owner, String humanName, int bots, Difficulty difficulty) {
+        this.id = id;
+        this.owner = owner;
+        this.human = new Human(humanName);
+        List<Player> players = new ArrayList<>(bots + 1);
+        players.add(human);
+        for (int i = 1; i <= bots; i++) {
+            players.add(new Computer("Bot" + i, difficulty.createStrategy()));
+        }
+        this.game = new GameStateMachine(players, Constants.RANDOM);
+        game.setListener(this);
+    }
+
+    // ============================ Game Flow ============================
+    /**
+     * Deals the cards and plays until the human's first decision.
+     */
+    public void start() {
+        advance();
+    }
+
+    /**
+     * Applies the human's choice of card. During the final phase the card is
+     * moved to the open cards instead of the parade.
+     *
+     * @param cardNumber The one-based number of the card in the human's hand.
+     * @return true if the move was applied, false if it was rejected.
+     */
+    public boolean play(int cardNumber) {
+        if (!game.isAwaitingMove()) {
+            owner.send("ERR not your turn");
+            return false;
+        }
+        if (cardNumber < 1 || cardNumber > human.getClosedCards().size()) {
+            owner.send("ERR invalid card (1-" + human.getClosedCards().size() + ")");
+            return false;
+        }
+
+        game.submitMove(cardNumber - 1);
+        advance();
+        return true;
+    }
+
+    public boolean isFinished() {
+        return game.isFinished();
+    }
+
+    public int getId() {
+        return id;
+    }
+
+    // ============================ Spectators ============================
+    /**
+     * Subscribes a connection to this table and sends it the current state.
+     */
+    public void addSpectator(ClientConnection spectator) {
+        if (spectators == null) {
+            spectators = new ArrayList<>();
+        }
+        spectators.add(spectator);
+        spectator.setWatching(this);
+        spectator.sendFrame(renderFrame(frameSequence, "WATCH " + id));
+    }
+
+    public void removeSpectator(ClientConnection spectator) {
+        if (spectators != null) {
+            spectators.remove(spectator);
+        }
+        spectator.setWatching(null);
+    }
+
+    /**
+     * Unsubscribes every spectator, for example when the game is over.
+     */
+    public void removeAllSpectators() {
+        if (spectators == null) {
+            return;
+        }
+        for (ClientConnection spectator : spectators) {
+            spectator.setWatching(null);
+        }
+        spectators = null;
+    }
+
+    public int getSpectatorCount() {
+        return spectators == null ? 0 : spectators.size();
+    }
+
+    // ============================ Game Events ============================
+    @Override
+    public void onGameStart(List<Player> players, Parade parade) {
+        StringBuilder seats = new StringBuilder("TABLE ").append(id);
+        for (Player player : players) {
+            seats.append(' ').append(player.getName());
+        }
+        owner.send(seats.toString());
+        publish("START");
+    }
+
+    @Override
+    public void onCardPlayed(Player player, Card card, List<Card> taken) {
+        String played = "PLAYED " + player.getName() + " " + ServerProtocol.format(card);
+        owner.send(played);
+        owner.send("TOOK " + player.getName() + " " + taken.size() + ServerProtocol.formatAll(taken));
+        publish(played);
+    }
+
+    @Override
+    public void onLastRound() {
+        owner.send("LASTROUND");
+        publish("LASTROUND");
+    }
+
+    @Override
+    public void onCardDiscarded(Player player, Card card) {
+        String discarded = "DISCARDED " + player.getName() + " " + ServerProtocol.format(card);
+        owner.send(discarded);
+        publish(discarded);
+    }
+
+    @Override
+    public void onGameOver(List<Player> players, Player winner) {
+        for (Player player : players) {
+            owner.send("SCORE " + player.getName() + " " + player.getScore());
+        }
+        owner.send("WINNER " + winner.getName());
+        publish("WINNER " + winner.getName());
+    }
+
+    // ============================ Helpers ============================
+    /**
+     * Renders one frame for the event and shares it with every spectator.
+     */
+    private void publish(String event) {
+        if (spectators == null || spectators.isEmpty()) {
+            return;
+        }
+        ByteBuffer frame = renderFrame(++frameSequence, event);
+        for (ClientConnection spectator : spectators) {
+            spectator.sendFrame(frame);
+        }
+    }
+
+    private ByteBuffer renderFrame(long sequence, String event) {
+        RenderEvent renderEvent = new RenderEvent();
+        renderEvent.begin();
+        long start = GameMetrics.start();
+        ByteBuffer frame = FrameRenderer.renderFrame(id, sequence, event,
+                game.getPlayers(), game.getParade(), game.getDeck());
+        GameMetrics.stop(Phase.RENDER, start);
+        renderEvent.end();
+        if (renderEvent.shouldCommit()) {
+            renderEvent.table = id;
+            renderEvent.bytes = frame.remaining();
+            renderEvent.commit();
+        }
+        return frame;
+    }
+
+    /**
+     * Steps the game until the human has to act or the game is over.
+     */
+    private void advance() {
+        while (game.step()) {
+            // Computer seats move until the human is needed
+        }
+        if (game.isAwaitingMove()) {
+            owner.send("HAND" + ServerProtocol.formatAll(human.getClosedCards()));
+            owner.send("PARADE" + ServerProtocol.formatAll(game.getParade().getCards()));
+            owner.send(game.getState() == GameStateMachine.State.FINAL_DISCARD ? "DISCARD" : "YOURTURN");
+        }
+    }
+}
@@ -1,8 +1,10 @@
 package game.setup;
 
+import game.ai.Difficulty;
 import game.core.*;
 import game.exceptions.*;
 import game.renderer.GamePhaseRenderer;
+import game.utils.Helper;
 import java.util.*;
 
 /**
@@ -24,19 +26,66 @@ public class PlayerSetup {
     }
     // ============================ Instance Methods ============================
 
+    /**
+     * Lets the players pick one of the preset variants of the rules.
+     *
+     * @return The chosen rule set.
+     */
+    public RuleSet askForRuleSet() {
+        List<RuleSet> presets = RuleSet.presets();
+        GamePhaseRenderer.showGameSetup();
+        for (int i = 0; i < presets.size(); i++) {
+            System.out.println((i + 1) + ". " + presets.get(i));
+        }
+
+        while (true) {
+            try {
+                System.out.print("📜 Choose the rules (1-" + presets.size() + "): ");
+                int choice = Integer.parseInt(Helper.readLine(scanner).trim());
+
+                if (choice < 1 || choice > presets.size()) {
+                    throw new InvalidInputException(
+                            "❌ Invalid choice! Please enter a number from 1 to " + presets.size() + ".\n"
+                    );
+                }
+
+                RuleSet rules = presets.get(choice - 1);
+                System.out.println("\n✅ Rules: " + rules.getName());
+                return rules;
+
+            } catch (InvalidInputException e) {
+                System.out.println(e.getMessage());
+
+            } catch (NumberFormatException e) {
+                System.out.println("❌ Invalid input! Please enter a valid number.\n");
+            }
+        }
+    }
+
     public int askForNumberOfPlayers() {
-        int playerCount = 0;
         GamePhaseRenderer.showGameSetup();
+        return askForNumberOfPlayers(RuleSet.BASE);
+    }
+
+    /**
+     * Asks for the number of players the given rules allow.
+     *
+     * @param rules The rules of the game.
+     * @return The number of players.
+     */
+    public int askForNumberOfPlayers(RuleSet rules) {
+        int playerCount = 0;
+        int min = rules.getMinPlayers();
+        int max = rules.getMaxPlayers();
 
         while (true) {
             try {
-                System.out.print("👥 Enter the number of players (2-6): ");
-                playerCount = scanner.nextInt();
-                scanner.nextLine(); // Clear the buffer
+                System.out.print("👥 Enter the number of players (" + min + "-" + max + "): ");
+                playerCount = Integer.parseInt(Helper.readLine(scanner).trim());
 
-                if (playerCount < 2 || playerCount > 6) {
+                if (playerCount < min || playerCount > max) {
                     throw new InvalidInputException(
-                            "❌ Invalid player count! This game requires 2 to 6 players.\n"
+                            "❌ Invalid player count! This game requires " + min + " to " + max + " players.\n"
                     );
                 }
 
@@ -46,9 +95,8 @@ public class PlayerSetup {
             } catch (InvalidInputException e) {
                 System.out.println(e.getMessage());
 
-            } catch (InputMismatchException e) {
+            } catch (NumberFormatException e) {
                 System.out.println("❌ Invalid input! Please enter a valid number.\n");
-                scanner.next();
             }
         }
 
@@ -102,7 +150,7 @@ public class PlayerSetup {
         while (true) {
             try {
                 System.out.print("🎮 Is Player " + playerNumber + " (H)uman or (C)omputer? ");
-                String input = scanner.nextLine().trim().toUpperCase();
+                String input = Helper.readLine(scanner).trim().toUpperCase();
 
                 if (input.matches("H|C|HUMAN|COMPUTER")) {
                     return input;
@@ -120,7 +168,7 @@ public class PlayerSetup {
         while (true) {
             try {
                 System.out.print("📝 Enter player name: ");
-                name = scanner.nextLine().trim();
+                name = Helper.readLine(scanner).trim();
 
                 validateName(name, names); // Validate the name (throws InvalidNameException if invalid)
 
@@ -137,9 +185,43 @@ public class PlayerSetup {
 
     private void handleComputerPlayer(List<Player> players, Set<String> names, int botIndex) {
         String botName = "Bot " + botIndex;
+        Difficulty difficulty = askForDifficulty(botName);
         names.add(botName.toLowerCase());
-        players.add(new Computer(botName));
-        System.out.println("🤖 " + botName + " has joined the game!\n");
+        players.add(new Computer(botName, difficulty.createStrategy()));
+        System.out.println("🤖 " + botName + " (" + difficulty.getDisplayName() + ") has joined the game!\n");
+    }
+
+    /**
+     * Asks which level a computer player plays at.
+     *
+     * @param botName The name of the computer player.
+     * @return The chosen level.
+     */
+    private Difficulty askForDifficulty(String botName) {
+        Difficulty[] levels = Difficulty.values();
+        for (int i = 0; i < levels.length; i++) {
+            System.out.println((i + 1) + ". " + levels[i]);
+        }
+
+        while (true) {
+            try {
+                System.out.print("🎚️ Choose a level for " + botName + " (1-" + levels.length + "): ");
+                int choice = Integer.parseInt(Helper.readLine(scanner).trim());
+
+                if (choice < 1 || choice > levels.length) {
+                    throw new InvalidInputException(
+                            "❌ Invalid choice! Please enter a number from 1 to " + levels.length + ".\n"
+                    );
+                }
+                return levels[choice - 1];
+
+            } catch (InvalidInputException e) {
+                System.out.println(e.getMessage());
+
+            } catch (NumberFormatException e) {
+                System.out.println("❌ Invalid input! Please enter a valid number.\n");
+            }
+        }
     }
 
     public boolean isValidLength(String name) {
@@ -17,6 +17,8 @@ public class Constants {
     public static final String ORANGE = "\u001B[38;5;214m";
     public static final String BOLD = "\u001B[1m";
     public static final String RED = "\u001B[91m";
+    public static final String YELLOW = "\u001B[93m";
+    public static final String BROWN = "\u001B[38;5;130m";
 
     // ============================ GAME CONSTANTS ============================
     public static final String YES_NO_REGEX = "^(yes|no|y|n)$";
@@ -30,6 +32,7 @@ public class Constants {
     public static final int CARDS_TO_DEAL = 5;
     public static final int TOTAL_COLORS = 6;
     public static final String[] COLORS = {"Blue", "Green", "Grey", "Orange", "Purple", "Red"};
+    public static final String[] EXTENDED_COLORS = {"Blue", "Green", "Grey", "Orange", "Purple", "Red", "Yellow", "Brown"};
     public static final int FINAL_PLAY_MOVES = 2;
     public static final int MIN_PLAYERS = 2;
     public static final int MAX_PLAYERS = 6;
@@ -37,5 +40,55 @@ public class Constants {
     public static final int FLIPPED_CARD_VALUE = 1;
     public static final int MAXVALUEOFCARD = 10;
     public static final int MINVALUEOFCARD = 0;
+    public static final int CARDS_PER_COLOR = MAXVALUEOFCARD - MINVALUEOFCARD + 1;
     public static final int PODIUM_SIZE = 3;
+    public static final int HUMAN_TURN_TIMEOUT_MS = 0; // 0 waits forever
+
+    // ============================ SERVER CONSTANTS ============================
+    public static final int DEFAULT_PORT = 7777;
+    public static final int IDLE_TIMEOUT_MS = 60_000;
+    public static final int MAX_LINE_LENGTH = 256;
+    public static final int SPECTATOR_QUEUE_FRAMES = 32;
+    public static final int MAX_GATHERED_BUFFERS = 16;
+
+    // ============================ ENGINE CONSTANTS ============================
+    public static final int ENGINE_MOVE_TIME_MS = 50;
+    public static final int ENGINE_GRACE_MS = 200; // allowed lag past the move time
+    public static final int ENGINE_HANDSHAKE_MS = 5_000;
+
+    // ============================ SEARCH CONSTANTS ============================
+    public static final int TRANSPOSITION_TABLE_MB = 64; // shared by every search in the process
+    public static final int TRANSPOSITION_GENERATION_MS = 1_000; // entries age by one generation per period
+    public static final int EXPECTIMAX_MOVE_TIME_MS = 50;
+    public static final int EXPECTIMAX_MAX_DEPTH = 64; // in turns
+    public static final int EXPECTIMAX_TABLE_MIN_DEPTH = 2; // turns left below an own turn for it to use the table
+    public static final int ANALYSIS_MOVE_TIME_MS = 40; // per analyzed turn
+    public static final int ANALYSIS_MAX_DEPTH = 64; // in turns
+    public static final int PONDER_BUDGET_MS = 2_000; // CPU time per table and wait
+    public static final int PONDER_CANDIDATES = 96; // plays of the seat before the bot, as the budget allows
+    public static final int PONDER_THREADS = Math.max(1, Runtime.getRuntime().availableProcessors() - 1);
+    public static final int HINT_LATENCY_MS = 100; // longest wait for rollouts once a hint is asked for
+    public static final int HINT_MIN_ROLLOUTS = 200; // per card, waited for within the latency
+    public static final int HINT_MAX_ROLLOUTS = 20_000; // per card, after which the worker rests
+    public static final String HINT_COMMAND = "hint";
+    public static final String OPENING_BOOK_FILE = "opening-book.bin";
+    public static final int OPENING_BOOK_POSITIONS = 1_000_000; // openings searched per build
+    public static final int OPENING_BOOK_MOVE_TIME_MS = 200; // per opening, offline
+    public static final int OPENING_BOOK_MIN_VOTES = 3; // searches of a key before it is trusted
+    public static final double OPENING_BOOK_MIN_MARGIN = 0.5; // lead over the runner-up, as a share of the votes
+
+    // ============================ BOT LEVEL CONSTANTS ============================
+    public static final double GREEDY_MAJORITY_WEIGHT = 0.75; // share of the majority swing counted mid-game
+    public static final double GREEDY_DENIAL_WEIGHT = 0.5; // share of a leader's lost flip counted as a gain
+    public static final double GREEDY_HIGH_CARD_BONUS = 0.1; // per value point of the card hard plays
+    public static final String POLICY_FILE = "policy.txt";
+    public static final int DISTILL_GAMES = 2_000; // self-play games per distillation
+    public static final int DISTILL_EPOCHS = 20;
+    public static final double DISTILL_LEARNING_RATE = 0.05; // halved, thirded... per epoch
+    public static final double DISTILL_WEIGHT_DECAY = 1e-4;
+    public static final int SWEEP_ROUND_GAMES = 1_000; // per candidate and round
+    public static final int SWEEP_MAX_GAMES = 20_000; // per candidate
+    public static final int SWEEP_CHUNK_GAMES = 250; // per task on the pool
+    public static final double SWEEP_Z = 3.0; // standard errors behind the leader to stop a candidate
+    public static final int SWEEP_TOP = 5; // configurations printed
 }
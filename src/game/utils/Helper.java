@@ -1,5 +1,7 @@
 package game.utils;
 
+import game.input.ScannerInputProvider;
+import game.input.SeatInput;
 import java.io.IOException;
 import java.util.Scanner;
 
@@ -105,6 +107,10 @@ public class Helper {
                 Constants.PURPLE;    // Purple text color
             case "red" ->
                 Constants.RED;       // Red text color
+            case "yellow" ->
+                Constants.YELLOW;    // Yellow text color
+            case "brown" ->
+                Constants.BROWN;     // Brown text (extended 256-color range)
             default ->
                 Constants.RESET; // Default reset code
         };
@@ -118,7 +124,29 @@ public class Helper {
      */
     public static void pressEnterToContinue(Scanner scanner) {
         System.out.print("\n👉 Press Enter to continue...");
-        scanner.nextLine(); // Waits for the user to press Enter
+        readLine(scanner); // Waits for the user to press Enter
+    }
+
+    /**
+     * Reads a line from the console through the scanner's one reader, so it
+     * never races a seat's read that timed out.
+     *
+     * @param scanner The scanner of the console.
+     * @return The line read.
+     */
+    public static String readLine(Scanner scanner) {
+        return ScannerInputProvider.of(scanner).readLine();
+    }
+
+    /**
+     * Waits for the user to press Enter through a seat's input, so the wait
+     * honours the seat's time limit.
+     *
+     * @param input The input to wait on.
+     */
+    public static void pressEnterToContinue(SeatInput input) {
+        System.out.print("\n👉 Press Enter to continue...");
+        input.readLine("");
     }
 
     public static void printBox(String title) {